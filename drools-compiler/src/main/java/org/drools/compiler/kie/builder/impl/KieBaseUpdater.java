@@ -98,10 +98,7 @@ public class KieBaseUpdater implements Runnable {
             wm.notifyWaitOnRest();
         }
 
-        final String configurationProperty = ctx.newKieBaseModel.getKModule().getConfigurationProperty(KieContainerImpl.ALPHA_NETWORK_COMPILER_OPTION);
-        final Boolean isAlphaNetworkEnabled = Boolean.valueOf(configurationProperty);
-
-        if (isAlphaNetworkEnabled) {
+        if (KieContainerImpl.isAlphaNetworkCompilerEnabled(ctx.newKieBaseModel.getKModule(), ctx.kBase)) {
             ctx.kBase.getRete().getEntryPointNodes().values().stream()
                     .flatMap(ep -> ep.getObjectTypeNodes().values().stream())
                     .filter(f -> !InitialFact.class.isAssignableFrom(f.getObjectType().getClassType()))
@@ -58,6 +58,7 @@ import org.kie.api.builder.ReleaseId;
 import org.kie.api.builder.Results;
 import org.kie.api.builder.model.FileLoggerModel;
 import org.kie.api.builder.model.KieBaseModel;
+import org.kie.api.builder.model.KieModuleModel;
 import org.kie.api.builder.model.KieSessionModel;
 import org.kie.api.conf.MBeansOption;
 import org.kie.api.event.KieRuntimeEventManager;
@@ -418,9 +419,7 @@ public class KieContainerImpl
     }
 
     public void generateCompiledAlphaNetwork(KieBaseModelImpl kBaseModel, InternalKieModule kModule, InternalKnowledgeBase kBase) {
-        final String configurationProperty = kBaseModel.getKModule().getConfigurationProperty(ALPHA_NETWORK_COMPILER_OPTION);
-        final Boolean isAlphaNetworkEnabled = Boolean.valueOf(configurationProperty);
-        if (isAlphaNetworkEnabled) {
+        if (isAlphaNetworkCompilerEnabled(kBaseModel.getKModule(), kBase)) {
             KnowledgeBuilder kbuilder = kModule.getKnowledgeBuilderForKieBase(kBaseModel.getName());
             kBase.getRete().getEntryPointNodes().values().stream()
                     .flatMap(ep -> ep.getObjectTypeNodes().values().stream())
@@ -429,6 +428,18 @@ public class KieContainerImpl
         }
     }
 
+    /**
+     * The alpha network compiler can be enabled either in the kmodule.xml configuration or with the
+     * drools.alphaNetworkCompiler property of the KieBase configuration, including the system properties
+     */
+    static boolean isAlphaNetworkCompilerEnabled(KieModuleModel kModuleModel, InternalKnowledgeBase kBase) {
+        String configurationProperty = kModuleModel.getConfigurationProperty(ALPHA_NETWORK_COMPILER_OPTION);
+        if (configurationProperty == null) {
+            configurationProperty = kBase.getConfiguration().getChainedProperties().getProperty(ALPHA_NETWORK_COMPILER_OPTION, "false");
+        }
+        return Boolean.valueOf(configurationProperty);
+    }
+
     private KieBaseModelImpl getKieBaseModelImpl(String kBaseName) {
         KieBaseModelImpl kBaseModel = (KieBaseModelImpl) kProject.getKieBaseModel(kBaseName);
         if (kBaseModel == null) {
@@ -15,7 +15,14 @@
  */
 package org.drools.compiler.conf;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
 import org.drools.core.BeliefSystemType;
+import org.drools.core.PropagationListType;
+import org.drools.core.SessionConfiguration;
 import org.junit.Before;
 import org.junit.Test;
 import org.kie.api.KieServices;
@@ -63,6 +70,22 @@ public class KnowledgeSessionConfigurationTest {
     }
 
 
+    @Test
+    public void testPropagationListTypeIsSerialized() throws Exception {
+        ( (SessionConfiguration) config ).setPropagationListType( PropagationListType.LOCK_FREE );
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream( baos )) {
+            out.writeObject( config );
+        }
+        SessionConfiguration deserialized;
+        try (ObjectInputStream in = new ObjectInputStream( new ByteArrayInputStream( baos.toByteArray() ) )) {
+            deserialized = (SessionConfiguration) in.readObject();
+        }
+
+        assertEquals( PropagationListType.LOCK_FREE, deserialized.getPropagationListType() );
+    }
+
     @Test
     public void testBeliefSystemType() {
         config.setOption( BeliefSystemTypeOption.get( BeliefSystemType.JTMS.toString() ) );
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.drools.compiler.integrationtests;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.drools.compiler.Person;
+import org.drools.compiler.kie.builder.impl.KieContainerImpl;
+import org.drools.core.impl.InternalKnowledgeBase;
+import org.drools.core.reteoo.ObjectTypeNode;
+import org.drools.core.reteoo.compiled.CompiledNetwork;
+import org.drools.core.spi.InternalReadAccessor;
+import org.junit.Test;
+import org.kie.api.KieBase;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieFileSystem;
+import org.kie.api.builder.Message;
+import org.kie.api.builder.Results;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.rule.FactHandle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+public class AlphaNetworkCompilerTest {
+
+    @Test
+    public void testInlinedRangeAndNotEqualConstraints() {
+        String drl =
+                "import " + Person.class.getCanonicalName() + ";\n" +
+                "global java.util.Set list\n" +
+                "rule Adult when\n" +
+                "    $p : Person( age >= 18 )\n" +
+                "then\n" +
+                "    list.add( \"Adult:\" + $p.getName() );\n" +
+                "end\n" +
+                "rule Not30 when\n" +
+                "    $p : Person( age != 30 )\n" +
+                "then\n" +
+                "    list.add( \"Not30:\" + $p.getName() );\n" +
+                "end\n" +
+                "rule Young when\n" +
+                "    $p : Person( age < 25 )\n" +
+                "then\n" +
+                "    list.add( \"Young:\" + $p.getName() );\n" +
+                "end\n";
+
+        KieServices ks = KieServices.Factory.get();
+        KieFileSystem kfs = ks.newKieFileSystem()
+                              .write( "src/main/resources/r1.drl", drl )
+                              .writeKModuleXML( ks.newKieModuleModel()
+                                                  .setConfigurationProperty( KieContainerImpl.ALPHA_NETWORK_COMPILER_OPTION, "true" )
+                                                  .toXML() );
+        Results results = ks.newKieBuilder( kfs ).buildAll().getResults();
+        assertEquals( 0, results.getMessages( Message.Level.ERROR ).size() );
+
+        KieBase kbase = ks.newKieContainer( ks.getRepository().getDefaultReleaseId() ).getKieBase();
+
+        CompiledNetwork compiledNetwork = getPersonObjectTypeNode( kbase ).getCompiledNetwork();
+        assertNotNull( compiledNetwork );
+        assertEquals( 3, countReadAccessorFields( compiledNetwork ) );
+
+        KieSession ksession = kbase.newKieSession();
+        Set<String> list = new HashSet<String>();
+        ksession.setGlobal( "list", list );
+
+        Person mario = new Person( "Mario", 20 );
+        FactHandle marioFH = ksession.insert( mario );
+        ksession.insert( new Person( "Luca", 30 ) );
+        ksession.insert( new Person( "Edson", 10 ) );
+        ksession.fireAllRules();
+
+        assertEquals( new HashSet<String>( Arrays.asList( "Adult:Mario", "Adult:Luca",
+                                                          "Not30:Mario", "Not30:Edson",
+                                                          "Young:Mario", "Young:Edson" ) ), list );
+
+        list.clear();
+        mario.setAge( 30 );
+        ksession.update( marioFH, mario );
+        ksession.fireAllRules();
+
+        assertEquals( new HashSet<String>( Arrays.asList( "Adult:Mario" ) ), list );
+    }
+
+    private ObjectTypeNode getPersonObjectTypeNode( KieBase kbase ) {
+        for (ObjectTypeNode otn : ( (InternalKnowledgeBase) kbase ).getRete().getObjectTypeNodes()) {
+            if ( otn.getObjectType().getClassName().equals( Person.class.getName() ) ) {
+                return otn;
+            }
+        }
+        throw new IllegalStateException( "Missing ObjectTypeNode for " + Person.class.getName() );
+    }
+
+    private int countReadAccessorFields( CompiledNetwork compiledNetwork ) {
+        int count = 0;
+        for (Field field : compiledNetwork.getClass().getDeclaredFields()) {
+            if ( field.getType() == InternalReadAccessor.class && field.getName().startsWith( "internalReadAccessor" ) ) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.drools.compiler.integrationtests;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.drools.compiler.Person;
+import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.impl.InternalKnowledgeBase;
+import org.drools.core.reteoo.BetaMemory;
+import org.drools.core.reteoo.JoinNode;
+import org.drools.core.reteoo.ObjectTypeNode;
+import org.drools.core.reteoo.TupleMemory;
+import org.junit.Test;
+import org.kie.api.KieBase;
+import org.kie.api.io.ResourceType;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.rule.FactHandle;
+import org.kie.internal.utils.KieHelper;
+
+import static org.junit.Assert.assertEquals;
+
+public class ComparisonIndexTest {
+
+    @Test
+    public void testJoinWithComparisonIndex() {
+        String drl =
+                "import " + Person.class.getCanonicalName() + ";\n" +
+                "global java.util.Set list\n" +
+                "rule R when\n" +
+                "    $i : Integer()\n" +
+                "    $p : Person( age > $i )\n" +
+                "then\n" +
+                "    list.add( $p.getName() + \":\" + $i );\n" +
+                "end\n";
+
+        KieBase kbase = new KieHelper().addContent( drl, ResourceType.DRL ).build();
+        KieSession ksession = kbase.newKieSession();
+
+        Set<String> list = new HashSet<String>();
+        ksession.setGlobal( "list", list );
+
+        Person a = new Person( "A", 10 );
+        Person b = new Person( "B", 20 );
+        Person c = new Person( "C", 30 );
+        FactHandle aFH = ksession.insert( a );
+        FactHandle bFH = ksession.insert( b );
+        FactHandle cFH = ksession.insert( c );
+        FactHandle i15 = ksession.insert( 15 );
+        ksession.insert( 25 );
+
+        assertEquals( TupleMemory.IndexType.COMPARISON, getJoinNodeMemory( kbase, ksession ).getRightTupleMemory().getIndexType() );
+
+        ksession.fireAllRules();
+        assertEquals( new HashSet<String>( Arrays.asList( "B:15", "C:15", "C:25" ) ), list );
+
+        list.clear();
+        b.setAge( 5 );
+        ksession.update( bFH, b );
+        a.setAge( 40 );
+        ksession.update( aFH, a );
+        ksession.fireAllRules();
+        assertEquals( new HashSet<String>( Arrays.asList( "A:15", "A:25" ) ), list );
+
+        list.clear();
+        ksession.delete( i15 );
+        ksession.insert( 35 );
+        ksession.fireAllRules();
+        assertEquals( new HashSet<String>( Arrays.asList( "A:35" ) ), list );
+
+        list.clear();
+        ksession.update( cFH, c );
+        ksession.fireAllRules();
+        assertEquals( new HashSet<String>( Arrays.asList( "C:25" ) ), list );
+    }
+
+    @Test
+    public void testAccumulateWithComparisonIndex() {
+        String drl =
+                "import " + Person.class.getCanonicalName() + ";\n" +
+                "global java.util.Map counts\n" +
+                "rule R when\n" +
+                "    $i : Integer()\n" +
+                "    accumulate( Person( age > $i ); $c : count() )\n" +
+                "then\n" +
+                "    counts.put( $i, $c );\n" +
+                "end\n";
+
+        KieSession ksession = new KieHelper().addContent( drl, ResourceType.DRL )
+                                             .build()
+                                             .newKieSession();
+
+        Map<Integer, Long> counts = new HashMap<Integer, Long>();
+        ksession.setGlobal( "counts", counts );
+
+        Person a = new Person( "A", 10 );
+        Person b = new Person( "B", 20 );
+        FactHandle aFH = ksession.insert( a );
+        FactHandle bFH = ksession.insert( b );
+        ksession.insert( new Person( "C", 30 ) );
+        ksession.insert( 15 );
+        ksession.insert( 25 );
+
+        ksession.fireAllRules();
+        assertEquals( 2L, (long) counts.get( 15 ) );
+        assertEquals( 1L, (long) counts.get( 25 ) );
+
+        b.setAge( 5 );
+        ksession.update( bFH, b );
+        a.setAge( 40 );
+        ksession.update( aFH, a );
+        ksession.fireAllRules();
+        assertEquals( 2L, (long) counts.get( 15 ) );
+        assertEquals( 2L, (long) counts.get( 25 ) );
+
+        ksession.delete( aFH );
+        ksession.fireAllRules();
+        assertEquals( 1L, (long) counts.get( 15 ) );
+        assertEquals( 1L, (long) counts.get( 25 ) );
+    }
+
+    private BetaMemory getJoinNodeMemory( KieBase kbase, KieSession ksession ) {
+        List<ObjectTypeNode> otns = ( (InternalKnowledgeBase) kbase ).getRete().getObjectTypeNodes();
+        for (ObjectTypeNode otn : otns) {
+            if ( otn.getObjectType().getClassName().equals( Person.class.getName() ) ) {
+                JoinNode joinNode = (JoinNode) otn.getObjectSinkPropagator().getSinks()[0];
+                return (BetaMemory) ( (InternalWorkingMemory) ksession ).getNodeMemory( joinNode );
+            }
+        }
+        throw new IllegalStateException( "Missing ObjectTypeNode for " + Person.class.getName() );
+    }
+}
@@ -19,14 +19,21 @@ package org.drools.compiler.integrationtests;
 import static org.junit.Assert.*;
 import static org.kie.api.definition.type.Expires.Policy.TIME_SOFT;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.assertj.core.api.Assertions;
 import org.drools.compiler.integrationtests.facts.BasicEvent;
 import org.drools.core.ClassObjectFilter;
 import org.drools.core.ClockType;
+import org.drools.core.common.InternalWorkingMemory;
 import org.drools.core.impl.KnowledgeBaseFactory;
+import org.drools.core.impl.StatefulKnowledgeSessionImpl.WorkingMemoryReteBulkExpireAction;
+import org.drools.core.impl.StatefulKnowledgeSessionImpl.WorkingMemoryReteExpireAction;
+import org.drools.core.phreak.PropagationEntry;
 import org.drools.core.time.impl.PseudoClockScheduler;
 import org.junit.Test;
 import org.kie.api.KieBase;
@@ -77,6 +84,67 @@ public class ExpirationTest {
         assertEquals(2, counter.get());
     }
 
+    @Test
+    public void testExpireEventsAtTheSameTime() {
+        String drl = "import " + A.class.getCanonicalName() + "\n" +
+                     "declare A @role( event ) @expires(10ms) end\n" +
+                     "global java.util.concurrent.atomic.AtomicInteger counter;\n" +
+                     "rule R0 when\n" +
+                     "  not A( id > 0 )\n" +
+                     "then\n" +
+                     "  counter.incrementAndGet();\n" +
+                     "end";
+
+        KieSessionConfiguration sessionConfig = KnowledgeBaseFactory.newKnowledgeSessionConfiguration();
+        sessionConfig.setOption( ClockTypeOption.get( ClockType.PSEUDO_CLOCK.getId() ) );
+
+        KieHelper helper = new KieHelper();
+        helper.addContent( drl, ResourceType.DRL );
+        KieBase kbase = helper.build( EventProcessingOption.STREAM );
+        KieSession ksession = kbase.newKieSession( sessionConfig, null );
+
+        PseudoClockScheduler sessionClock = ksession.getSessionClock();
+
+        AtomicInteger counter = new AtomicInteger( 0 );
+        ksession.setGlobal( "counter", counter );
+
+        // all these events expire at the same time, so they are retracted by a single propagation
+        for (int i = 1; i <= 100; i++) {
+            ksession.insert( new A(i) );
+        }
+        ksession.fireAllRules();
+        assertEquals(0, counter.get());
+
+        sessionClock.advanceTime( 5, TimeUnit.MILLISECONDS );
+        ksession.insert( new A(101) );
+
+        sessionClock.advanceTime( 6, TimeUnit.MILLISECONDS );
+        List<PropagationEntry> expirations = getQueuedExpirations( ksession );
+        assertEquals(1, expirations.size());
+        assertEquals(100, ( (WorkingMemoryReteBulkExpireAction) expirations.get( 0 ) ).getActions().size());
+
+        ksession.fireAllRules();
+        assertEquals(1, ksession.getObjects().size());
+        assertEquals(0, counter.get());
+
+        sessionClock.advanceTime( 5, TimeUnit.MILLISECONDS );
+        ksession.fireAllRules();
+        assertEquals(0, ksession.getObjects().size());
+        assertEquals(1, counter.get());
+    }
+
+    private static List<PropagationEntry> getQueuedExpirations( KieSession ksession ) {
+        List<PropagationEntry> expirations = new ArrayList<PropagationEntry>();
+        Iterator<PropagationEntry> entries = ( (InternalWorkingMemory) ksession ).getAgenda().getActionsIterator();
+        while (entries.hasNext()) {
+            PropagationEntry entry = entries.next();
+            if (entry instanceof WorkingMemoryReteBulkExpireAction || entry instanceof WorkingMemoryReteExpireAction) {
+                expirations.add( entry );
+            }
+        }
+        return expirations;
+    }
+
     @Test
     public void testBeta() {
         // DROOLS-1329
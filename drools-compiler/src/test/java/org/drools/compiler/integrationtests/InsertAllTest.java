@@ -0,0 +1,98 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.drools.compiler.integrationtests;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.drools.core.WorkingMemoryEntryPoint;
+import org.drools.core.common.InternalFactHandle;
+import org.junit.Test;
+import org.kie.api.io.ResourceType;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.rule.FactHandle;
+import org.kie.internal.utils.KieHelper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class InsertAllTest {
+
+    private static final String DRL =
+            "global java.util.List list\n" +
+            "rule R when\n" +
+            "    $i : Integer( this > 10 )\n" +
+            "    $s : String( length == $i )\n" +
+            "then\n" +
+            "    list.add( $s );\n" +
+            "end\n";
+
+    @Test
+    public void testInsertAll() {
+        KieSession ksession = new KieHelper().addContent( DRL, ResourceType.DRL )
+                                             .build()
+                                             .newKieSession();
+        List<String> list = new ArrayList<String>();
+        ksession.setGlobal( "list", list );
+
+        List<Object> facts = new ArrayList<Object>();
+        for (int i = 0; i < 20; i++) {
+            facts.add( i );
+        }
+        facts.add( "abcdefghijk" );
+        facts.add( "abcdefghijkl" );
+        facts.add( "abc" );
+
+        List<FactHandle> handles = ( (WorkingMemoryEntryPoint) ksession ).insertAll( facts );
+        assertEquals( facts.size(), handles.size() );
+        assertEquals( facts.size(), ksession.getFactCount() );
+        for (int i = 0; i < facts.size(); i++) {
+            assertSame( facts.get( i ), ( (InternalFactHandle) handles.get( i ) ).getObject() );
+        }
+        for (int i = 1; i < handles.size(); i++) {
+            assertTrue( ( (InternalFactHandle) handles.get( i ) ).getRecency() > ( (InternalFactHandle) handles.get( i - 1 ) ).getRecency() );
+        }
+
+        assertEquals( 2, ksession.fireAllRules() );
+        assertTrue( list.containsAll( Arrays.asList( "abcdefghijk", "abcdefghijkl" ) ) );
+    }
+
+    @Test
+    public void testInsertAllWithDuplicatesAndNulls() {
+        KieSession ksession = new KieHelper().addContent( DRL, ResourceType.DRL )
+                                             .build()
+                                             .newKieSession();
+        List<String> list = new ArrayList<String>();
+        ksession.setGlobal( "list", list );
+
+        Integer eleven = 11;
+        FactHandle existing = ksession.insert( eleven );
+
+        List<FactHandle> handles = ( (WorkingMemoryEntryPoint) ksession ).insertAll( Arrays.asList( eleven, null, "abcdefghijk", eleven ) );
+        assertEquals( 4, handles.size() );
+        assertSame( existing, handles.get( 0 ) );
+        assertNull( handles.get( 1 ) );
+        assertSame( existing, handles.get( 3 ) );
+        assertEquals( 2, ksession.getFactCount() );
+
+        assertEquals( 1, ksession.fireAllRules() );
+        assertEquals( "abcdefghijk", list.get( 0 ) );
+    }
+}
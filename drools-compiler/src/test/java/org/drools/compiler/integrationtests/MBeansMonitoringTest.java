@@ -27,6 +27,7 @@ import org.drools.core.ClockType;
 import org.drools.core.impl.InternalKieContainer;
 import org.drools.core.impl.InternalKnowledgeBase;
 import org.drools.core.management.DroolsManagementAgent;
+import org.drools.core.management.PooledKieSessionMonitoringMXBean;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -47,6 +48,7 @@ import org.kie.api.management.KieContainerMonitorMXBean;
 import org.kie.api.management.KieSessionMonitoringMXBean;
 import org.kie.api.management.StatelessKieSessionMonitoringMXBean;
 import org.kie.api.runtime.KieContainer;
+import org.kie.api.runtime.KieContainerSessionsPool;
 import org.kie.api.runtime.KieSession;
 import org.kie.api.runtime.KieSessionConfiguration;
 import org.kie.api.runtime.StatelessKieSession;
@@ -151,6 +153,34 @@ public class MBeansMonitoringTest extends CommonTestMethodBase {
         kc2.dispose();
     }
 
+    @Test
+    public void testKieSessionsPoolMBeans() throws Exception {
+        MBeanServer mbserver = ManagementFactory.getPlatformMBeanServer();
+        KieServices ks = KieServices.Factory.get();
+
+        KieContainer kc = ks.getKieClasspathContainer("myID");
+        KieContainerSessionsPool pool = kc.newKieSessionsPool( 1 );
+
+        KieSession ksession = pool.newKieSession("org.kie.monitoring.kbase1.ksession1");
+        ksession.dispose();
+        ksession = pool.newKieSession("org.kie.monitoring.kbase1.ksession1");
+        ksession.dispose();
+
+        PooledKieSessionMonitoringMXBean statefulKieSessionMonitor = JMX.newMXBeanProxy(
+                mbserver,
+                DroolsManagementAgent.createObjectNameBy("myID", "org.kie.monitoring.kbase1", KieSessionType.STATEFUL, "org.kie.monitoring.kbase1.ksession1"),
+                PooledKieSessionMonitoringMXBean.class);
+
+        assertEquals(1, statefulKieSessionMonitor.getTotalPooledSessions());
+        assertEquals(1, statefulKieSessionMonitor.getAvailablePooledSessions());
+        assertEquals(2, statefulKieSessionMonitor.getTotalPoolAcquisitions());
+        assertEquals(2, statefulKieSessionMonitor.getTotalPoolResets());
+        assertTrue(statefulKieSessionMonitor.getAveragePoolResetTime() >= 0);
+
+        pool.shutdown();
+        kc.dispose();
+    }
+
     @Test
     public void testEventOffset() throws Exception {
     	String drl = "package org.drools.compiler.test\n" +
@@ -19,9 +19,11 @@ package org.drools.compiler.integrationtests;
 import org.drools.core.InitialFact;
 import org.drools.core.base.ClassObjectType;
 import org.drools.core.common.BaseNode;
+import org.drools.core.common.InternalWorkingMemory;
 import org.drools.core.common.NetworkNode;
 import org.drools.core.common.RuleBasePartitionId;
 import org.drools.core.impl.InternalKnowledgeBase;
+import org.drools.core.impl.KnowledgeBaseImpl;
 import org.drools.core.reteoo.BetaNode;
 import org.drools.core.reteoo.CompositePartitionAwareObjectSinkAdapter;
 import org.drools.core.reteoo.EntryPointNode;
@@ -30,16 +32,24 @@ import org.drools.core.reteoo.ObjectSink;
 import org.drools.core.reteoo.ObjectSinkPropagator;
 import org.drools.core.reteoo.ObjectSource;
 import org.drools.core.reteoo.ObjectTypeNode;
+import org.drools.core.reteoo.PartitionProfile;
 import org.drools.core.reteoo.Rete;
 import org.drools.core.reteoo.Sink;
 import org.drools.core.reteoo.TerminalNode;
 import org.junit.Test;
+import org.kie.api.KieServices;
 import org.kie.api.io.ResourceType;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.KieSessionConfiguration;
+import org.kie.api.runtime.conf.KeepReferenceOption;
 import org.kie.internal.conf.MultithreadEvaluationOption;
 import org.kie.internal.utils.KieHelper;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
 
 public class NodesPartitioningTest {
 
@@ -62,9 +72,68 @@ public class NodesPartitioningTest {
         checkDrl( sb.toString() );
     }
 
+    @Test
+    public void testRebalancePartitionsWithProfile() {
+        String drl = ruleA(1) + ruleB(2) + ruleC(2) + ruleD(1) +
+                     ruleD(2) + ruleC(1) + ruleA(2) + ruleB(1);
+        KnowledgeBaseImpl kbase = (KnowledgeBaseImpl) new KieHelper().addContent( drl, ResourceType.DRL )
+                                                                     .build( MultithreadEvaluationOption.YES );
+
+        KieSession ksession = kbase.newKieSession();
+        ksession.insert( 1 );
+        ksession.insert( 2 );
+        ksession.insert( "1" );
+        ksession.insert( "2" );
+        ksession.fireAllRules();
+
+        PartitionProfile profile = new PartitionProfile();
+        profile.recordSession( (InternalWorkingMemory) ksession );
+        profile.recordPropagations( "defaultpkg.Ra1", 1000 );
+        ksession.dispose();
+
+        kbase.rebalancePartitions( profile );
+        checkKieBase( kbase );
+
+        ksession = kbase.newKieSession();
+        ksession.insert( 1 );
+        ksession.insert( "1" );
+        assertTrue( ksession.fireAllRules() > 0 );
+        ksession.dispose();
+    }
+
+    @Test
+    public void testRebalancePartitionsWithSessionNotKeptByReference() {
+        String drl = ruleA(1) + ruleB(2) + ruleC(2) + ruleD(1) +
+                     ruleD(2) + ruleC(1) + ruleA(2) + ruleB(1);
+        KnowledgeBaseImpl kbase = (KnowledgeBaseImpl) new KieHelper().addContent( drl, ResourceType.DRL )
+                                                                     .build( MultithreadEvaluationOption.YES );
+        // with a single evaluation slot the network can't be partitioned and there is nothing to rebalance
+        assumeTrue( kbase.getConfiguration().isMultithreadEvaluation() );
+
+        KieSessionConfiguration conf = KieServices.Factory.get().newKieSessionConfiguration();
+        conf.setOption( KeepReferenceOption.NO );
+        KieSession ksession = kbase.newKieSession( conf, null );
+        assertTrue( kbase.getKieSessions().isEmpty() );
+
+        try {
+            kbase.rebalancePartitions( new PartitionProfile() );
+            fail( "A kbase can't be rebalanced while it has a session" );
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        ksession.dispose();
+        kbase.rebalancePartitions( new PartitionProfile() );
+        checkKieBase( kbase );
+    }
+
     private void checkDrl(String drl) {
         InternalKnowledgeBase kbase = (InternalKnowledgeBase) new KieHelper().addContent( drl, ResourceType.DRL )
                                                                              .build( MultithreadEvaluationOption.YES );
+        checkKieBase( kbase );
+    }
+
+    private void checkKieBase(InternalKnowledgeBase kbase) {
         Rete rete = kbase.getRete();
         for (EntryPointNode entryPointNode : rete.getEntryPointNodes().values()) {
             traverse( entryPointNode );
@@ -112,13 +181,15 @@ public class NodesPartitioningTest {
             return;
         }
         ObjectSinkPropagator sinkPropagator = otn.getObjectSinkPropagator();
-        ObjectSinkPropagator[] propagators = sinkPropagator instanceof CompositePartitionAwareObjectSinkAdapter ?
-                                             ((CompositePartitionAwareObjectSinkAdapter) sinkPropagator).getPartitionedPropagators() :
-                                             new ObjectSinkPropagator[] { sinkPropagator };
+        if ( !(sinkPropagator instanceof CompositePartitionAwareObjectSinkAdapter) ) {
+            // the multithread evaluation has been disabled, so the slots of the partitions aren't used
+            return;
+        }
+        ObjectSinkPropagator[] propagators = ((CompositePartitionAwareObjectSinkAdapter) sinkPropagator).getPartitionedPropagators();
         for (int i = 0; i < propagators.length; i++) {
             for (ObjectSink sink : propagators[i].getSinks()) {
                 assertEquals( sink + " on " + sink.getPartitionId() + " is expcted to be on propagator " + i,
-                              i, sink.getPartitionId().getId() % propagators.length );
+                              i, sink.getPartitionId().getParallelEvaluationSlot() );
             }
         }
     }
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.drools.compiler.integrationtests;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.drools.compiler.Person;
+import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.impl.InternalKnowledgeBase;
+import org.drools.core.reteoo.BetaMemory;
+import org.drools.core.reteoo.JoinNode;
+import org.drools.core.reteoo.ObjectTypeNode;
+import org.drools.core.reteoo.RightTuplePool;
+import org.junit.Test;
+import org.kie.api.KieBase;
+import org.kie.api.KieServices;
+import org.kie.api.io.ResourceType;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.KieSessionConfiguration;
+import org.kie.api.runtime.rule.FactHandle;
+import org.kie.internal.utils.KieHelper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class RightTuplePoolTest {
+
+    private static final String DRL =
+            "import " + Person.class.getCanonicalName() + ";\n" +
+            "global java.util.List list\n" +
+            "rule R when\n" +
+            "    $s : String()\n" +
+            "    $p : Person( name == $s )\n" +
+            "then\n" +
+            "    list.add( $p.getAge() );\n" +
+            "end\n";
+
+    @Test
+    public void testRightTuplesAreReusedAfterDelete() {
+        KieBase kbase = new KieHelper().addContent( DRL, ResourceType.DRL ).build();
+
+        KieSessionConfiguration conf = KieServices.Factory.get().newKieSessionConfiguration();
+        conf.setProperty( RightTuplePool.PROPERTY_NAME, "4" );
+        KieSession ksession = kbase.newKieSession( conf, null );
+
+        List<Integer> list = new ArrayList<Integer>();
+        ksession.setGlobal( "list", list );
+        ksession.insert( "Mario" );
+
+        for (int i = 0; i < 10; i++) {
+            FactHandle fh = ksession.insert( new Person( "Mario", i ) );
+            ksession.fireAllRules();
+            ksession.delete( fh );
+            ksession.fireAllRules();
+        }
+
+        assertEquals( 10, list.size() );
+        for (int i = 0; i < 10; i++) {
+            assertEquals( i, (int) list.get( i ) );
+        }
+
+        RightTuplePool pool = getJoinNodeMemory( kbase, ksession ).getRightTuplePool();
+        assertEquals( 1, pool.getCreatedCount() );
+        assertEquals( 9, pool.getReusedCount() );
+        assertTrue( pool.size() <= pool.getCapacity() );
+    }
+
+    @Test
+    public void testRecycledTupleDeletedBeforeBeingAdded() {
+        KieBase kbase = new KieHelper().addContent( DRL, ResourceType.DRL ).build();
+
+        KieSessionConfiguration conf = KieServices.Factory.get().newKieSessionConfiguration();
+        conf.setProperty( RightTuplePool.PROPERTY_NAME, "4" );
+        KieSession ksession = kbase.newKieSession( conf, null );
+
+        List<Integer> list = new ArrayList<Integer>();
+        ksession.setGlobal( "list", list );
+        ksession.insert( "Mario" );
+
+        FactHandle fh1 = ksession.insert( new Person( "Mario", 1 ) );
+        FactHandle fh2 = ksession.insert( new Person( "Mario", 2 ) );
+        FactHandle fh3 = ksession.insert( new Person( "Mario", 3 ) );
+        assertEquals( 3, ksession.fireAllRules() );
+
+        ksession.delete( fh2 );
+        ksession.fireAllRules();
+
+        BetaMemory memory = getJoinNodeMemory( kbase, ksession );
+        RightTuplePool pool = memory.getRightTuplePool();
+        assertEquals( 1, pool.size() );
+
+        // the recycled tuple is taken by this insert and deleted before being added to the right memory:
+        // both are only propagated when the session is flushed, so the insert is still staged when the delete arrives
+        FactHandle fh4 = ksession.insert( new Person( "Mario", 4 ) );
+        ksession.delete( fh4 );
+        assertEquals( 0, ksession.fireAllRules() );
+        assertEquals( 1, pool.getReusedCount() );
+
+        // the tuples of the other persons are still correctly linked in the right memory
+        assertEquals( 2, memory.getRightTupleMemory().size() );
+        ksession.delete( fh1 );
+        ksession.delete( fh3 );
+        ksession.fireAllRules();
+        assertEquals( 0, memory.getRightTupleMemory().size() );
+
+        ksession.insert( new Person( "Mario", 5 ) );
+        assertEquals( 1, ksession.fireAllRules() );
+        assertEquals( 1, memory.getRightTupleMemory().size() );
+        assertEquals( 5, (int) list.get( list.size() - 1 ) );
+        ksession.dispose();
+    }
+
+    @Test
+    public void testPoolIsDisabledByDefault() {
+        KieBase kbase = new KieHelper().addContent( DRL, ResourceType.DRL ).build();
+        KieSession ksession = kbase.newKieSession();
+        ksession.setGlobal( "list", new ArrayList<Integer>() );
+        ksession.insert( "Mario" );
+        ksession.insert( new Person( "Mario", 40 ) );
+        ksession.fireAllRules();
+
+        assertNull( getJoinNodeMemory( kbase, ksession ).getRightTuplePool() );
+    }
+
+    private BetaMemory getJoinNodeMemory( KieBase kbase, KieSession ksession ) {
+        List<ObjectTypeNode> otns = ( (InternalKnowledgeBase) kbase ).getRete().getObjectTypeNodes();
+        for (ObjectTypeNode otn : otns) {
+            if ( otn.getObjectType().getClassName().equals( Person.class.getName() ) ) {
+                JoinNode joinNode = (JoinNode) otn.getObjectSinkPropagator().getSinks()[0];
+                return (BetaMemory) ( (InternalWorkingMemory) ksession ).getNodeMemory( joinNode );
+            }
+        }
+        throw new IllegalStateException( "Missing ObjectTypeNode for " + Person.class.getName() );
+    }
+}
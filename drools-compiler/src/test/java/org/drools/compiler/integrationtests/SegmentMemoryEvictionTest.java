@@ -0,0 +1,147 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.compiler.integrationtests;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.drools.compiler.integrationtests.LinkingTest.A;
+import org.drools.compiler.integrationtests.LinkingTest.B;
+import org.drools.compiler.integrationtests.LinkingTest.C;
+import org.drools.core.RuleBaseConfiguration;
+import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.impl.InternalKnowledgeBase;
+import org.drools.core.phreak.SegmentMemoryEvictor;
+import org.drools.core.reteoo.LeftInputAdapterNode;
+import org.drools.core.reteoo.LeftTupleSource;
+import org.drools.core.reteoo.RuleTerminalNode;
+import org.junit.Test;
+import org.kie.api.KieBase;
+import org.kie.api.KieServices;
+import org.kie.api.io.ResourceType;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.rule.FactHandle;
+import org.kie.internal.utils.KieHelper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class SegmentMemoryEvictionTest {
+
+    private static final String DRL =
+            "import " + A.class.getCanonicalName() + "\n" +
+            "import " + B.class.getCanonicalName() + "\n" +
+            "import " + C.class.getCanonicalName() + "\n" +
+            "global java.util.List list\n" +
+            "rule R1 when\n" +
+            "    A()\n" +
+            "    B()\n" +
+            "then\n" +
+            "    list.add( \"R1\" );\n" +
+            "end\n" +
+            "rule R2 when\n" +
+            "    A()\n" +
+            "    C()\n" +
+            "then\n" +
+            "    list.add( \"R2\" );\n" +
+            "end\n";
+
+    @Test
+    public void testEvictionTimeoutConfiguration() {
+        RuleBaseConfiguration rbc = (RuleBaseConfiguration) KieServices.Factory.get().newKieBaseConfiguration();
+        assertEquals( "-1", rbc.getProperty( "drools.segmentMemoryEvictionTimeout" ) );
+
+        rbc.setProperty( "drools.segmentMemoryEvictionTimeout", "5000" );
+        assertEquals( 5000, rbc.getSegmentMemoryEvictionTimeout() );
+        assertEquals( "5000", rbc.getProperty( "drools.segmentMemoryEvictionTimeout" ) );
+    }
+
+    @Test
+    public void testIdleRulesAreEvictedAndRecreated() {
+        KieBase kbase = new KieHelper().addContent( DRL, ResourceType.DRL ).build();
+        KieSession ksession = kbase.newKieSession();
+        InternalWorkingMemory wm = (InternalWorkingMemory) ksession;
+        List<String> list = new ArrayList<String>();
+        ksession.setGlobal( "list", list );
+
+        LeftInputAdapterNode liaNode = getLiaNode( kbase, "R1" );
+        SegmentMemoryEvictor evictor = new SegmentMemoryEvictor( wm, 1000 );
+
+        FactHandle a = ksession.insert( new A() );
+        FactHandle b = ksession.insert( new B() );
+        assertEquals( 1, ksession.fireAllRules() );
+        assertNotNull( wm.getNodeMemories().peekNodeMemory( liaNode ) );
+
+        // the rule is linked, so it can't be evicted
+        assertEquals( 0, evictor.evictIdleSegments( 10000 ) );
+        assertEquals( 0, evictor.evictIdleSegments( 12000 ) );
+
+        ksession.delete( a );
+        ksession.delete( b );
+        ksession.fireAllRules();
+
+        // found idle by the first sweep, evicted only once the timeout is elapsed
+        assertEquals( 0, evictor.evictIdleSegments( 14000 ) );
+        assertEquals( 0, evictor.evictIdleSegments( 14600 ) );
+        assertEquals( 1, evictor.evictIdleSegments( 15200 ) );
+        assertNull( wm.getNodeMemories().peekNodeMemory( liaNode ) );
+
+        // the memories are created again by the next facts
+        ksession.insert( new A() );
+        ksession.insert( new C() );
+        assertEquals( 1, ksession.fireAllRules() );
+        assertEquals( "R2", list.get( 1 ) );
+
+        ksession.insert( new B() );
+        assertEquals( 1, ksession.fireAllRules() );
+        assertEquals( "R1", list.get( 2 ) );
+        ksession.dispose();
+    }
+
+    @Test
+    public void testRulesWithFactsAreNotEvicted() {
+        KieBase kbase = new KieHelper().addContent( DRL, ResourceType.DRL ).build();
+        KieSession ksession = kbase.newKieSession();
+        InternalWorkingMemory wm = (InternalWorkingMemory) ksession;
+        ksession.setGlobal( "list", new ArrayList<String>() );
+
+        LeftInputAdapterNode liaNode = getLiaNode( kbase, "R1" );
+        SegmentMemoryEvictor evictor = new SegmentMemoryEvictor( wm, 1000 );
+
+        // neither rule is linked, but the A is still in the left input memory
+        ksession.insert( new A() );
+        assertEquals( 0, ksession.fireAllRules() );
+
+        assertEquals( 0, evictor.evictIdleSegments( 10000 ) );
+        assertEquals( 0, evictor.evictIdleSegments( 20000 ) );
+        assertNotNull( wm.getNodeMemories().peekNodeMemory( liaNode ) );
+
+        ksession.insert( new B() );
+        assertEquals( 1, ksession.fireAllRules() );
+        ksession.dispose();
+    }
+
+    private static LeftInputAdapterNode getLiaNode(KieBase kbase, String ruleName) {
+        RuleTerminalNode rtn = (RuleTerminalNode) ( (InternalKnowledgeBase) kbase ).getReteooBuilder().getTerminalNodes( "defaultpkg." + ruleName )[0];
+        LeftTupleSource lts = rtn.getLeftTupleSource();
+        while ( !( lts instanceof LeftInputAdapterNode ) ) {
+            lts = lts.getLeftTupleSource();
+        }
+        return (LeftInputAdapterNode) lts;
+    }
+}
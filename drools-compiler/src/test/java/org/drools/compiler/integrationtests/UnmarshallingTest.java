@@ -19,8 +19,16 @@ import static org.junit.Assert.fail;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.util.HashSet;
+import java.util.Set;
 
 import org.drools.core.impl.InternalKnowledgeBase;
 import org.drools.core.impl.KnowledgeBaseFactory;
@@ -35,6 +43,8 @@ import org.kie.api.conf.EventProcessingOption;
 import org.kie.internal.io.ResourceFactory;
 import org.kie.api.io.ResourceType;
 import org.kie.internal.marshalling.MarshallerFactory;
+import org.kie.api.marshalling.Marshaller;
+import org.kie.api.marshalling.ObjectMarshallingStrategy;
 import org.kie.api.runtime.KieSession;
 
 public class UnmarshallingTest {
@@ -89,6 +99,79 @@ public class UnmarshallingTest {
                              rules );
     }
 
+    @Test
+    public void testUnmarshallFromStreamReadInChunks() throws Exception {
+        String rule =
+                "import " + getClass().getCanonicalName() + ".*\n" +
+                "rule one\n" +
+                "when\n" +
+                "   Ben()\n" +
+                "   not(Vilgax())\n" +
+                "then\n" +
+                "end\n";
+
+        KieBase knowledgeBase = initializeKnowledgeBase( rule );
+        KieSession ksession = knowledgeBase.newKieSession();
+        for ( int i = 0; i < 1000; i++ ) {
+            ksession.insert( new Ben() );
+        }
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        MarshallerFactory.newMarshaller( knowledgeBase ).marshall( baos,
+                                                                   ksession );
+        ksession.dispose();
+
+        // a stream that doesn't know how many bytes are available and returns them in small chunks
+        InputStream in = new FilterInputStream( new ByteArrayInputStream( baos.toByteArray() ) ) {
+            @Override
+            public int available() {
+                return 0;
+            }
+
+            @Override
+            public int read( byte[] b, int off, int len ) throws IOException {
+                return super.read( b, off, Math.min( len, 100 ) );
+            }
+        };
+
+        ksession = MarshallerFactory.newMarshaller( knowledgeBase ).unmarshall( in );
+        Assert.assertEquals( 1000,
+                             ksession.getFactCount() );
+        Assert.assertEquals( 1000,
+                             ksession.fireAllRules() );
+    }
+
+    @Test
+    public void testMarshallWithStrategyReusingItsBuffer() throws Exception {
+        String rule =
+                "rule one\n" +
+                "when\n" +
+                "   Integer()\n" +
+                "then\n" +
+                "end\n";
+
+        KieBase knowledgeBase = initializeKnowledgeBase( rule );
+        KieSession ksession = knowledgeBase.newKieSession();
+        Set<Object> inserted = new HashSet<Object>();
+        for ( int i = 0; i < 10; i++ ) {
+            ksession.insert( i );
+            inserted.add( i );
+        }
+
+        Marshaller marshaller = MarshallerFactory.newMarshaller( knowledgeBase,
+                                                                 new ObjectMarshallingStrategy[]{ new ReusedBufferStrategy() } );
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        marshaller.marshall( baos,
+                             ksession );
+        ksession.dispose();
+
+        // the bytes returned by the strategy must have been copied before it overwrote them
+        ksession = marshaller.unmarshall( new ByteArrayInputStream( baos.toByteArray() ) );
+        Assert.assertEquals( inserted,
+                             new HashSet<Object>( ksession.getObjects() ) );
+        ksession.dispose();
+    }
+
     private KieBase initializeKnowledgeBase( String rule ) {
         // Setup knowledge base
         KnowledgeBuilder kbuilder = KnowledgeBuilderFactory.newKnowledgeBuilder();
@@ -128,4 +211,45 @@ public class UnmarshallingTest {
         }
     }
 
+    /**
+     * Marshals integers into the same buffer every time, as a strategy pooling its buffers could do.
+     */
+    public static class ReusedBufferStrategy
+        implements
+        ObjectMarshallingStrategy {
+
+        private final byte[] buffer = new byte[4];
+
+        public boolean accept( Object object ) {
+            return object instanceof Integer;
+        }
+
+        public void write( ObjectOutputStream os,
+                           Object object ) throws IOException {
+            os.writeInt( (Integer) object );
+        }
+
+        public Object read( ObjectInputStream os ) throws IOException {
+            return os.readInt();
+        }
+
+        public byte[] marshal( Context context,
+                               ObjectOutputStream os,
+                               Object object ) {
+            ByteBuffer.wrap( buffer ).putInt( (Integer) object );
+            return buffer;
+        }
+
+        public Object unmarshal( Context context,
+                                 ObjectInputStream is,
+                                 byte[] object,
+                                 ClassLoader classloader ) {
+            return ByteBuffer.wrap( object ).getInt();
+        }
+
+        public Context createContext() {
+            return null;
+        }
+    }
+
 }
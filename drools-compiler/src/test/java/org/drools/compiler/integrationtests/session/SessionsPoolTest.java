@@ -149,6 +149,82 @@ public class SessionsPoolTest {
         assertEquals(1, list.size());
     }
 
+    @Test
+    public void testKieSessionsPoolResetsAllEntryPoints() {
+        String drl =
+                "global java.util.List list\n" +
+                "rule R1 when\n" +
+                "  $s: String() from entry-point \"ep\"\n" +
+                "then\n" +
+                "  list.add($s);\n" +
+                "end\n";
+
+        KieContainerSessionsPool pool = new KieHelper().addContent( drl, ResourceType.DRL ).getKieContainer().newKieSessionsPool( 1 );
+
+        KieSession ksession = pool.newKieSession();
+        List<String> list = new ArrayList<>();
+        ksession.setGlobal( "list", list );
+        ksession.getEntryPoint( "ep" ).insert( "test" );
+        assertEquals( 1, ksession.fireAllRules() );
+        ksession.dispose();
+
+        KieSession ksession2 = pool.newKieSession();
+        assertSame( ksession, ksession2 );
+        assertEquals( 0, ksession2.getEntryPoint( "ep" ).getFactCount() );
+
+        List<String> list2 = new ArrayList<>();
+        ksession2.setGlobal( "list", list2 );
+        ksession2.getEntryPoint( "ep" ).insert( "test2" );
+        assertEquals( 1, ksession2.fireAllRules() );
+        assertEquals( "test2", list2.get( 0 ) );
+
+        pool.shutdown();
+    }
+
+    @Test
+    public void testKieSessionsPoolResetsUsedMemories() {
+        String drl =
+                "global java.util.List list\n" +
+                "rule R1 when\n" +
+                "  not String()\n" +
+                "then\n" +
+                "  list.add(\"none\");\n" +
+                "end\n" +
+                "rule R2 when\n" +
+                "  $s: String()\n" +
+                "  $i: Integer()\n" +
+                "then\n" +
+                "  list.add($s + $i);\n" +
+                "end\n";
+
+        KieContainerSessionsPool pool = new KieHelper().addContent( drl, ResourceType.DRL ).getKieContainer().newKieSessionsPool( 1 );
+
+        KieSession ksession = pool.newKieSession();
+        List<String> list = new ArrayList<>();
+        ksession.setGlobal( "list", list );
+        ksession.insert( "a" );
+        ksession.insert( 1 );
+        assertEquals( 1, ksession.fireAllRules() );
+        assertEquals( "a1", list.get( 0 ) );
+        ksession.dispose();
+
+        // the reused session must behave as a new one, both for the used and the unused rules
+        KieSession ksession2 = pool.newKieSession();
+        assertSame( ksession, ksession2 );
+        List<String> list2 = new ArrayList<>();
+        ksession2.setGlobal( "list", list2 );
+        assertEquals( 1, ksession2.fireAllRules() );
+        assertEquals( "none", list2.get( 0 ) );
+
+        ksession2.insert( 2 );
+        assertEquals( 0, ksession2.fireAllRules() );
+        ksession2.insert( "b" );
+        assertEquals( 1, ksession2.fireAllRules() );
+        assertEquals( "b2", list2.get( 1 ) );
+
+        pool.shutdown();
+    }
+
     private KieContainer getKieContainer() {
         String drl =
                 "global java.util.List list\n" +
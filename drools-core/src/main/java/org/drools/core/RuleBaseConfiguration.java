@@ -92,7 +92,7 @@ import static org.drools.core.util.MemoryUtil.hasPermGen;
  * drools.shareAlphaNodes  = &lt;true|false&gt;
  * drools.shareBetaNodes = &lt;true|false&gt;
  * drools.alphaNodeHashingThreshold = &lt;1...n&gt;
- * drools.compositeKeyDepth = &lt;1..3&gt;
+ * drools.compositeKeyDepth = &lt;1..n&gt;
  * drools.indexLeftBetaMemory = &lt;true/false&gt;
  * drools.indexRightBetaMemory = &lt;true/false&gt;
  * drools.equalityBehavior = &lt;identity|equality&gt;
@@ -106,6 +106,7 @@ import static org.drools.core.util.MemoryUtil.hasPermGen;
  * drools.declarativeAgendaEnabled =  &lt;true|false&gt; 
  * drools.permgenThreshold = &lt;1...n&gt;
  * drools.jittingThreshold = &lt;1...n&gt;
+ * drools.segmentMemoryEvictionTimeout = &lt;-1...n&gt;
  * </pre>
  */
 public class RuleBaseConfiguration
@@ -156,6 +157,8 @@ public class RuleBaseConfiguration
     private boolean multithread;
     private int     maxThreads;
 
+    private long    segmentMemoryEvictionTimeout;
+
     // this property activates MBean monitoring and management
     private boolean mbeansEnabled;
 
@@ -201,6 +204,7 @@ public class RuleBaseConfiguration
         out.writeBoolean(advancedProcessRuleIntegration);
         out.writeBoolean(multithread);
         out.writeInt(maxThreads);
+        out.writeLong(segmentMemoryEvictionTimeout);
         out.writeObject(eventProcessingMode);
         out.writeBoolean(classLoaderCacheEnabled);
         out.writeBoolean(phreakEnabled);
@@ -232,6 +236,7 @@ public class RuleBaseConfiguration
         advancedProcessRuleIntegration = in.readBoolean();
         multithread = in.readBoolean();
         maxThreads = in.readInt();
+        segmentMemoryEvictionTimeout = in.readLong();
         eventProcessingMode = (EventProcessingOption) in.readObject();
         classLoaderCacheEnabled = in.readBoolean();
         phreakEnabled = in.readBoolean();
@@ -322,6 +327,8 @@ public class RuleBaseConfiguration
             setMultithreadEvaluation( StringUtils.isEmpty( value ) ? false : Boolean.valueOf(value));
         } else if ( name.equals( MaxThreadsOption.PROPERTY_NAME ) ) {
             setMaxThreads( StringUtils.isEmpty( value ) ? 3 : Integer.parseInt(value));
+        } else if ( name.equals( "drools.segmentMemoryEvictionTimeout" ) ) {
+            setSegmentMemoryEvictionTimeout( StringUtils.isEmpty( value ) ? -1 : Long.parseLong(value));
         } else if ( name.equals( EventProcessingOption.PROPERTY_NAME ) ) {
             setEventProcessingMode( EventProcessingOption.determineEventProcessingMode( StringUtils.isEmpty( value ) ? "cloud" : value));
         } else if ( name.equals( MBeansOption.PROPERTY_NAME ) ) {
@@ -375,6 +382,8 @@ public class RuleBaseConfiguration
             return Boolean.toString( isMultithreadEvaluation() );
         } else if ( name.equals( MaxThreadsOption.PROPERTY_NAME ) ) {
             return Integer.toString( getMaxThreads());
+        } else if ( name.equals( "drools.segmentMemoryEvictionTimeout" ) ) {
+            return Long.toString( getSegmentMemoryEvictionTimeout() );
         } else if ( name.equals( EventProcessingOption.PROPERTY_NAME ) ) {
             return getEventProcessingMode().getMode();
         } else if ( name.equals( MBeansOption.PROPERTY_NAME ) ) {
@@ -460,6 +469,9 @@ public class RuleBaseConfiguration
         setMaxThreads( Integer.parseInt( this.chainedProperties.getProperty( MaxThreadsOption.PROPERTY_NAME,
                                                                              "3" ) ) );
 
+        setSegmentMemoryEvictionTimeout( Long.parseLong( this.chainedProperties.getProperty( "drools.segmentMemoryEvictionTimeout",
+                                                                                             "-1" ) ) );
+
         setEventProcessingMode( EventProcessingOption.determineEventProcessingMode( this.chainedProperties.getProperty( EventProcessingOption.PROPERTY_NAME,
                                                                                                                         "cloud" ) ) );
 
@@ -602,8 +614,8 @@ public class RuleBaseConfiguration
 
     public void setCompositeKeyDepth(final int compositeKeyDepth) {
         if ( !this.immutable ) {
-            if ( compositeKeyDepth > 3 ) {
-                throw new UnsupportedOperationException( "compositeKeyDepth cannot be greater than 3" );
+            if ( compositeKeyDepth < 0 ) {
+                throw new IllegalArgumentException( "compositeKeyDepth cannot be negative" );
             }
             this.compositeKeyDepth = compositeKeyDepth;
         } else {
@@ -720,6 +732,28 @@ public class RuleBaseConfiguration
         return this.maxThreads;
     }
 
+    /**
+     * Defines after how many milliseconds the segment memories of a rule that stays
+     * unlinked, and whose memories are empty, are released by the session. They are
+     * created again as soon as a fact reaches them.
+     *
+     * @param segmentMemoryEvictionTimeout the timeout in milliseconds. If 0 or a
+     *                                     negative number is set, the segment
+     *                                     memories are never released. Default is -1.
+     */
+    public void setSegmentMemoryEvictionTimeout(final long segmentMemoryEvictionTimeout) {
+        checkCanChange(); // throws an exception if a change isn't possible;
+        this.segmentMemoryEvictionTimeout = segmentMemoryEvictionTimeout;
+    }
+
+    public long getSegmentMemoryEvictionTimeout() {
+        return this.segmentMemoryEvictionTimeout;
+    }
+
+    public boolean isSegmentMemoryEvictionEnabled() {
+        return this.segmentMemoryEvictionTimeout > 0;
+    }
+
     public boolean isClassLoaderCacheEnabled() {
         return this.classLoaderCacheEnabled;
     }
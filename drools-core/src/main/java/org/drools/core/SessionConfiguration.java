@@ -21,8 +21,10 @@ import java.util.Map;
 import java.util.Properties;
 
 import org.drools.core.process.instance.WorkItemManagerFactory;
+import org.drools.core.reteoo.RightTuplePool;
 import org.drools.core.time.TimerService;
 import org.drools.core.time.impl.TimerJobFactoryManager;
+import org.drools.core.time.impl.TimingWheel;
 import org.drools.core.util.StringUtils;
 import org.kie.api.KieBase;
 import org.kie.api.runtime.Environment;
@@ -78,6 +80,15 @@ public abstract class SessionConfiguration implements KieSessionConfiguration, E
     public abstract ClockType getClockType();
     public abstract void setClockType(ClockType clockType);
 
+    public abstract PropagationListType getPropagationListType();
+    public abstract void setPropagationListType(PropagationListType propagationListType);
+
+    public abstract int getRightTuplePoolSize();
+    public abstract void setRightTuplePoolSize(int rightTuplePoolSize);
+
+    public abstract long getTimingWheelTick();
+    public abstract void setTimingWheelTick(long timingWheelTick);
+
     public abstract TimerJobFactoryType getTimerJobFactoryType();
     public abstract void setTimerJobFactoryType(TimerJobFactoryType timerJobFactoryType);
 
@@ -169,6 +180,12 @@ public abstract class SessionConfiguration implements KieSessionConfiguration, E
             setQueryListenerOption( QueryListenerOption.determineQueryListenerClassOption( property ) );
         } else if ( name.equals( BeliefSystemTypeOption.PROPERTY_NAME ) ) {
             setBeliefSystemType(StringUtils.isEmpty(value) ? BeliefSystemType.SIMPLE : BeliefSystemType.resolveBeliefSystemType(value));
+        } else if ( name.equals( PropagationListType.PROPERTY_NAME ) ) {
+            setPropagationListType(StringUtils.isEmpty(value) ? PropagationListType.SYNCHRONIZED : PropagationListType.resolvePropagationListType(value));
+        } else if ( name.equals( RightTuplePool.PROPERTY_NAME ) ) {
+            setRightTuplePoolSize(StringUtils.isEmpty(value) ? 0 : Integer.parseInt(value.trim()));
+        } else if ( name.equals( TimingWheel.PROPERTY_NAME ) ) {
+            setTimingWheelTick(StringUtils.isEmpty(value) ? 0 : Long.parseLong(value.trim()));
         }
     }
 
@@ -188,6 +205,12 @@ public abstract class SessionConfiguration implements KieSessionConfiguration, E
             return getQueryListenerOption().getAsString();
         } else if ( name.equals( BeliefSystemTypeOption.PROPERTY_NAME ) ) {
             return getBeliefSystemType().getId();
+        } else if ( name.equals( PropagationListType.PROPERTY_NAME ) ) {
+            return getPropagationListType().getId();
+        } else if ( name.equals( RightTuplePool.PROPERTY_NAME ) ) {
+            return Integer.toString(getRightTuplePoolSize());
+        } else if ( name.equals( TimingWheel.PROPERTY_NAME ) ) {
+            return Long.toString(getTimingWheelTick());
         }
         return null;
     }
@@ -19,13 +19,16 @@ package org.drools.core;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.io.OptionalDataException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
 
 import org.drools.core.common.ProjectClassLoader;
 import org.drools.core.process.instance.WorkItemManagerFactory;
+import org.drools.core.reteoo.RightTuplePool;
 import org.drools.core.time.TimerService;
+import org.drools.core.time.impl.TimingWheel;
 import org.drools.core.util.ConfFileUtils;
 import org.drools.core.util.MVELSafeHelper;
 import org.kie.api.KieBase;
@@ -61,6 +64,9 @@ import org.kie.internal.utils.ChainedProperties;
  * 
  * drools.keepReference = <true|false>
  * drools.clockType = <pseudo|realtime|heartbeat|implicit>
+ * drools.propagationList = <synchronized|lockfree>
+ * drools.rightTuplePoolSize = <0..n>
+ * drools.timingWheelTick = <0..n>
  */
 public class SessionConfigurationImpl extends SessionConfiguration {
 
@@ -79,6 +85,12 @@ public class SessionConfigurationImpl extends SessionConfiguration {
     
     private BeliefSystemType               beliefSystemType;
 
+    private PropagationListType            propagationListType;
+
+    private int                            rightTuplePoolSize;
+
+    private long                           timingWheelTick;
+
     private QueryListenerOption            queryListener;
 
     private Map<String, WorkItemHandler>   workItemHandlers;
@@ -96,6 +108,7 @@ public class SessionConfigurationImpl extends SessionConfiguration {
         out.writeObject(clockType);
         out.writeObject( queryListener );
         out.writeObject( timerJobFactoryType );
+        out.writeObject( propagationListType );
     }
 
     @SuppressWarnings("unchecked")
@@ -106,6 +119,8 @@ public class SessionConfigurationImpl extends SessionConfiguration {
         keepReference = in.readBoolean();
         clockType = (ClockType) in.readObject();
         queryListener = (QueryListenerOption) in.readObject();
+        rightTuplePoolSize = Integer.parseInt( chainedProperties.getProperty( RightTuplePool.PROPERTY_NAME, "0" ) );
+        timingWheelTick = Long.parseLong( chainedProperties.getProperty( TimingWheel.PROPERTY_NAME, "0" ) );
         try {
             timerJobFactoryType = (TimerJobFactoryType) in.readObject();
         } catch (java.io.InvalidObjectException e) {
@@ -116,6 +131,13 @@ public class SessionConfigurationImpl extends SessionConfiguration {
                 throw e;
             }
         }
+        try {
+            propagationListType = (PropagationListType) in.readObject();
+        } catch (OptionalDataException e) {
+            // written before the propagation list type was serialized
+            propagationListType = PropagationListType.resolvePropagationListType( chainedProperties.getProperty( PropagationListType.PROPERTY_NAME,
+                                                                                                                 PropagationListType.SYNCHRONIZED.getId() ) );
+        }
     }
 
     /**
@@ -169,6 +191,13 @@ public class SessionConfigurationImpl extends SessionConfiguration {
         setClockType( ClockType.resolveClockType( this.chainedProperties.getProperty( ClockTypeOption.PROPERTY_NAME,
                                                                                       ClockType.REALTIME_CLOCK.getId() ) ) );
 
+        setPropagationListType( PropagationListType.resolvePropagationListType( this.chainedProperties.getProperty( PropagationListType.PROPERTY_NAME,
+                                                                                                                    PropagationListType.SYNCHRONIZED.getId() ) ) );
+
+        setRightTuplePoolSize( Integer.parseInt( this.chainedProperties.getProperty( RightTuplePool.PROPERTY_NAME, "0" ) ) );
+
+        setTimingWheelTick( Long.parseLong( this.chainedProperties.getProperty( TimingWheel.PROPERTY_NAME, "0" ) ) );
+
         setQueryListenerOption( QueryListenerOption.determineQueryListenerClassOption( this.chainedProperties.getProperty( QueryListenerOption.PROPERTY_NAME,
                                                                                                                            QueryListenerOption.STANDARD.getAsString() ) ) );
 
@@ -255,6 +284,39 @@ public class SessionConfigurationImpl extends SessionConfiguration {
         this.clockType = clockType;
     }
 
+    public PropagationListType getPropagationListType() {
+        return propagationListType;
+    }
+
+    public void setPropagationListType(PropagationListType propagationListType) {
+        checkCanChange(); // throws an exception if a change isn't possible;
+        this.propagationListType = propagationListType;
+    }
+
+    public int getRightTuplePoolSize() {
+        return rightTuplePoolSize;
+    }
+
+    public void setRightTuplePoolSize(int rightTuplePoolSize) {
+        checkCanChange(); // throws an exception if a change isn't possible;
+        if ( rightTuplePoolSize < 0 ) {
+            throw new IllegalArgumentException( "The right tuple pool size cannot be negative: " + rightTuplePoolSize );
+        }
+        this.rightTuplePoolSize = rightTuplePoolSize;
+    }
+
+    public long getTimingWheelTick() {
+        return timingWheelTick;
+    }
+
+    public void setTimingWheelTick(long timingWheelTick) {
+        checkCanChange(); // throws an exception if a change isn't possible;
+        if ( timingWheelTick < 0 ) {
+            throw new IllegalArgumentException( "The timing wheel tick cannot be negative: " + timingWheelTick );
+        }
+        this.timingWheelTick = timingWheelTick;
+    }
+
     public TimerJobFactoryType getTimerJobFactoryType() {
         return timerJobFactoryType;
     }
@@ -37,6 +37,7 @@ import org.drools.core.factmodel.traits.TraitableBean;
 import org.drools.core.impl.InternalKnowledgeBase;
 import org.drools.core.impl.InternalRuleUnitExecutor;
 import org.drools.core.impl.StatefulKnowledgeSessionImpl;
+import org.drools.core.impl.StatefulKnowledgeSessionImpl.WorkingMemoryReteExpireAction;
 import org.drools.core.marshalling.impl.MarshallerReaderContext;
 import org.drools.core.phreak.PropagationEntry;
 import org.drools.core.reteoo.EntryPointNode;
@@ -472,6 +473,10 @@ public final class WrappedStatefulKnowledgeSessionForRHS
 		delegate.queueWorkingMemoryAction(action);
 	}
 
+	public void queueExpiration(WorkingMemoryReteExpireAction action) {
+		delegate.queueExpiration(action);
+	}
+
 	public void delete(FactHandle handle) {
 		delegate.delete(handle);
 	}
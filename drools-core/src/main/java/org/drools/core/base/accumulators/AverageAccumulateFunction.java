@@ -37,17 +37,32 @@ public class AverageAccumulateFunction extends AbstractAccumulateFunction<Averag
     public static class AverageData implements Externalizable {
         public int    count = 0;
         public double total = 0;
+        // rounding error lost by total, so that reversed values cancel out exactly
+        public double correction = 0;
         
         public AverageData() {}
 
         public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
             count   = in.readInt();
             total   = in.readDouble();
+            correction = in.readDouble();
         }
 
         public void writeExternal(ObjectOutput out) throws IOException {
             out.writeInt(count);
             out.writeDouble(total);
+            out.writeDouble(correction);
+        }
+
+        void add(double value) {
+            // Neumaier compensated summation
+            double sum = total + value;
+            if ( Math.abs( total ) >= Math.abs( value ) ) {
+                correction += ( total - sum ) + value;
+            } else {
+                correction += ( value - sum ) + total;
+            }
+            total = sum;
         }
 
     }
@@ -65,6 +80,7 @@ public class AverageAccumulateFunction extends AbstractAccumulateFunction<Averag
     public void init(AverageData data) {
         data.count = 0;
         data.total = 0;
+        data.correction = 0;
     }
 
     /* (non-Javadoc)
@@ -74,7 +90,7 @@ public class AverageAccumulateFunction extends AbstractAccumulateFunction<Averag
                            Object value) {
         if (value != null) {
             data.count++;
-            data.total += ( (Number) value ).doubleValue();
+            data.add( ( (Number) value ).doubleValue() );
         }
     }
 
@@ -85,7 +101,7 @@ public class AverageAccumulateFunction extends AbstractAccumulateFunction<Averag
                         Object value) {
         if (value != null) {
             data.count--;
-            data.total -= ( (Number) value ).doubleValue();
+            data.add( -( (Number) value ).doubleValue() );
         }
     }
 
@@ -93,7 +109,7 @@ public class AverageAccumulateFunction extends AbstractAccumulateFunction<Averag
      * @see org.kie.base.accumulators.AccumulateFunction#getResult(java.lang.Object)
      */
     public Object getResult(AverageData data) {
-        return data.count == 0 ? null : data.total / data.count;
+        return data.count == 0 ? null : ( data.total + data.correction ) / data.count;
     }
 
     /* (non-Javadoc)
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.base.accumulators;
+
+import java.io.Serializable;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.drools.core.base.accumulators.CollectSetAccumulateFunction.CollectListData.MutableInt;
+
+/**
+ * A sorted multiset of the values accumulated by the min and max functions.
+ * Keeping every value with its number of occurrences allows those functions
+ * to be reversed: removing the current min or max just exposes the next one,
+ * instead of forcing the accumulate node to recompute the whole result.
+ */
+public class SortedValues implements Serializable {
+
+    private static final long serialVersionUID = 510l;
+
+    public static final Comparator<Object> NUMERIC_COMPARATOR = new NumericComparator();
+
+    private final TreeMap<Object, MutableInt> values;
+
+    /**
+     * Sorts the values by their natural ordering
+     */
+    public SortedValues() {
+        this.values = new TreeMap<Object, MutableInt>();
+    }
+
+    public SortedValues(Comparator<Object> comparator) {
+        this.values = new TreeMap<Object, MutableInt>( comparator );
+    }
+
+    public void add(Object value) {
+        MutableInt counter = values.get( value );
+        if ( counter == null ) {
+            counter = new MutableInt();
+            values.put( value, counter );
+        }
+        counter.value++;
+    }
+
+    public void remove(Object value) {
+        MutableInt counter = values.get( value );
+        if ( counter == null ) {
+            // the value may have been modified after it was accumulated, so look it up by identity
+            for ( Iterator<Map.Entry<Object, MutableInt>> i = values.entrySet().iterator(); i.hasNext(); ) {
+                Map.Entry<Object, MutableInt> entry = i.next();
+                if ( entry.getKey() == value ) {
+                    if ( --entry.getValue().value == 0 ) {
+                        i.remove();
+                    }
+                    return;
+                }
+            }
+        } else if ( --counter.value == 0 ) {
+            values.remove( value );
+        }
+    }
+
+    public Object first() {
+        return values.isEmpty() ? null : values.firstKey();
+    }
+
+    public Object last() {
+        return values.isEmpty() ? null : values.lastKey();
+    }
+
+    public boolean isEmpty() {
+        return values.isEmpty();
+    }
+
+    public void clear() {
+        values.clear();
+    }
+
+    private static class NumericComparator implements Comparator<Object>, Serializable {
+
+        private static final long serialVersionUID = 510l;
+
+        public int compare(Object o1, Object o2) {
+            return Double.compare( ( (Number) o1 ).doubleValue(), ( (Number) o2 ).doubleValue() );
+        }
+
+        private Object readResolve() {
+            return NUMERIC_COMPARATOR;
+        }
+    }
+}
@@ -32,15 +32,30 @@ public class SumAccumulateFunction extends AbstractAccumulateFunction<SumAccumul
 
     protected static class SumData implements Externalizable {
         public double total = 0;
+        // rounding error lost by total, so that reversed values cancel out exactly
+        public double correction = 0;
 
         public SumData() {}
 
         public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
             total   = in.readDouble();
+            correction = in.readDouble();
         }
 
         public void writeExternal(ObjectOutput out) throws IOException {
             out.writeDouble(total);
+            out.writeDouble(correction);
+        }
+
+        void add(double value) {
+            // Neumaier compensated summation
+            double sum = total + value;
+            if ( Math.abs( total ) >= Math.abs( value ) ) {
+                correction += ( total - sum ) + value;
+            } else {
+                correction += ( value - sum ) + total;
+            }
+            total = sum;
         }
 
         @Override
@@ -55,20 +70,21 @@ public class SumAccumulateFunction extends AbstractAccumulateFunction<SumAccumul
 
     public void init(SumData data) {
         data.total = 0;
+        data.correction = 0;
     }
 
     public void accumulate(SumData data,
                            Object value) {
-        data.total += ((Number) value).doubleValue();
+        data.add( ((Number) value).doubleValue() );
     }
 
     public void reverse(SumData data,
                         Object value) {
-        data.total -= ((Number) value).doubleValue();
+        data.add( -((Number) value).doubleValue() );
     }
 
     public Object getResult(SumData data) {
-        return data.total;
+        return data.total + data.correction;
     }
 
     public boolean supportsReverse() {
@@ -57,6 +57,9 @@ public class VarianceAccumulateFunction extends AbstractAccumulateFunction<Varia
 
     @Override
     public void accumulate(VarianceData data, Object value) {
+        if (value == null) {
+            return;
+        }
         double x = ((Number) value).doubleValue();
         // Incremental algorithm to calculate variance:
         // https://en.wikipedia.org/wiki/Algorithms_for_calculating_variance#Online_algorithm
@@ -69,14 +72,23 @@ public class VarianceAccumulateFunction extends AbstractAccumulateFunction<Varia
 
     @Override
     public void reverse(VarianceData data, Object value) {
+        if (value == null) {
+            return;
+        }
         double x = ((Number) value).doubleValue();
 
+        if (data.count == 1) {
+            // without resetting here mean becomes NaN, and never escapes from there
+            init(data);
+            return;
+        }
+        // the same online algorithm run backwards, so removing a value costs as much as adding it
         double higherDelta = x - data.mean;
-        //without this if statement mean becomes NaN, and never escapes from there
-        data.mean = data.count == 1 ? 0:data.mean * data.count / (data.count - 1.0) - x / (data.count -1.0);
+        data.mean -= higherDelta / (data.count - 1);
         double lowerDelta = x - data.mean;
         data.count--;
-        data.squaredSum -= lowerDelta * higherDelta;
+        // rounding errors must never make the variance negative
+        data.squaredSum = Math.max( 0.0, data.squaredSum - lowerDelta * higherDelta );
     }
 
     @Override
@@ -102,10 +102,18 @@ public abstract class AbstractFactHandleFactory
         return this.id.incrementAndGet();
     }
 
+    public int getNextIds(int count) {
+        return this.id.getAndAdd( count ) + 1;
+    }
+
     public long getNextRecency() {
         return this.counter.incrementAndGet();
     }
 
+    public long getNextRecencies(int count) {
+        return this.counter.getAndAdd( count ) + 1;
+    }
+
     public int getId() {
         return this.id.get();
     }
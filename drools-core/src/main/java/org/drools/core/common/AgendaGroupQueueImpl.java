@@ -30,6 +30,10 @@ import org.drools.core.phreak.PropagationEntry;
 import org.drools.core.spi.Activation;
 import org.drools.core.spi.PropagationContext;
 import org.drools.core.util.BinaryHeapQueue;
+import org.drools.core.util.DAryHeapQueue;
+import org.drools.core.util.Queue;
+import org.drools.core.util.SalienceBucketQueue;
+import org.drools.core.util.SalienceBucketQueue.BucketOrder;
 
 /**
  * <code>AgendaGroup</code> implementation that uses a <code>PriorityQueue</code> to prioritise the evaluation of added
@@ -47,7 +51,7 @@ public class AgendaGroupQueueImpl
     /**
      * Items in the agenda.
      */
-    protected final  BinaryHeapQueue    priorityQueue;
+    protected final  Queue              priorityQueue;
     private volatile boolean            active;
     private          PropagationContext autoFocusActivator;
     private          long               activatedForRecency;
@@ -66,16 +70,33 @@ public class AgendaGroupQueueImpl
 
     public AgendaGroupQueueImpl(final String name,
                                 final InternalKnowledgeBase kBase) {
+        this( name, kBase, PriorityQueueAgendaGroupFactory.QueueType.BINARY_HEAP );
+    }
+
+    public AgendaGroupQueueImpl(final String name,
+                                final InternalKnowledgeBase kBase,
+                                final PriorityQueueAgendaGroupFactory.QueueType queueType) {
         this.name = name;
         this.sequential = kBase.getConfiguration().isSequential();
 
-        this.priorityQueue = initPriorityQueue( kBase );
+        this.priorityQueue = initPriorityQueue( kBase, queueType );
 
         this.clearedForRecency = -1;
     }
 
-    protected BinaryHeapQueue initPriorityQueue( InternalKnowledgeBase kBase ) {
-        return new BinaryHeapQueue(new PhreakConflictResolver());
+    protected Queue initPriorityQueue( InternalKnowledgeBase kBase, PriorityQueueAgendaGroupFactory.QueueType queueType ) {
+        switch ( queueType ) {
+            case FOUR_ARY_HEAP:
+                return new DAryHeapQueue(new PhreakConflictResolver());
+            case SALIENCE_BUCKETS:
+                return new SalienceBucketQueue(new PhreakConflictResolver(), BucketOrder.COMPARATOR);
+            case SALIENCE_BUCKETS_FIFO:
+                return new SalienceBucketQueue(new PhreakConflictResolver(), BucketOrder.FIFO);
+            case SALIENCE_BUCKETS_LIFO:
+                return new SalienceBucketQueue(new PhreakConflictResolver(), BucketOrder.LIFO);
+            default:
+                return new BinaryHeapQueue(new PhreakConflictResolver());
+        }
     }
 
     @Override
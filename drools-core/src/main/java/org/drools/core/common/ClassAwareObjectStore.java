@@ -29,8 +29,6 @@ import java.util.concurrent.locks.Lock;
 
 import org.drools.core.RuleBaseConfiguration;
 import org.drools.core.factmodel.traits.CoreWrapper;
-import org.drools.core.util.HashTableIterator;
-import org.drools.core.util.JavaIteratorAdapter;
 import org.drools.core.util.ObjectHashMap;
 import org.kie.api.runtime.ClassObjectFilter;
 import org.kie.api.runtime.ObjectFilter;
@@ -127,8 +125,8 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
             }
 
             return handle.isNegated() ?
-                   (InternalFactHandle) ((ConcreteClassStore) store).getNegMap().get(handle) :
-                   (InternalFactHandle) ((ConcreteClassStore) store).getIdentityMap().get(handle);
+                   ((ConcreteClassStore) store).getNegMap().get(handle) :
+                   ((ConcreteClassStore) store).getIdentityMap().get(handle);
         }
 
         if (isEqualityBehaviour) {
@@ -136,9 +134,9 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
         }
 
         for (ConcreteClassStore stores : concreteStores) {
-            Object reconnectedHandle = stores.getAssertMap().get(handle);
+            InternalFactHandle reconnectedHandle = stores.getIdentityMap().get(handle);
             if (reconnectedHandle != null) {
-                return (InternalFactHandle) reconnectedHandle;
+                return reconnectedHandle;
             }
         }
 
@@ -153,12 +151,12 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
 
         return isEqualityBehaviour ?
                (InternalFactHandle) equalityMap.get(object) :
-               (InternalFactHandle) getOrCreateConcreteClassStore(object).getAssertMap().get(object);
+               getOrCreateConcreteClassStore(object).getIdentityMap().get(object);
     }
 
     @Override
     public InternalFactHandle getHandleForObjectIdentity(Object object) {
-        return (InternalFactHandle) getOrCreateConcreteClassStore(object).getIdentityMap().get(object);
+        return getOrCreateConcreteClassStore(object).getIdentityMap().get(object);
     }
 
     @Override
@@ -355,16 +353,15 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
         boolean addHandle(InternalFactHandle handle, Object object);
         InternalFactHandle removeHandle(InternalFactHandle handle);
 
-        ObjectHashMap getAssertMap();
-        ObjectHashMap getIdentityMap();
-        ObjectHashMap getNegMap();
+        FactHandleIdentityMap getIdentityMap();
+        FactHandleIdentityMap getNegMap();
     }
 
     private static class ConcreteIdentityClassStore extends AbstractClassStore implements ConcreteClassStore {
 
-        private ObjectHashMap identityMap;
+        private FactHandleIdentityMap identityMap;
 
-        private ObjectHashMap negMap;
+        private FactHandleIdentityMap negMap;
 
         public ConcreteIdentityClassStore() { }
 
@@ -375,10 +372,11 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
         @Override
         public boolean addHandle(InternalFactHandle handle, Object object) {
             if ( handle.isNegated() ) {
-                negMap.put(handle, handle, false);
+                negMap.add(handle);
                 return false;
             }
-            return identityMap.put(handle, handle, false) == null;
+            identityMap.add(handle);
+            return true;
         }
 
         @Override
@@ -387,21 +385,16 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
                 negMap.remove(handle);
                 return null;
             }
-            return (InternalFactHandle) identityMap.remove(handle);
+            return identityMap.remove(handle);
         }
 
         @Override
-        public ObjectHashMap getAssertMap() {
-            return identityMap;
-        }
-
-        @Override
-        public ObjectHashMap getNegMap() {
+        public FactHandleIdentityMap getNegMap() {
             return negMap;
         }
 
         @Override
-        public ObjectHashMap getIdentityMap() {
+        public FactHandleIdentityMap getIdentityMap() {
             return identityMap;
         }
 
@@ -415,8 +408,8 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
         @Override
         public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
             super.readExternal(in);
-            identityMap = (ObjectHashMap)in.readObject();
-            negMap = (ObjectHashMap)in.readObject();
+            identityMap = (FactHandleIdentityMap)in.readObject();
+            negMap = (FactHandleIdentityMap)in.readObject();
         }
 
         @Override
@@ -426,9 +419,8 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
 
         @Override
         public ConcreteClassStore makeConcrete() {
-            negMap = new ObjectHashMap();
-            identityMap = new ObjectHashMap();
-            identityMap.setComparator( new IdentityAssertMapComparator() );
+            negMap = new FactHandleIdentityMap();
+            identityMap = new FactHandleIdentityMap();
             return this;
         }
     }
@@ -458,11 +450,6 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
             return removedHandle;
         }
 
-        @Override
-        public ObjectHashMap getAssertMap() {
-            return equalityMap;
-        }
-
         @Override
         public void writeExternal(ObjectOutput out) throws IOException {
             super.writeExternal(out);
@@ -553,11 +540,11 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
 
         @Override
         protected void fetchNextIterator() {
-            HashTableIterator iterator = assrt ?
-                                         new HashTableIterator( stores.next().getIdentityMap() ) :
-                                         new HashTableIterator( stores.next().getNegMap() );
-            iterator.reset();
-            currentIterator = new JavaIteratorAdapter<Object>( iterator, JavaIteratorAdapter.OBJECT );
+            ConcreteClassStore store = stores.next();
+            Iterator<InternalFactHandle> iterator = assrt ?
+                                                    store.getIdentityMap().iterator() :
+                                                    store.getNegMap().iterator();
+            currentIterator = new ObjectIterator( iterator );
         }
 
         @Override
@@ -566,6 +553,29 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
         }
     }
 
+    private static class ObjectIterator implements Iterator<Object> {
+        private final Iterator<InternalFactHandle> handles;
+
+        private ObjectIterator(Iterator<InternalFactHandle> handles) {
+            this.handles = handles;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return handles.hasNext();
+        }
+
+        @Override
+        public Object next() {
+            return handles.next().getObject();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
     private static class CompositeFactHandleIterator extends AbstractCompositeIterator<InternalFactHandle> {
         private CompositeFactHandleIterator(Iterable<ConcreteClassStore> stores, boolean assrt) {
             super(stores, assrt);
@@ -577,11 +587,10 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
 
         @Override
         protected void fetchNextIterator() {
-            HashTableIterator iterator = assrt ?
-                                         new HashTableIterator( stores.next().getIdentityMap() ) :
-                                         new HashTableIterator( stores.next().getNegMap() );
-            iterator.reset();
-            currentIterator = new JavaIteratorAdapter<InternalFactHandle>( iterator, JavaIteratorAdapter.FACT_HANDLE );
+            ConcreteClassStore store = stores.next();
+            currentIterator = assrt ?
+                              store.getIdentityMap().iterator() :
+                              store.getNegMap().iterator();
         }
 
         @Override
@@ -20,6 +20,7 @@ import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
@@ -589,6 +590,11 @@ public class CompositeDefaultAgenda implements Externalizable, InternalAgenda {
         throw new UnsupportedOperationException( "This method has to be called on the single partitioned agendas" );
     }
 
+    @Override
+    public void registerExpiration( PropagationContext expirationContext, Collection<? extends InternalFactHandle> factHandles ) {
+        throw new UnsupportedOperationException( "This method has to be called on the single partitioned agendas" );
+    }
+
     @Override
     public KnowledgeHelper getKnowledgeHelper() {
         throw new UnsupportedOperationException( "This method has to be called on the single partitioned agendas" );
@@ -16,11 +16,16 @@
 
 package org.drools.core.common;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.drools.core.impl.InternalKnowledgeBase;
+import org.drools.core.reteoo.PathMemory;
 import org.drools.core.reteoo.SegmentMemory;
 import org.kie.internal.runtime.StatefulKnowledgeSession;
 
@@ -31,6 +36,11 @@ public class ConcurrentNodeMemories implements NodeMemories {
 
     private AtomicReferenceArray<Memory> memories;
 
+    // a bit set of the ids of the memories used since the last reset, so that resetting a session
+    // only visits them instead of all the nodes of a possibly big kbase. Bits are only set while
+    // holding the lock, the racy reads on the hot path at worst see a bit still unset and re-check it.
+    private long[] dirtyMemoryIds;
+
     private final Lock lock = new ReentrantLock();
     private final InternalKnowledgeBase kBase;
     private final String unitName;
@@ -39,6 +49,7 @@ public class ConcurrentNodeMemories implements NodeMemories {
         this.kBase = kBase;
         this.unitName = unitName;
         this.memories = new AtomicReferenceArray<Memory>( this.kBase.getMemoryCount(unitName) );
+        this.dirtyMemoryIds = new long[wordsFor( this.memories.length() )];
     }
 
     public void clearNodeMemory( MemoryFactory node ) {
@@ -49,23 +60,64 @@ public class ConcurrentNodeMemories implements NodeMemories {
     
     public void clear() {
         this.memories = new AtomicReferenceArray<Memory>( this.kBase.getMemoryCount(unitName) );
+        this.dirtyMemoryIds = new long[wordsFor( this.memories.length() )];
     }
 
+    /**
+     * Resets the memories used since the last reset. Left tuples reach the nodes after the first one
+     * of a segment, and the segments below it, through the segment memories rather than by looking up
+     * the node memories, so the whole subtree of the segment of each used memory is reset. The path
+     * memories going through those segments are reset as well, and linked again to the segments that
+     * are linked in their initial state, including the ones that haven't been used.
+     */
     public void resetAllMemories(StatefulKnowledgeSession session) {
         InternalKnowledgeBase kBase = (InternalKnowledgeBase)session.getKieBase();
+        InternalWorkingMemory wm = (InternalWorkingMemory)session;
 
-        for (int i = 0; i < memories.length(); i++) {
+        // SegmentMemory equality is based on its root node only, so they are collected by identity
+        Set<SegmentMemory> smems = Collections.newSetFromMap( new IdentityHashMap<SegmentMemory, Boolean>() );
+        long[] dirty = this.dirtyMemoryIds;
+        for (int i = nextDirtyId( dirty, 0 ); i >= 0 && i < memories.length(); i = nextDirtyId( dirty, i + 1 )) {
             Memory memory = memories.get(i);
             if (memory != null) {
                 if (memory.getSegmentMemory() != null) {
-                    SegmentMemory smem = memory.getSegmentMemory();
-                    smem.reset(kBase.getSegmentPrototype(smem));
-                    if ( smem.isSegmentLinked() ) {
-                        smem.notifyRuleLinkSegment((InternalWorkingMemory)session);
-                    }
+                    collectSegmentTree( memory.getSegmentMemory(), smems );
+                } else {
+                    memory.reset();
                 }
+            }
+        }
+
+        Set<PathMemory> pmems = Collections.newSetFromMap( new IdentityHashMap<PathMemory, Boolean>() );
+        for (SegmentMemory smem : smems) {
+            smem.reset(kBase.getSegmentPrototype(smem));
+            for (Memory memory = smem.getNodeMemories().getFirst(); memory != null; memory = memory.getNext()) {
                 memory.reset();
             }
+            pmems.addAll( smem.getPathMemories() );
+        }
+
+        // the path memories are reset only after all the segments, as linking them creates their agenda item
+        for (PathMemory pmem : pmems) {
+            pmem.reset();
+        }
+        for (PathMemory pmem : pmems) {
+            for (SegmentMemory smem : pmem.getSegmentMemories()) {
+                if (smem != null && smem.isSegmentLinked()) {
+                    smem.notifyRuleLinkSegment(wm, pmem);
+                }
+            }
+        }
+
+        Arrays.fill( dirty, 0L );
+    }
+
+    private static void collectSegmentTree( SegmentMemory smem, Set<SegmentMemory> smems ) {
+        if (!smems.add( smem )) {
+            return;
+        }
+        for (SegmentMemory child = smem.getFirst(); child != null; child = child.getNext()) {
+            collectSegmentTree( child, smems );
         }
     }
 
@@ -83,11 +135,56 @@ public class ConcurrentNodeMemories implements NodeMemories {
 
         if( memory == null ) {
             memory = createNodeMemory( node, wm );
+        } else if ( !isDirty( node.getMemoryId() ) ) {
+            markDirty( node.getMemoryId() );
         }
 
         return memory;
     }
 
+    private boolean isDirty( int memoryId ) {
+        long[] dirty = this.dirtyMemoryIds;
+        int word = memoryId >>> 6;
+        return word < dirty.length && ( dirty[word] & ( 1L << memoryId ) ) != 0;
+    }
+
+    private void markDirty( int memoryId ) {
+        try {
+            this.lock.lock();
+            setDirty( memoryId );
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    // must be invoked while holding the lock
+    private void setDirty( int memoryId ) {
+        int word = memoryId >>> 6;
+        if ( word >= this.dirtyMemoryIds.length ) {
+            this.dirtyMemoryIds = Arrays.copyOf( this.dirtyMemoryIds, wordsFor( Math.max( this.memories.length(), memoryId + 1 ) ) );
+        }
+        this.dirtyMemoryIds[word] |= 1L << memoryId;
+    }
+
+    private static int nextDirtyId( long[] dirty, int fromId ) {
+        int word = fromId >>> 6;
+        if ( word >= dirty.length ) {
+            return -1;
+        }
+        long bits = dirty[word] & ( -1L << fromId );
+        while ( bits == 0 ) {
+            if ( ++word == dirty.length ) {
+                return -1;
+            }
+            bits = dirty[word];
+        }
+        return ( word << 6 ) + Long.numberOfTrailingZeros( bits );
+    }
+
+    private static int wordsFor( int ids ) {
+        return ( ids + 63 ) >>> 6;
+    }
+
 
     /**
      * Checks if a memory does not exists for the given node and
@@ -106,6 +203,7 @@ public class ConcurrentNodeMemories implements NodeMemories {
                 if( !this.memories.compareAndSet( node.getMemoryId(), null, memory ) ) {
                     memory = this.memories.get( node.getMemoryId() );
                 }
+                setDirty( node.getMemoryId() );
 
             }
             return memory;
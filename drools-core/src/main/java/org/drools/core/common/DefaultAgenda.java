@@ -21,6 +21,8 @@ import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -28,6 +30,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+import org.drools.core.RuleBaseConfiguration;
 import org.drools.core.WorkingMemoryEntryPoint;
 import org.drools.core.concurrent.RuleEvaluator;
 import org.drools.core.concurrent.SequentialRuleEvaluator;
@@ -38,8 +41,8 @@ import org.drools.core.phreak.PropagationEntry;
 import org.drools.core.phreak.PropagationList;
 import org.drools.core.phreak.RuleAgendaItem;
 import org.drools.core.phreak.RuleExecutor;
+import org.drools.core.phreak.SegmentMemoryEvictor;
 import org.drools.core.phreak.SynchronizedBypassPropagationList;
-import org.drools.core.phreak.SynchronizedPropagationList;
 import org.drools.core.reteoo.LeftTuple;
 import org.drools.core.reteoo.ObjectTypeConf;
 import org.drools.core.reteoo.ObjectTypeNode;
@@ -128,6 +131,8 @@ public class DefaultAgenda
     private ActivationsFilter                                    activationsFilter;
 
     private volatile List<PropagationContext>                    expirationContexts = new ArrayList<PropagationContext>();
+    // the fact handles retracted under the expiration context at the same position of expirationContexts
+    private final List<Collection<? extends InternalFactHandle>> expiredFactHandles = new ArrayList<Collection<? extends InternalFactHandle>>();
 
     private RuleEvaluator ruleEvaluator;
 
@@ -135,6 +140,8 @@ public class DefaultAgenda
 
     private ExecutionStateMachine executionStateMachine;
 
+    private SegmentMemoryEvictor segmentMemoryEvictor;
+
     // ------------------------------------------------------------
     // Constructors
     // ------------------------------------------------------------
@@ -251,12 +258,17 @@ public class DefaultAgenda
 
         this.ruleEvaluator = new SequentialRuleEvaluator( this );
         this.propagationList = createPropagationList();
+
+        RuleBaseConfiguration conf = workingMemory.getKnowledgeBase().getConfiguration();
+        this.segmentMemoryEvictor = conf.isSegmentMemoryEvictionEnabled() && !conf.isMultithreadEvaluation() ?
+                                    new SegmentMemoryEvictor( workingMemory, conf.getSegmentMemoryEvictionTimeout() ) :
+                                    null;
     }
 
     private PropagationList createPropagationList() {
         return workingMemory.getSessionConfiguration().hasForceEagerActivationFilter() ?
                new SynchronizedBypassPropagationList( workingMemory ) :
-               new SynchronizedPropagationList( workingMemory );
+               workingMemory.getSessionConfiguration().getPropagationListType().createInstance( workingMemory );
     }
 
     public PropagationList getPropagationList() {
@@ -1075,6 +1087,9 @@ public class DefaultAgenda
 
                 if ( returnedFireCount == 0 && head == null && ( group == null || ( group.isEmpty() && !group.isAutoDeactivate() ) ) && !flushExpirations() ) {
                     // if true, the engine is now considered potentially at rest
+                    if ( segmentMemoryEvictor != null ) {
+                        segmentMemoryEvictor.evictIdleSegments();
+                    }
                     head = restHandler.handleRest( this, isInternalFire );
                     if (!isInternalFire && head == null) {
                         break;
@@ -1483,24 +1498,32 @@ public class DefaultAgenda
     }
 
     public void registerExpiration(PropagationContext ectx) {
+        registerExpiration( ectx, Collections.singletonList( ectx.getFactHandle() ) );
+    }
+
+    public void registerExpiration(PropagationContext ectx, Collection<? extends InternalFactHandle> factHandles) {
         // it is safe to add into the expirationContexts list without any synchronization because
         // the state machine already guarantees that only one thread at time can access it
         expirationContexts.add(ectx);
+        expiredFactHandles.add(factHandles);
     }
 
     private boolean flushExpirations() {
         if (expirationContexts.isEmpty() || propagationList.hasEntriesDeferringExpiration()) {
             return false;
         }
-        for (PropagationContext ectx : expirationContexts) {
-            doRetract( ectx );
+        for (int i = 0; i < expirationContexts.size(); i++) {
+            PropagationContext ectx = expirationContexts.get( i );
+            for (InternalFactHandle factHandle : expiredFactHandles.get( i )) {
+                doRetract( ectx, factHandle );
+            }
         }
         expirationContexts.clear();
+        expiredFactHandles.clear();
         return true;
     }
 
-    protected void doRetract( PropagationContext ectx ) {
-        InternalFactHandle factHandle = ectx.getFactHandle();
+    protected void doRetract( PropagationContext ectx, InternalFactHandle factHandle ) {
         ObjectTypeNode.retractLeftTuples( factHandle, ectx, workingMemory );
         ObjectTypeNode.retractRightTuples( factHandle, ectx, workingMemory );
         if ( factHandle.isPendingRemoveFromStore() ) {
@@ -66,19 +66,20 @@ public class DefaultFactHandle extends AbstractBaseLinkedListNode<DefaultFactHan
 
     private WorkingMemoryEntryPoint entryPoint;
 
-    private boolean                 disconnected;
+    // the boolean states and the trait type, packed in a single int
+    private int                     flags;
 
-    private TraitTypeEnum           traitType;
-
-    private boolean                 valid = true;
-
-    private boolean                 negated;
+    protected LinkedTuples          linkedTuples;
 
-    private String                  objectClassName;
+    // the states that only a few handles have, allocated when first needed
+    private RareState               rareState;
 
-    protected LinkedTuples          linkedTuples;
+    private static final int             DISCONNECTED     = 1;
+    private static final int             INVALID          = 1 << 1;
+    private static final int             NEGATED          = 1 << 2;
+    private static final int             TRAIT_TYPE_SHIFT = 3;
 
-    private InternalFactHandle      parentHandle;
+    private static final TraitTypeEnum[] TRAIT_TYPES      = TraitTypeEnum.values();
 
     // ----------------------------------------------------------------------
     // Constructors
@@ -129,7 +130,7 @@ public class DefaultFactHandle extends AbstractBaseLinkedListNode<DefaultFactHan
         this.recency = recency;
         setObject( object );
         this.identityHashCode = identityHashCode;
-        this.traitType = isTraitOrTraitable ? determineTraitType() : TraitTypeEnum.NON_TRAIT;
+        setTraitType( isTraitOrTraitable ? determineTraitType() : TraitTypeEnum.NON_TRAIT );
     }
 
     public DefaultFactHandle(int id,
@@ -144,8 +145,8 @@ public class DefaultFactHandle extends AbstractBaseLinkedListNode<DefaultFactHan
         setObject( object );
         this.identityHashCode = identityHashCode;
         this.objectHashCode = objectHashCode;
-        this.disconnected = true;
-        this.traitType = TraitTypeEnum.NON_TRAIT;
+        setDisconnected( true );
+        setTraitType( TraitTypeEnum.NON_TRAIT );
     }
 
     // ----------------------------------------------------------------------
@@ -165,15 +166,19 @@ public class DefaultFactHandle extends AbstractBaseLinkedListNode<DefaultFactHan
         this.entryPoint = ( this.entryPoint == null ) ?
                           null :
                           new DisconnectedWorkingMemoryEntryPoint( this.entryPoint.getEntryPointId() );
-        this.disconnected = true;
+        setDisconnected( true );
     }
 
     public boolean isNegated() {
-        return negated;
+        return ( flags & NEGATED ) != 0;
     }
 
     public void setNegated(boolean negated) {
-        this.negated = negated;
+        setFlag( NEGATED, negated );
+    }
+
+    private void setFlag( int flag, boolean value ) {
+        this.flags = value ? this.flags | flag : this.flags & ~flag;
     }
 
     @Override
@@ -190,11 +195,11 @@ public class DefaultFactHandle extends AbstractBaseLinkedListNode<DefaultFactHan
     }
 
     public boolean isDisconnected() {
-        return disconnected;
+        return ( flags & DISCONNECTED ) != 0;
     }
 
     protected void setDisconnected( boolean disconnected ) {
-        this.disconnected = disconnected;
+        setFlag( DISCONNECTED, disconnected );
     }
 
     public int getObjectHashCode() {
@@ -240,9 +245,9 @@ public class DefaultFactHandle extends AbstractBaseLinkedListNode<DefaultFactHan
                ":" +
                ( ( this.entryPoint != null ) ? this.entryPoint.getEntryPointId() : "null" ) +
                ":" +
-               this.traitType.name() +
+               getTraitType().name() +
                ":" +
-               this.objectClassName;
+               getObjectClassName();
     }
 
     protected String getFormatVersion() {
@@ -278,11 +283,11 @@ public class DefaultFactHandle extends AbstractBaseLinkedListNode<DefaultFactHan
     }
 
     public void invalidate() {
-        valid = false;
+        setFlag( INVALID, true );
     }
 
     public boolean isValid() {
-        return valid;
+        return ( flags & INVALID ) == 0;
     }
 
     public Object getObject() {
@@ -290,26 +295,38 @@ public class DefaultFactHandle extends AbstractBaseLinkedListNode<DefaultFactHan
     }
 
     public String getObjectClassName() {
-        return this.objectClassName;
+        if ( this.object != null ) {
+            return this.object.getClass().getName();
+        }
+        return rareState != null ? rareState.objectClassName : null;
+    }
+
+    private void setObjectClassName( String objectClassName ) {
+        if ( objectClassName != null || rareState != null ) {
+            getRareState().objectClassName = objectClassName;
+        }
     }
 
     public void setObject( final Object object ) {
-        this.object = object;
         if (object != null) {
-            this.objectClassName = object.getClass().getName();
             this.objectHashCode = object.hashCode();
         } else {
+            // the class name of a handle without object can't be derived, so it is kept aside
+            if ( this.object != null ) {
+                setObjectClassName( this.object.getClass().getName() );
+            }
             this.objectHashCode = 0;
         }
+        this.object = object;
 
         if ( isTraitOrTraitable() ) {
             TraitTypeEnum newType = determineTraitType();
-            if ( ! ( this.traitType == TraitTypeEnum.LEGACY_TRAITABLE && newType != TraitTypeEnum.LEGACY_TRAITABLE ) ) {
+            if ( ! ( getTraitType() == TraitTypeEnum.LEGACY_TRAITABLE && newType != TraitTypeEnum.LEGACY_TRAITABLE ) ) {
                 this.identityHashCode = determineIdentityHashCode( object );
             } else {
                 // we are replacing a non-traitable object with its proxy, so we need to preserve the identity hashcode
             }
-            this.traitType = newType;
+            setTraitType( newType );
         } else {
             this.identityHashCode = determineIdentityHashCode( object );
         }
@@ -338,7 +355,7 @@ public class DefaultFactHandle extends AbstractBaseLinkedListNode<DefaultFactHan
     }
 
     public boolean isTraitOrTraitable() {
-        return traitType != TraitTypeEnum.NON_TRAIT;
+        return getTraitType() != TraitTypeEnum.NON_TRAIT;
     }
 
     public WorkingMemoryEntryPoint getEntryPoint() {
@@ -399,9 +416,9 @@ public class DefaultFactHandle extends AbstractBaseLinkedListNode<DefaultFactHan
 
         clone.objectHashCode = this.objectHashCode;
         clone.identityHashCode = System.identityHashCode( clone.object );
-        clone.disconnected = this.disconnected;
-		clone.traitType = this.traitType;
-        clone.negated = this.negated;
+        clone.setDisconnected( isDisconnected() );
+        clone.setTraitType( getTraitType() );
+        clone.setNegated( isNegated() );
         return clone;
     }
 
@@ -439,9 +456,9 @@ public class DefaultFactHandle extends AbstractBaseLinkedListNode<DefaultFactHan
         handle.setEntryPoint( ( StringUtils.isEmpty( elements[5] ) || "null".equals( elements[5].trim() ) ) ?
                             null :
                             new DisconnectedWorkingMemoryEntryPoint( elements[5].trim() ) );
-        handle.disconnected = true;
-        handle.traitType = elements.length > 6 ? TraitTypeEnum.valueOf( elements[6] ) : TraitTypeEnum.NON_TRAIT;
-        handle.objectClassName = elements.length > 7 ? elements[7] : null;
+        handle.setDisconnected( true );
+        handle.setTraitType( elements.length > 6 ? TraitTypeEnum.valueOf( elements[6] ) : TraitTypeEnum.NON_TRAIT );
+        handle.setObjectClassName( elements.length > 7 ? elements[7] : null );
     }
 
     private TraitTypeEnum determineTraitType() {
@@ -453,19 +470,23 @@ public class DefaultFactHandle extends AbstractBaseLinkedListNode<DefaultFactHan
     }
 
     public boolean isTraitable() {
+        TraitTypeEnum traitType = getTraitType();
         return traitType == TraitTypeEnum.TRAITABLE || traitType == TraitTypeEnum.WRAPPED_TRAITABLE;
     }
 
     public boolean isTraiting() {
-        return traitType == TraitTypeEnum.TRAIT;
+        return getTraitType() == TraitTypeEnum.TRAIT;
     }
 
     public TraitTypeEnum getTraitType() {
-        return traitType;
+        // the ordinal is stored shifted by one, so that 0 stands for a not yet set trait type
+        int ordinal = flags >>> TRAIT_TYPE_SHIFT;
+        return ordinal == 0 ? null : TRAIT_TYPES[ordinal - 1];
     }
 
     protected void setTraitType( TraitTypeEnum traitType ) {
-        this.traitType = traitType;
+        int ordinal = traitType == null ? 0 : traitType.ordinal() + 1;
+        this.flags = ( this.flags & ( ( 1 << TRAIT_TYPE_SHIFT ) - 1 ) ) | ( ordinal << TRAIT_TYPE_SHIFT );
     }
 
     public boolean isExpired() {
@@ -945,14 +966,35 @@ public class DefaultFactHandle extends AbstractBaseLinkedListNode<DefaultFactHan
 
     @Override
     public InternalDataSource<?> getDataSource() {
+        InternalFactHandle parentHandle = getParentHandle();
         return parentHandle != null ? parentHandle.getDataSource() : null;
     }
 
     public InternalFactHandle getParentHandle() {
-        return parentHandle;
+        return rareState != null ? rareState.parentHandle : null;
     }
 
     public void setParentHandle( InternalFactHandle parentHandle ) {
-        this.parentHandle = parentHandle;
+        if ( parentHandle != null || rareState != null ) {
+            getRareState().parentHandle = parentHandle;
+        }
+    }
+
+    private RareState getRareState() {
+        if ( rareState == null ) {
+            rareState = new RareState();
+        }
+        return rareState;
+    }
+
+    /**
+     * The states that most of the handles never have: keeping them out of the handle
+     * saves their slots on each of the (possibly millions of) handles of a session.
+     */
+    private static class RareState {
+        // the parent of a handle created from a data source
+        private InternalFactHandle parentHandle;
+        // the class name of a handle without object, as a disconnected one created from its external form
+        private String             objectClassName;
     }
 }
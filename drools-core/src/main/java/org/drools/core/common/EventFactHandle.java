@@ -40,7 +40,8 @@ public class EventFactHandle extends DefaultFactHandle implements Comparable<Eve
 
     private AtomicInteger     notExpiredPartitions;
 
-    private final transient LinkedList<JobHandle> jobs = new LinkedList<JobHandle>();
+    // most of the events never have a scheduled job, so the list is created with the first one
+    private transient LinkedList<JobHandle> jobs;
 
     // ----------------------------------------------------------------------
     // Constructors
@@ -308,30 +309,38 @@ public class EventFactHandle extends DefaultFactHandle implements Comparable<Eve
     }
 
     public void addJob(JobHandle job) {
-        synchronized (jobs) {
+        synchronized (this) {
+            if (jobs == null) {
+                jobs = new LinkedList<JobHandle>();
+            }
             jobs.add(job);
         }
     }
 
     public void removeJob(JobHandle job) {
-        synchronized (jobs) {
+        synchronized (this) {
             // the job could have been already removed if the event has been just retracted
             // and then the unscheduleAllJobs method has been invoked concurrently
-            if (jobs.contains(job)) {
+            if (jobs != null && jobs.contains(job)) {
                 jobs.remove(job);
             }
         }
     }
 
     public void unscheduleAllJobs(InternalWorkingMemory workingMemory) {
-        if (!jobs.isEmpty()) {
-            synchronized (jobs) {
-                TimerService clock = workingMemory.getTimerService();
-                while ( !jobs.isEmpty() ) {
-                    JobHandle job = jobs.removeFirst();
-                    clock.removeJob(job);
-                }
+        LinkedList<JobHandle> scheduledJobs;
+        synchronized (this) {
+            if (jobs == null || jobs.isEmpty()) {
+                return;
             }
+            // detach the jobs under the lock, so a concurrent addJob or removeJob never sees them half removed
+            scheduledJobs = jobs;
+            jobs = null;
+        }
+        TimerService clock = workingMemory.getTimerService();
+        while ( !scheduledJobs.isEmpty() ) {
+            JobHandle job = scheduledJobs.removeFirst();
+            clock.removeJob(job);
         }
     }
 }
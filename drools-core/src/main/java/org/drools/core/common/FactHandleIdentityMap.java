@@ -0,0 +1,230 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.common;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.drools.core.factmodel.traits.CoreWrapper;
+import org.drools.core.factmodel.traits.TraitTypeEnum;
+import org.drools.core.util.AbstractHashTable;
+
+/**
+ * An identity set of fact handles, stored in an open addressing table.
+ * <p>
+ * The slots are two parallel arrays: the handles and the identity hash codes of their
+ * objects, so there is no entry object per fact and probing only reads ints until a
+ * candidate is found. A handle can be looked up either by its object, comparing the
+ * object identity as {@link IdentityAssertMapComparator} does, or by another handle
+ * with the same id, which is what reconnecting a disconnected handle needs.
+ * <p>
+ * Removed slots are marked, rather than shifting the rest of the probe sequence back,
+ * so that removing the handle returned by an iterator never moves the ones it has
+ * still to visit. The marked slots are dropped when the table is rebuilt.
+ */
+public class FactHandleIdentityMap
+        implements
+        Externalizable,
+        Iterable<InternalFactHandle> {
+
+    private static final int                DEFAULT_CAPACITY = 16;
+
+    private static final InternalFactHandle REMOVED          = new DefaultFactHandle();
+
+    private InternalFactHandle[] handles;
+    private int[]                hashes;
+    private int                  size;
+    private int                  removed;
+
+    public FactHandleIdentityMap() {
+        this( DEFAULT_CAPACITY );
+    }
+
+    public FactHandleIdentityMap(int capacity) {
+        int tableSize = DEFAULT_CAPACITY;
+        while ( tableSize * 3 / 4 < capacity ) {
+            tableSize <<= 1;
+        }
+        this.handles = new InternalFactHandle[tableSize];
+        this.hashes = new int[tableSize];
+    }
+
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeInt( size );
+        for ( InternalFactHandle handle : handles ) {
+            if ( handle != null && handle != REMOVED ) {
+                out.writeObject( handle );
+            }
+        }
+    }
+
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        int count = in.readInt();
+        FactHandleIdentityMap map = new FactHandleIdentityMap( count );
+        this.handles = map.handles;
+        this.hashes = map.hashes;
+        this.size = 0;
+        this.removed = 0;
+        for ( int i = 0; i < count; i++ ) {
+            add( (InternalFactHandle) in.readObject() );
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        this.handles = new InternalFactHandle[DEFAULT_CAPACITY];
+        this.hashes = new int[DEFAULT_CAPACITY];
+        this.size = 0;
+        this.removed = 0;
+    }
+
+    /**
+     * Adds the handle without checking if it is already present, as facts are only
+     * added once by the object store.
+     */
+    public void add(InternalFactHandle handle) {
+        if ( ( size + removed + 1 ) * 4 > handles.length * 3 ) {
+            rebuild();
+        }
+        int hash = AbstractHashTable.rehash( handle.getIdentityHashCode() );
+        int mask = handles.length - 1;
+        int i = hash & mask;
+        while ( handles[i] != null && handles[i] != REMOVED ) {
+            i = ( i + 1 ) & mask;
+        }
+        if ( handles[i] == REMOVED ) {
+            removed--;
+        }
+        handles[i] = handle;
+        hashes[i] = hash;
+        size++;
+    }
+
+    /**
+     * Returns the handle with the same id of the given handle, or the handle of the
+     * given object.
+     */
+    public InternalFactHandle get(Object key) {
+        int i = indexOf( key );
+        return i < 0 ? null : handles[i];
+    }
+
+    /**
+     * Removes and returns the handle with the same id of the given one.
+     */
+    public InternalFactHandle remove(InternalFactHandle handle) {
+        int i = indexOf( handle );
+        if ( i < 0 ) {
+            return null;
+        }
+        InternalFactHandle result = handles[i];
+        handles[i] = REMOVED;
+        size--;
+        removed++;
+        return result;
+    }
+
+    private int indexOf(Object key) {
+        boolean byHandle = key instanceof InternalFactHandle;
+        int hash = AbstractHashTable.rehash( byHandle ?
+                                             ( (InternalFactHandle) key ).getIdentityHashCode() :
+                                             System.identityHashCode( key ) );
+        int mask = handles.length - 1;
+        int i = hash & mask;
+        InternalFactHandle current;
+        while ( ( current = handles[i] ) != null ) {
+            if ( current != REMOVED && hashes[i] == hash &&
+                 ( byHandle ? current.getId() == ( (InternalFactHandle) key ).getId() : isHandleOf( current, key ) ) ) {
+                return i;
+            }
+            i = ( i + 1 ) & mask;
+        }
+        return -1;
+    }
+
+    private static boolean isHandleOf(InternalFactHandle handle, Object object) {
+        if ( handle.getObject() == object ) {
+            return true;
+        }
+        return handle.getTraitType() == TraitTypeEnum.WRAPPED_TRAITABLE && ( (CoreWrapper) handle.getObject() ).getCore() == object;
+    }
+
+    private void rebuild() {
+        InternalFactHandle[] oldHandles = handles;
+        int capacity = oldHandles.length;
+        if ( ( size + 1 ) * 2 > capacity ) {
+            // grow when at least half of the slots are in use, otherwise just drop the removed ones
+            capacity <<= 1;
+        }
+        this.handles = new InternalFactHandle[capacity];
+        this.hashes = new int[capacity];
+        this.size = 0;
+        this.removed = 0;
+        for ( InternalFactHandle handle : oldHandles ) {
+            if ( handle != null && handle != REMOVED ) {
+                add( handle );
+            }
+        }
+    }
+
+    /**
+     * This iterator is not thread safe. Removing the last returned handle while iterating is
+     * safe, while adding handles may rebuild the table and give unexpected results.
+     */
+    public Iterator<InternalFactHandle> iterator() {
+        return new FactHandleIterator( handles );
+    }
+
+    private static class FactHandleIterator implements Iterator<InternalFactHandle> {
+        private final InternalFactHandle[] handles;
+        private int                        pos;
+
+        private FactHandleIterator(InternalFactHandle[] handles) {
+            this.handles = handles;
+        }
+
+        public boolean hasNext() {
+            // the next slot is looked up only now, as it could have been removed in the meanwhile
+            while ( pos < handles.length && ( handles[pos] == null || handles[pos] == REMOVED ) ) {
+                pos++;
+            }
+            return pos < handles.length;
+        }
+
+        public InternalFactHandle next() {
+            if ( !hasNext() ) {
+                throw new NoSuchElementException( "No more elements to return" );
+            }
+            return handles[pos++];
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException( "remove() is not support" );
+        }
+    }
+}
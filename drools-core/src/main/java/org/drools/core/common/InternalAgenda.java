@@ -16,6 +16,7 @@
 
 package org.drools.core.common;
 
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.Map;
@@ -284,6 +285,11 @@ public interface InternalAgenda
 
     void registerExpiration(PropagationContext expirationContext);
 
+    /**
+     * Registers a single expiration context under which the tuples of all the given fact handles will be retracted.
+     */
+    void registerExpiration(PropagationContext expirationContext, Collection<? extends InternalFactHandle> factHandles);
+
     void addPropagation(PropagationEntry propagationEntry );
     void flushPropagations();
     void notifyWaitOnRest();
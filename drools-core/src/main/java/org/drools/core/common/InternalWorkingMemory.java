@@ -27,6 +27,7 @@ import org.drools.core.WorkingMemoryEntryPoint;
 import org.drools.core.event.AgendaEventSupport;
 import org.drools.core.event.RuleRuntimeEventSupport;
 import org.drools.core.impl.InternalRuleUnitExecutor;
+import org.drools.core.impl.StatefulKnowledgeSessionImpl.WorkingMemoryReteExpireAction;
 import org.drools.core.phreak.PropagationEntry;
 import org.drools.core.phreak.PropagationList;
 import org.drools.core.reteoo.EntryPointNode;
@@ -64,6 +65,14 @@ public interface InternalWorkingMemory
 
     void queueWorkingMemoryAction(final WorkingMemoryAction action);
 
+    /**
+     * Queues the expiration of an event. Implementations can coalesce the expirations happening at the same time
+     * in a single propagation.
+     */
+    default void queueExpiration(final WorkingMemoryReteExpireAction action) {
+        queueWorkingMemoryAction( action );
+    }
+
     FactHandleFactory getFactHandleFactory();
     
     EntryPointId getEntryPoint();
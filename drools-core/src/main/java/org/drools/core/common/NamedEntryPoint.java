@@ -20,9 +20,11 @@ import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -31,8 +33,10 @@ import org.drools.core.WorkingMemoryEntryPoint;
 import org.drools.core.base.TraitHelper;
 import org.drools.core.beliefsystem.BeliefSet;
 import org.drools.core.definitions.rule.impl.RuleImpl;
+import org.drools.core.event.RuleRuntimeEventSupport;
 import org.drools.core.factmodel.traits.TraitProxy;
 import org.drools.core.factmodel.traits.TraitableBean;
+import org.drools.core.facttemplates.Fact;
 import org.drools.core.impl.InternalKnowledgeBase;
 import org.drools.core.impl.StatefulKnowledgeSessionImpl;
 import org.drools.core.impl.StatefulKnowledgeSessionImpl.ObjectStoreWrapper;
@@ -263,6 +267,138 @@ public class NamedEntryPoint
 
     }
 
+    /**
+     * Inserts a collection of facts at once. The ObjectTypeConf is resolved once for each class,
+     * the fact handles are allocated in a single block and all the insertions are propagated
+     * through the network with a single PropagationEntry. Facts whose type requires truth maintenance
+     * or property change support are inserted one by one as in insert(Object).
+     *
+     * @return the fact handles of the inserted objects, in the same order of the given collection
+     */
+    public List<FactHandle> insertAll(final Collection<?> objects) {
+        List<FactHandle> handles = new ArrayList<FactHandle>( objects.size() );
+        if ( objects.isEmpty() ) {
+            return handles;
+        }
+
+        if ( this.wm.isSequential() ) {
+            for ( Object object : objects ) {
+                handles.add( insert( object ) );
+            }
+            return handles;
+        }
+
+        try {
+            this.wm.startOperation();
+            this.kBase.executeQueuedActions();
+
+            InsertBatch batch = new InsertBatch( objects.size() );
+
+            try {
+                this.lock.lock();
+
+                Class<?> lastClass = null;
+                ObjectTypeConf typeConf = null;
+                for ( Object object : objects ) {
+                    if ( object == null ) {
+                        // you cannot assert a null object
+                        handles.add( null );
+                        continue;
+                    }
+
+                    if ( object.getClass() != lastClass || object instanceof Fact ) {
+                        lastClass = object.getClass();
+                        typeConf = getObjectTypeConfigurationRegistry().getObjectTypeConf( this.entryPoint, object );
+                    }
+
+                    if ( typeConf.isTMSEnabled() || typeConf.isDynamic() ) {
+                        // propagate what has been batched so far to preserve the insertion order
+                        batch.flush();
+                        handles.add( insert( object ) );
+                        continue;
+                    }
+
+                    // check if the object already exists in the WM
+                    InternalFactHandle handle = this.objectStore.getHandleForObject( object );
+                    if ( handle == null ) {
+                        handle = batch.add( object, typeConf );
+                    }
+                    handles.add( handle );
+                }
+
+                batch.flush();
+            } finally {
+                this.lock.unlock();
+            }
+        } finally {
+            this.wm.endOperation();
+        }
+
+        return handles;
+    }
+
+    private class InsertBatch {
+        private final int capacity;
+
+        private InternalFactHandle[] handles;
+        private PropagationContext[] contexts;
+        private ObjectTypeConf[] typeConfs;
+        private int size;
+
+        private int nextId;
+        private long nextRecency;
+        private int reserved;
+
+        private InsertBatch(int capacity) {
+            this.capacity = capacity;
+            init();
+        }
+
+        private void init() {
+            int length = capacity - reserved;
+            this.handles = new InternalFactHandle[length];
+            this.contexts = new PropagationContext[length];
+            this.typeConfs = new ObjectTypeConf[length];
+            this.size = 0;
+        }
+
+        private InternalFactHandle add(Object object, ObjectTypeConf typeConf) {
+            if ( reserved == 0 ) {
+                // allocates the ids and recencies for the whole batch in one shot
+                nextId = handleFactory.getNextIds( capacity );
+                nextRecency = handleFactory.getNextRecencies( capacity );
+            }
+            reserved++;
+
+            InternalFactHandle handle = handleFactory.newFactHandle( nextId++, object, nextRecency++, typeConf, wm, NamedEntryPoint.this );
+            PropagationContext pctx = pctxFactory.createPropagationContext( wm.getNextPropagationIdCounter(),
+                                                                            PropagationContext.Type.INSERTION,
+                                                                            null, null, handle, entryPoint );
+            objectStore.addHandle( handle, object );
+
+            handles[size] = handle;
+            contexts[size] = pctx;
+            typeConfs[size] = typeConf;
+            size++;
+            return handle;
+        }
+
+        private void flush() {
+            if ( size == 0 ) {
+                return;
+            }
+            entryPointNode.assertObjects( handles, contexts, typeConfs, size, wm );
+
+            RuleRuntimeEventSupport eventSupport = wm.getRuleRuntimeEventSupport();
+            if ( !eventSupport.isEmpty() ) {
+                for (int i = 0; i < size; i++) {
+                    eventSupport.fireObjectInserted( contexts[i], handles[i], handles[i].getObject(), wm );
+                }
+            }
+            init();
+        }
+    }
+
     public void insert(InternalFactHandle handle,
                        Object object,
                        RuleImpl rule,
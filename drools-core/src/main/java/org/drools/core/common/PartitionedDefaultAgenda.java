@@ -33,8 +33,7 @@ public class PartitionedDefaultAgenda extends DefaultAgenda {
     }
 
     @Override
-    protected void doRetract( PropagationContext ectx ) {
-        InternalFactHandle factHandle = ectx.getFactHandle();
+    protected void doRetract( PropagationContext ectx, InternalFactHandle factHandle ) {
         ObjectTypeNode.retractLeftTuples( factHandle, ectx, workingMemory, partition );
         ObjectTypeNode.retractRightTuples( factHandle, ectx, workingMemory, partition );
         if ( isMasterPartition() && factHandle.isPendingRemoveFromStore() ) {
@@ -24,19 +24,51 @@ import java.io.ObjectInput;
 import java.io.ObjectOutput;
 
 
+/**
+ * Creates agenda groups backed by a priority queue of the given {@link QueueType}.
+ * The shared instance uses a binary heap.
+ */
 public class PriorityQueueAgendaGroupFactory implements AgendaGroupFactory, Externalizable {
 
+    /**
+     * The queue structures an agenda group can use. All of them fire the activations by
+     * salience first. The heaps and SALIENCE_BUCKETS then fire by rule load order, as the
+     * default conflict resolution does; SALIENCE_BUCKETS_FIFO and SALIENCE_BUCKETS_LIFO
+     * fire the activations with the same salience in the order they have been queued.
+     */
+    public enum QueueType {
+        BINARY_HEAP, FOUR_ARY_HEAP, SALIENCE_BUCKETS, SALIENCE_BUCKETS_FIFO, SALIENCE_BUCKETS_LIFO
+    }
+
     private static final AgendaGroupFactory INSTANCE = new PriorityQueueAgendaGroupFactory();
 
     public static AgendaGroupFactory getInstance() {
         return INSTANCE;
     }
 
-    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException { }
+    private QueueType queueType;
+
+    public PriorityQueueAgendaGroupFactory() {
+        this( QueueType.BINARY_HEAP );
+    }
+
+    public PriorityQueueAgendaGroupFactory(QueueType queueType) {
+        this.queueType = queueType;
+    }
+
+    public QueueType getQueueType() {
+        return queueType;
+    }
 
-    public void writeExternal(ObjectOutput out) throws IOException { }
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        queueType = (QueueType) in.readObject();
+    }
+
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeObject( queueType );
+    }
 
     public InternalAgendaGroup createAgendaGroup(String name, InternalKnowledgeBase kBase) {
-        return new AgendaGroupQueueImpl( name, kBase );
+        return new AgendaGroupQueueImpl( name, kBase, queueType );
     }
 }
@@ -36,8 +36,11 @@ public final class RuleBasePartitionId implements Serializable {
 
     private final int id;
 
+    private volatile int parallelEvaluationSlot;
+
     private RuleBasePartitionId( int id ) {
         this.id = id;
+        this.parallelEvaluationSlot = id % PARALLEL_PARTITIONS_NUMBER;
     }
 
     public int getId() {
@@ -45,7 +48,18 @@ public final class RuleBasePartitionId implements Serializable {
     }
 
     public int getParallelEvaluationSlot() {
-        return id % PARALLEL_PARTITIONS_NUMBER;
+        return parallelEvaluationSlot;
+    }
+
+    /**
+     * Moves this partition to a different parallel evaluation slot. This can be done only
+     * while there isn't any session using the rule base this partition belongs to.
+     */
+    public void setParallelEvaluationSlot( int parallelEvaluationSlot ) {
+        if ( parallelEvaluationSlot < 0 || parallelEvaluationSlot >= PARALLEL_PARTITIONS_NUMBER ) {
+            throw new IllegalArgumentException( "Invalid parallel evaluation slot " + parallelEvaluationSlot + " for " + this );
+        }
+        this.parallelEvaluationSlot = parallelEvaluationSlot;
     }
 
     @Override
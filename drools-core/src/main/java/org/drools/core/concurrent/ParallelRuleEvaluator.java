@@ -16,11 +16,13 @@
 
 package org.drools.core.concurrent;
 
-import java.util.concurrent.BlockingQueue;
+import java.util.ArrayDeque;
 import java.util.concurrent.Callable;
-import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 import org.drools.core.common.DefaultAgenda;
 import org.drools.core.common.InternalAgendaGroup;
@@ -31,28 +33,51 @@ import org.drools.core.spi.KnowledgeHelper;
 import org.kie.api.runtime.rule.AgendaFilter;
 import org.kie.internal.concurrent.ExecutorProviderFactory;
 
+/**
+ * Evaluates the RuleAgendaItems of an agenda group in parallel. The items are grouped by the
+ * parallel evaluation slot of their partition, but slots are not statically bound to a worker:
+ * each worker claims the unowned slot with the highest number of pending items, drains it in order
+ * and then moves to the next one. In this way the items of the same slot are still evaluated
+ * sequentially, while an idle worker can always pick up the work left behind by a busy one.
+ * The workers run on the executor of the configured ExecutorProvider, so a worker that the executor
+ * doesn't start in time simply finds its slots already drained by the others.
+ */
 public class ParallelRuleEvaluator extends AbstractRuleEvaluator implements RuleEvaluator {
 
-    private static final RuleAgendaItem POISON_PILL = new RuleAgendaItem();
-
     private final int evaluatorsNr = RuleBasePartitionId.PARALLEL_PARTITIONS_NUMBER;
 
-    private RuleEvaluatorCallable[] evaluators = new RuleEvaluatorCallable[evaluatorsNr];
-    private Future<Integer>[] results = new Future[evaluatorsNr];
+    private final ArrayDeque<RuleAgendaItem>[] pendingItems = new ArrayDeque[evaluatorsNr];
+    private final AtomicIntegerArray pendingCounts = new AtomicIntegerArray(evaluatorsNr);
+    private final AtomicIntegerArray slotOwners = new AtomicIntegerArray(evaluatorsNr);
+
+    private final RuleEvaluatorCallable[] evaluators = new RuleEvaluatorCallable[evaluatorsNr];
+    private final Future<Integer>[] results = new Future[evaluatorsNr];
+
+    private final AtomicInteger localFireCount = new AtomicInteger();
+
+    private final PartitionEvaluationStats stats = new PartitionEvaluationStats(evaluatorsNr);
+
+    private final ExecutorService executor;
 
     private AgendaFilter filter;
     private int fireCount;
     private int fireLimit;
 
     public ParallelRuleEvaluator( DefaultAgenda agenda ) {
+        this( agenda, DefaultExecutor.service );
+    }
+
+    ParallelRuleEvaluator( DefaultAgenda agenda, ExecutorService executor ) {
         super(agenda);
+        this.executor = executor;
         for (int i = 0; i < evaluatorsNr; i++) {
+            pendingItems[i] = new ArrayDeque<RuleAgendaItem>();
             evaluators[i] = new RuleEvaluatorCallable();
         }
     }
 
-    private static class Completion {
-        private static final CompletionService<Integer> service = ExecutorProviderFactory.getExecutorProvider().getCompletionService();
+    private static class DefaultExecutor {
+        private static final ExecutorService service = ExecutorProviderFactory.getExecutorProvider().getExecutor();
     }
 
     @Override
@@ -63,34 +88,133 @@ public class ParallelRuleEvaluator extends AbstractRuleEvaluator implements Rule
         this.filter = filter;
         this.fireCount = fireCount;
         this.fireLimit = fireLimit;
+        this.localFireCount.set( 0 );
 
+        int busySlots = 0;
         Activation[] activations = group.getActivations();
         for ( Activation activation : activations ) {
             RuleAgendaItem item = (RuleAgendaItem) activation;
             int index = item.getPartition().getParallelEvaluationSlot();
-            RuleEvaluatorCallable evaluator = evaluators[index];
-            evaluator.enqueue( item );
-            if ( !evaluator.running ) {
-                evaluator.running = true;
-                results[index] = Completion.service.submit( evaluator );
+            pendingItems[index].add( item );
+            if ( pendingCounts.getAndIncrement( index ) == 0 ) {
+                busySlots++;
             }
         }
 
-        int localFireCount = 0;
-        for (int i = 0; i < evaluatorsNr; i++) {
-            if (results[i] != null) {
+        if ( busySlots == 0 ) {
+            return 0;
+        }
+
+        long start = System.nanoTime();
+
+        boolean evaluated = false;
+        try {
+            // the current thread takes part to the evaluation, so it is necessary to fork only busySlots - 1 workers
+            for (int i = 1; i < busySlots; i++) {
+                results[i] = executor.submit( evaluators[i] );
+            }
+            evaluators[0].call();
+            evaluated = true;
+        } finally {
+            // the forked workers could still be evaluating, so they have to be joined also when the current thread failed
+            awaitWorkers( busySlots, evaluated );
+        }
+
+        stats.cycleCompleted( System.nanoTime() - start );
+
+        if ( isFireLimitReached() ) {
+            // discard the items not evaluated yet, they are still in the agenda group
+            clearPendingItems();
+        }
+
+        return localFireCount.get();
+    }
+
+    private void awaitWorkers( int busySlots, boolean evaluated ) {
+        Throwable failure = null;
+        boolean interrupted = false;
+        for (int i = 1; i < busySlots; i++) {
+            while ( results[i] != null ) {
                 try {
-                    evaluators[i].enqueue( POISON_PILL );
-                    localFireCount += results[i].get();
-                } catch (Exception e) {
-                    throw new RuntimeException( e );
-                } finally {
+                    results[i].get();
                     results[i] = null;
+                } catch (ExecutionException e) {
+                    if ( failure == null ) {
+                        failure = e.getCause();
+                    }
+                    results[i] = null;
+                } catch (InterruptedException e) {
+                    // a worker still running could be evaluating the items of this agenda, so keep waiting for it
+                    interrupted = true;
                 }
             }
         }
+        if ( interrupted ) {
+            Thread.currentThread().interrupt();
+        }
+        if ( !evaluated ) {
+            // the failure of the current thread is the one being rethrown, so the items left can't be evaluated anymore
+            clearPendingItems();
+        } else if ( failure != null ) {
+            clearPendingItems();
+            throw new RuntimeException( failure );
+        }
+    }
 
-        return localFireCount;
+    private void clearPendingItems() {
+        for (int i = 0; i < evaluatorsNr; i++) {
+            pendingItems[i].clear();
+            pendingCounts.set( i, 0 );
+        }
+    }
+
+    private boolean isFireLimitReached() {
+        return fireLimit >= 0 && fireCount + localFireCount.get() >= fireLimit;
+    }
+
+    private int claimSlot() {
+        while (true) {
+            int candidate = -1;
+            int candidatePending = 0;
+            for (int i = 0; i < evaluatorsNr; i++) {
+                int pending = pendingCounts.get( i );
+                if ( pending > candidatePending && slotOwners.get( i ) == 0 ) {
+                    candidate = i;
+                    candidatePending = pending;
+                }
+            }
+            if ( candidate < 0 ) {
+                return -1;
+            }
+            if ( slotOwners.compareAndSet( candidate, 0, 1 ) ) {
+                if ( pendingCounts.get( candidate ) > 0 ) {
+                    return candidate;
+                }
+                // drained by another worker in the meanwhile
+                slotOwners.set( candidate, 0 );
+            }
+        }
+    }
+
+    private int drainSlot( int slot ) {
+        long start = System.nanoTime();
+        int evaluated = 0;
+        int fired = 0;
+        ArrayDeque<RuleAgendaItem> items = pendingItems[slot];
+        while ( !isFireLimitReached() && !items.isEmpty() ) {
+            RuleAgendaItem item = items.poll();
+            pendingCounts.decrementAndGet( slot );
+            int count = internalEvaluateAndFire( filter, fireCount + localFireCount.get(), fireLimit, item );
+            localFireCount.addAndGet( count );
+            fired += count;
+            evaluated++;
+        }
+        stats.slotEvaluated( slot, evaluated, fired, System.nanoTime() - start );
+        return fired;
+    }
+
+    public PartitionEvaluationStats getStats() {
+        return stats;
     }
 
     @Override
@@ -99,34 +223,22 @@ public class ParallelRuleEvaluator extends AbstractRuleEvaluator implements Rule
     }
 
     public class RuleEvaluatorCallable implements Callable<Integer> {
-        private final BlockingQueue<RuleAgendaItem> queue = new LinkedBlockingQueue<>();
-
-        private final KnowledgeHelper knowledgeHelper = newKnowledgeHelper();
-
-        private boolean running = false;
 
         @Override
         public Integer call() {
             int count = 0;
-            while (true) {
+            while ( !isFireLimitReached() ) {
+                int slot = claimSlot();
+                if ( slot < 0 ) {
+                    break;
+                }
                 try {
-                    RuleAgendaItem item = queue.take();
-                    if (item == POISON_PILL) {
-                        break;
-                    }
-                    count += internalEvaluateAndFire( filter, fireCount, fireLimit, item );
-                } catch (InterruptedException e) {
-                    throw new RuntimeException( e );
+                    count += drainSlot( slot );
+                } finally {
+                    slotOwners.set( slot, 0 );
                 }
             }
-            running = false;
             return count;
         }
-
-        private void enqueue(RuleAgendaItem item) {
-            if (!queue.offer( item )) {
-                throw new IllegalStateException("Cannot insert item into the queue! There is no space left in the queue.");
-            }
-        }
     }
 }
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.concurrent;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Collects, for each parallel evaluation slot, the number of evaluated rule agenda items,
+ * the number of fired rules and the time spent evaluating them, so it is possible to
+ * find out how much the load is unbalanced among the partitions.
+ */
+public class PartitionEvaluationStats {
+
+    private final int slotsNr;
+
+    private final AtomicLongArray evaluatedItems;
+    private final AtomicLongArray firedRules;
+    private final AtomicLongArray busyTime;
+
+    private final AtomicLong cycles = new AtomicLong();
+    private final AtomicLong elapsedTime = new AtomicLong();
+
+    public PartitionEvaluationStats( int slotsNr ) {
+        this.slotsNr = slotsNr;
+        this.evaluatedItems = new AtomicLongArray( slotsNr );
+        this.firedRules = new AtomicLongArray( slotsNr );
+        this.busyTime = new AtomicLongArray( slotsNr );
+    }
+
+    void slotEvaluated( int slot, int evaluated, int fired, long nanos ) {
+        evaluatedItems.addAndGet( slot, evaluated );
+        firedRules.addAndGet( slot, fired );
+        busyTime.addAndGet( slot, nanos );
+    }
+
+    void cycleCompleted( long nanos ) {
+        cycles.incrementAndGet();
+        elapsedTime.addAndGet( nanos );
+    }
+
+    public int getSlotsNumber() {
+        return slotsNr;
+    }
+
+    public long getEvaluatedItems( int slot ) {
+        return evaluatedItems.get( slot );
+    }
+
+    public long getFiredRules( int slot ) {
+        return firedRules.get( slot );
+    }
+
+    public long getBusyTimeNanos( int slot ) {
+        return busyTime.get( slot );
+    }
+
+    public long getCycles() {
+        return cycles.get();
+    }
+
+    public long getElapsedTimeNanos() {
+        return elapsedTime.get();
+    }
+
+    /**
+     * Returns the fraction of the overall evaluation time that has been spent evaluating
+     * the given slot: a value close to 1 for a single slot means that all the other ones
+     * had to wait for it to complete.
+     */
+    public double getUtilization( int slot ) {
+        long elapsed = elapsedTime.get();
+        return elapsed == 0 ? 0.0 : (double) busyTime.get( slot ) / elapsed;
+    }
+
+    public void reset() {
+        for (int i = 0; i < slotsNr; i++) {
+            evaluatedItems.set( i, 0 );
+            firedRules.set( i, 0 );
+            busyTime.set( i, 0 );
+        }
+        cycles.set( 0 );
+        elapsedTime.set( 0 );
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder( "PartitionEvaluationStats[cycles=" ).append( getCycles() );
+        for (int i = 0; i < slotsNr; i++) {
+            sb.append( ", slot" ).append( i )
+              .append( "={items=" ).append( getEvaluatedItems( i ) )
+              .append( ", fired=" ).append( getFiredRules( i ) )
+              .append( ", utilization=" ).append( String.format( "%.2f", getUtilization( i ) ) )
+              .append( "}" );
+        }
+        return sb.append( "]" ).toString();
+    }
+}
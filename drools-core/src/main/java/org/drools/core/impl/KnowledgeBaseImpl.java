@@ -32,6 +32,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
@@ -63,6 +64,7 @@ import org.drools.core.management.DroolsManagementAgent;
 import org.drools.core.reteoo.AsyncReceiveNode;
 import org.drools.core.reteoo.BetaNode;
 import org.drools.core.reteoo.CompositePartitionAwareObjectSinkAdapter;
+import org.drools.core.reteoo.CostBasedPartitioner;
 import org.drools.core.reteoo.EntryPointNode;
 import org.drools.core.reteoo.KieComponentFactory;
 import org.drools.core.reteoo.LeftTupleNode;
@@ -70,6 +72,7 @@ import org.drools.core.reteoo.LeftTupleSource;
 import org.drools.core.reteoo.ObjectSinkPropagator;
 import org.drools.core.reteoo.ObjectSource;
 import org.drools.core.reteoo.ObjectTypeNode;
+import org.drools.core.reteoo.PartitionProfile;
 import org.drools.core.reteoo.Rete;
 import org.drools.core.reteoo.ReteooBuilder;
 import org.drools.core.reteoo.RightInputAdapterNode;
@@ -156,6 +159,10 @@ public class KnowledgeBaseImpl
 
     private transient final Set<StatefulKnowledgeSessionImpl> statefulSessions = ConcurrentHashMap.newKeySet();
 
+    // all the sessions not disposed yet, also the ones created without keeping a reference to them,
+    // so they are only weakly referenced: a session collected without being disposed isn't using this kbase anymore
+    private transient final Set<StatefulKnowledgeSessionImpl> liveSessions = Collections.newSetFromMap( Collections.synchronizedMap( new WeakHashMap<>() ) );
+
     // lock for entire rulebase, used for dynamic updates
     private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
 
@@ -370,6 +377,7 @@ public class KnowledgeBaseImpl
     }
 
     private StatefulKnowledgeSessionImpl internalInitSession( SessionConfiguration sessionConfig, StatefulKnowledgeSessionImpl session ) {
+        liveSessions.add(session);
         if ( sessionConfig.isKeepReference() ) {
             addStatefulSession(session);
         }
@@ -623,6 +631,7 @@ public class KnowledgeBaseImpl
 
     public void disposeStatefulSession(StatefulKnowledgeSessionImpl statefulSession) {
         this.statefulSessions.remove(statefulSession);
+        this.liveSessions.remove(statefulSession);
         if (kieContainer != null) {
             kieContainer.disposeSession( statefulSession );
         }
@@ -1002,6 +1011,38 @@ public class KnowledgeBaseImpl
         return false;
     }
 
+    /**
+     * Reassigns the partitions of this rule base to the parallel evaluation slots according to
+     * the costs recorded in the given profile, so that all the slots have a similar workload.
+     * The partitions can't be moved while a session is using them, so this method can be invoked
+     * only before any session is created or after all of them have been disposed.
+     */
+    public void rebalancePartitions( PartitionProfile profile ) {
+        if (!config.isMultithreadEvaluation()) {
+            return;
+        }
+        lock();
+        try {
+            if (!liveSessions.isEmpty()) {
+                throw new IllegalStateException( "Cannot rebalance the partitions of a KieBase with active sessions" );
+            }
+            Map<RuleBasePartitionId, Integer> slots = new CostBasedPartitioner().computeSlots( this, profile );
+            for (Map.Entry<RuleBasePartitionId, Integer> entry : slots.entrySet()) {
+                entry.getKey().setParallelEvaluationSlot( entry.getValue() );
+            }
+            for (EntryPointNode entryPointNode : rete.getEntryPointNodes().values()) {
+                for (ObjectTypeNode otn : entryPointNode.getObjectTypeNodes().values()) {
+                    ObjectSinkPropagator sink = otn.getObjectSinkPropagator();
+                    if (sink instanceof CompositePartitionAwareObjectSinkAdapter) {
+                        ( (CompositePartitionAwareObjectSinkAdapter) sink ).reassignPartitionSlots( config.getAlphaNodeHashingThreshold() );
+                    }
+                }
+            }
+        } finally {
+            unlock();
+        }
+    }
+
     private void disableMultithreadEvaluation(String warningMessage) {
         config.enforceSingleThreadEvaluation();
         logger.warn( warningMessage );
@@ -26,9 +26,11 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -258,6 +260,10 @@ public class StatefulKnowledgeSessionImpl extends AbstractRuntime
     private transient StatefulSessionPool pool;
     private transient boolean alive = true;
 
+    // the last queued batch of expirations, still open to the ones happening at the same time
+    private transient volatile WorkingMemoryReteBulkExpireAction pendingExpirations;
+    private final transient Object expirationsLock = new Object();
+
     // ------------------------------------------------------------
     // Constructors
     // ------------------------------------------------------------
@@ -513,6 +519,10 @@ public class StatefulKnowledgeSessionImpl extends AbstractRuntime
         return this.kBase;
     }
 
+    public StatefulSessionPool getPool() {
+        return pool;
+    }
+
     StatefulKnowledgeSessionImpl fromPool(StatefulSessionPool pool) {
         this.pool = pool;
         alive = true;
@@ -1114,10 +1124,14 @@ public class StatefulKnowledgeSessionImpl extends AbstractRuntime
         this.opCounter.set(0);
         this.lastIdleTimestamp.set( -1 );
 
-        this.defaultEntryPoint.reset();
+        // a pooled session is reused, so the facts in all the entry points have to go, not only the default one
+        for ( WorkingMemoryEntryPoint ep : this.entryPoints.values() ) {
+            ep.reset();
+        }
         updateEntryPointsCache();
 
         timerService.reset();
+        this.pendingExpirations = null;
 
         this.processRuntime = null;
 
@@ -1481,6 +1495,12 @@ public class StatefulKnowledgeSessionImpl extends AbstractRuntime
                        null );
     }
 
+    @Override
+    public List<FactHandle> insertAll(final Collection<?> objects) {
+        checkAlive();
+        return this.defaultEntryPoint.insertAll( objects );
+    }
+
     public void submit(AtomicAction action) {
         agenda.addPropagation( new PropagationEntry.AbstractPropagationEntry() {
             @Override
@@ -1604,6 +1624,33 @@ public class StatefulKnowledgeSessionImpl extends AbstractRuntime
         }
     }
 
+    @Override
+    public void queueExpiration(final WorkingMemoryReteExpireAction action) {
+        if ( agenda instanceof CompositeDefaultAgenda ) {
+            // expirations are split by partition, so they cannot be batched
+            queueWorkingMemoryAction( action );
+            return;
+        }
+
+        long timestamp = timerService.getCurrentTime();
+        synchronized (expirationsLock) {
+            WorkingMemoryReteBulkExpireAction bulk = pendingExpirations;
+            // an expiration must not overtake the propagations queued before it, so the bulk can grow only
+            // while nothing else has been queued after it
+            if ( bulk != null && agenda.getPropagationList().isLastEntry( bulk ) && bulk.add( action, timestamp ) ) {
+                return;
+            }
+            bulk = new WorkingMemoryReteBulkExpireAction( action, timestamp );
+            pendingExpirations = bulk;
+            try {
+                startOperation();
+                addPropagation( bulk );
+            } finally {
+                endOperation();
+            }
+        }
+    }
+
     /**
      * Retrieve the <code>JoinMemory</code> for a particular
      * <code>JoinNode</code>.
@@ -1797,13 +1844,16 @@ public class StatefulKnowledgeSessionImpl extends AbstractRuntime
             PropagationContext context = createPropagationContextForFact( workingMemory, factHandle, PropagationContext.Type.EXPIRATION );
             workingMemory.getAgenda().registerExpiration( context );
 
+            expireTuples();
+            expireFactHandle( workingMemory, factHandle );
+        }
+
+        private void expireTuples() {
             factHandle.forEachLeftTuple( ObjectTypeNode::expireLeftTuple );
             factHandle.forEachRightTuple( rt -> {
                 rt.setExpired( true );
                 ObjectTypeNode.expireRightTuple(rt);
             } );
-
-            expireFactHandle( workingMemory, factHandle );
         }
 
         private static void expireFactHandle( InternalWorkingMemory workingMemory, EventFactHandle factHandle ) {
@@ -1835,6 +1885,80 @@ public class StatefulKnowledgeSessionImpl extends AbstractRuntime
         }
     }
 
+    /**
+     * Expires in a single propagation all the events expiring at the same time. New expirations can be added to it
+     * until it starts being executed.
+     */
+    public static class WorkingMemoryReteBulkExpireAction extends PropagationEntry.AbstractPropagationEntry {
+
+        private final long timestamp;
+        private final List<WorkingMemoryReteExpireAction> actions = new ArrayList<WorkingMemoryReteExpireAction>();
+        private boolean sealed;
+
+        public WorkingMemoryReteBulkExpireAction(WorkingMemoryReteExpireAction action, long timestamp) {
+            this.timestamp = timestamp;
+            this.actions.add( action );
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        public synchronized boolean add(WorkingMemoryReteExpireAction action, long timestamp) {
+            if ( sealed || timestamp != this.timestamp ) {
+                return false;
+            }
+            actions.add( action );
+            return true;
+        }
+
+        public synchronized List<WorkingMemoryReteExpireAction> getActions() {
+            return new ArrayList<WorkingMemoryReteExpireAction>( actions );
+        }
+
+        public void execute(InternalWorkingMemory workingMemory) {
+            synchronized (this) {
+                sealed = true;
+            }
+            // an event expired by more object type nodes has its tuples retracted only once
+            Set<EventFactHandle> factHandles = new LinkedHashSet<EventFactHandle>();
+            for (WorkingMemoryReteExpireAction action : actions) {
+                EventFactHandle factHandle = action.getFactHandle();
+                if (factHandle.isValid()) {
+                    action.expireTuples();
+                    WorkingMemoryReteExpireAction.expireFactHandle( workingMemory, factHandle );
+                    factHandles.add( factHandle );
+                }
+            }
+
+            // the timer nodes check if the fact handle of the propagation context has been expired by all its
+            // object type nodes, so the events still alive in other object type nodes need a context of their own
+            List<EventFactHandle> expired = new ArrayList<EventFactHandle>();
+            List<EventFactHandle> notExpired = new ArrayList<EventFactHandle>();
+            for (EventFactHandle factHandle : factHandles) {
+                if (factHandle.isExpired()) {
+                    expired.add( factHandle );
+                } else {
+                    notExpired.add( factHandle );
+                }
+            }
+            registerExpiration( workingMemory, expired );
+            registerExpiration( workingMemory, notExpired );
+        }
+
+        private static void registerExpiration( InternalWorkingMemory workingMemory, List<EventFactHandle> factHandles ) {
+            if ( !factHandles.isEmpty() ) {
+                PropagationContext context = createPropagationContextForFact( workingMemory, factHandles.get( 0 ), PropagationContext.Type.EXPIRATION );
+                workingMemory.getAgenda().registerExpiration( context, factHandles );
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Expiration of " + actions.size() + " events at " + timestamp;
+        }
+    }
+
     public static class PartitionAwareWorkingMemoryReteExpireAction extends PropagationEntry.AbstractPartitionedPropagationEntry {
         private final EventFactHandle factHandle;
         private final ObjectTypeNode node;
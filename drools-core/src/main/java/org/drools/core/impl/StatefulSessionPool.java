@@ -16,6 +16,7 @@
 
 package org.drools.core.impl;
 
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 
 import org.drools.core.util.ScalablePool;
@@ -25,9 +26,21 @@ public class StatefulSessionPool {
     private final KnowledgeBaseImpl kbase;
     private final ScalablePool<StatefulKnowledgeSessionImpl> pool;
 
+    private final AtomicLong acquisitions = new AtomicLong();
+    private final AtomicLong acquireTime = new AtomicLong();
+    private final AtomicLong resets = new AtomicLong();
+    private final AtomicLong resetTime = new AtomicLong();
+
     public StatefulSessionPool( KnowledgeBaseImpl kbase, int initialSize, Supplier<StatefulKnowledgeSessionImpl> supplier ) {
         this.kbase = kbase;
-        this.pool = new ScalablePool<>(initialSize, supplier, s -> s.reset(), s -> s.fromPool(null).dispose());
+        this.pool = new ScalablePool<>(initialSize, supplier, this::reset, s -> s.fromPool(null).dispose());
+    }
+
+    private void reset(StatefulKnowledgeSessionImpl session) {
+        long start = System.nanoTime();
+        session.reset();
+        resetTime.addAndGet( System.nanoTime() - start );
+        resets.incrementAndGet();
     }
 
     public KnowledgeBaseImpl getKieBase() {
@@ -35,13 +48,51 @@ public class StatefulSessionPool {
     }
 
     public StatefulKnowledgeSessionImpl get() {
-        return pool.get().fromPool( this );
+        long start = System.nanoTime();
+        StatefulKnowledgeSessionImpl session = pool.get().fromPool( this );
+        // the pool never blocks, so this is the time spent creating a new session when none is available
+        acquireTime.addAndGet( System.nanoTime() - start );
+        acquisitions.incrementAndGet();
+        return session;
     }
 
     public void release(StatefulKnowledgeSessionImpl session) {
         pool.release( session );
     }
 
+    /**
+     * Returns the number of sessions created by this pool, either available or in use.
+     */
+    public int getSize() {
+        return pool.size();
+    }
+
+    public int getAvailableSessions() {
+        return pool.available();
+    }
+
+    public long getAcquisitions() {
+        return acquisitions.get();
+    }
+
+    /**
+     * Returns the total time spent acquiring the sessions from this pool, in nanoseconds.
+     */
+    public long getAcquireTime() {
+        return acquireTime.get();
+    }
+
+    public long getResets() {
+        return resets.get();
+    }
+
+    /**
+     * Returns the total time spent resetting the sessions released to this pool, in nanoseconds.
+     */
+    public long getResetTime() {
+        return resetTime.get();
+    }
+
     public void shutdown() {
         pool.shutdown();
     }
@@ -1,13 +1,19 @@
 package org.drools.core.management;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
+
 import javax.management.ObjectName;
 
 import org.drools.core.common.InternalWorkingMemoryActions;
+import org.drools.core.impl.StatefulKnowledgeSessionImpl;
+import org.drools.core.impl.StatefulSessionPool;
 import org.kie.api.builder.model.KieSessionModel.KieSessionType;
 import org.kie.api.event.KieRuntimeEventManager;
-import org.kie.api.management.KieSessionMonitoringMXBean;
 
-public class KieSessionMonitoringImpl extends GenericKieSessionMonitoringImpl implements KieSessionMonitoringMXBean {
+public class KieSessionMonitoringImpl extends GenericKieSessionMonitoringImpl implements PooledKieSessionMonitoringMXBean {
+
+    private static final double NANO_TO_MILLISEC = 1000000;
     
     private ObjectName name;
 
@@ -35,4 +41,85 @@ public class KieSessionMonitoringImpl extends GenericKieSessionMonitoringImpl im
         }
         return result;
     }
+
+    @Override
+    public long getTotalPooledSessions() {
+        long result = 0;
+        for (StatefulSessionPool pool : getPools()) {
+            result += pool.getSize();
+        }
+        return result;
+    }
+
+    @Override
+    public long getAvailablePooledSessions() {
+        long result = 0;
+        for (StatefulSessionPool pool : getPools()) {
+            result += pool.getAvailableSessions();
+        }
+        return result;
+    }
+
+    @Override
+    public long getTotalPoolAcquisitions() {
+        long result = 0;
+        for (StatefulSessionPool pool : getPools()) {
+            result += pool.getAcquisitions();
+        }
+        return result;
+    }
+
+    @Override
+    public double getAveragePoolAcquireTime() {
+        long acquisitions = 0;
+        long time = 0;
+        for (StatefulSessionPool pool : getPools()) {
+            acquisitions += pool.getAcquisitions();
+            time += pool.getAcquireTime();
+        }
+        return acquisitions > 0 ? time / NANO_TO_MILLISEC / acquisitions : 0;
+    }
+
+    @Override
+    public long getTotalPoolResets() {
+        long result = 0;
+        for (StatefulSessionPool pool : getPools()) {
+            result += pool.getResets();
+        }
+        return result;
+    }
+
+    @Override
+    public long getTotalPoolResetTime() {
+        long time = 0;
+        for (StatefulSessionPool pool : getPools()) {
+            time += pool.getResetTime();
+        }
+        return (long) ( time / NANO_TO_MILLISEC );
+    }
+
+    @Override
+    public double getAveragePoolResetTime() {
+        long resets = 0;
+        long time = 0;
+        for (StatefulSessionPool pool : getPools()) {
+            resets += pool.getResets();
+            time += pool.getResetTime();
+        }
+        return resets > 0 ? time / NANO_TO_MILLISEC / resets : 0;
+    }
+
+    /**
+     * The pooled sessions stay attached while they are available in the pool,
+     * so the pools are found from the monitored sessions.
+     */
+    private Iterable<StatefulSessionPool> getPools() {
+        Map<StatefulSessionPool, Boolean> pools = new IdentityHashMap<StatefulSessionPool, Boolean>();
+        for (KieRuntimeEventManager s : ksessions) {
+            if (s instanceof StatefulKnowledgeSessionImpl && ((StatefulKnowledgeSessionImpl) s).getPool() != null) {
+                pools.put( ((StatefulKnowledgeSessionImpl) s).getPool(), Boolean.TRUE );
+            }
+        }
+        return pools.keySet();
+    }
 }
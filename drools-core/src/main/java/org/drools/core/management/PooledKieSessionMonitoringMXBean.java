@@ -0,0 +1,61 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.management;
+
+import org.kie.api.management.KieSessionMonitoringMXBean;
+
+/**
+ * Adds to the monitoring of a stateful session the statistics of the sessions pools
+ * the monitored sessions have been taken from.
+ */
+public interface PooledKieSessionMonitoringMXBean extends KieSessionMonitoringMXBean {
+
+    /**
+     * @return the number of sessions created by the pools, either available or in use
+     */
+    long getTotalPooledSessions();
+
+    /**
+     * @return the number of sessions available in the pools
+     */
+    long getAvailablePooledSessions();
+
+    /**
+     * @return the number of sessions taken from the pools
+     */
+    long getTotalPoolAcquisitions();
+
+    /**
+     * @return the average time, in milliseconds, spent taking a session from the pools
+     */
+    double getAveragePoolAcquireTime();
+
+    /**
+     * @return the number of sessions reset while being released to the pools
+     */
+    long getTotalPoolResets();
+
+    /**
+     * @return the total time, in milliseconds, spent resetting the sessions released to the pools
+     */
+    long getTotalPoolResetTime();
+
+    /**
+     * @return the average time, in milliseconds, spent resetting a session released to the pools
+     */
+    double getAveragePoolResetTime();
+}
@@ -16,7 +16,6 @@
 
 package org.drools.core.marshalling.impl;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.security.InvalidKeyException;
@@ -24,6 +23,7 @@ import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.security.SignatureException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map.Entry;
@@ -48,6 +48,8 @@ import org.kie.api.marshalling.ObjectMarshallingStrategy.Context;
 
 import com.google.protobuf.ByteString;
 import com.google.protobuf.ByteString.Output;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.ExtensionRegistry;
 import com.google.protobuf.Message;
 
@@ -205,11 +207,19 @@ public class PersisterHelper {
 
         writeRuntimeDefinedClasses( context, _header );
 
-        byte[] buff = payload.toByteArray();
-        sign( _header, buff );
-        _header.setPayload( ByteString.copyFrom( buff ) );
-
-        context.stream.write( _header.build().toByteArray() );
+        // the payload is appended to the rest of the header as the bytes field it is declared as,
+        // so that the session is written straight to the stream instead of being copied into the header
+        CodedOutputStream output = CodedOutputStream.newInstance( context.stream );
+        if ( new KeyStoreHelper().isSigned() ) {
+            byte[] buff = payload.toByteArray();
+            sign( _header, buff );
+            _header.build().writeTo( output );
+            output.writeByteArray( ProtobufMessages.Header.PAYLOAD_FIELD_NUMBER, buff );
+        } else {
+            _header.build().writeTo( output );
+            output.writeMessage( ProtobufMessages.Header.PAYLOAD_FIELD_NUMBER, payload );
+        }
+        output.flush();
     }
 
     public static void writeRuntimeDefinedClasses( MarshallerWriteContext context,
@@ -274,10 +284,8 @@ public class PersisterHelper {
     private static ProtobufMessages.Header loadStrategiesCheckSignature(MarshallerReaderContext context, ProtobufMessages.Header _header) throws ClassNotFoundException, IOException {
         loadStrategiesIndex( context, _header );
 
-        byte[] sessionbuff = _header.getPayload().toByteArray();
-
         // should we check version as well here?
-        checkSignature( _header, sessionbuff );
+        checkSignature( _header );
         
         return _header;
     }
@@ -286,7 +294,11 @@ public class PersisterHelper {
         // we preload the stream into a byte[] to overcome a message size limit
         // imposed by protobuf as per https://issues.jboss.org/browse/DROOLS-25
         byte[] preloaded = preload(context.stream);
-        ProtobufMessages.Header _header = ProtobufMessages.Header.parseFrom( preloaded, registry );
+        // the preloaded array is never modified, so the payload can share it instead of being copied
+        CodedInputStream input = CodedInputStream.newInstance( preloaded );
+        input.enableAliasing( true );
+        input.setSizeLimit( Integer.MAX_VALUE );
+        ProtobufMessages.Header _header = ProtobufMessages.Header.parseFrom( input, registry );
 
         return loadStrategiesCheckSignature(context, _header);
     }
@@ -295,15 +307,38 @@ public class PersisterHelper {
        (Protobuf does not enforce a message size limit when unmarshalling from a byte array)
     */
     private static byte[] preload(InputStream stream) throws IOException {
-        byte[] buf = new byte[4096];
-        ByteArrayOutputStream preloaded = new ByteArrayOutputStream();
-
-        int read;
-        while((read = stream.read(buf)) != -1) {
-            preloaded.write(buf, 0, read);
+        // the available bytes are usually the whole content, e.g. for a ByteArrayInputStream,
+        // in which case it is read in a single buffer of the right size
+        byte[] buf = new byte[Math.max( stream.available(), 4096 )];
+        int count = 0;
+        while (true) {
+            int read = stream.read(buf, count, buf.length - count);
+            if (read == -1) {
+                break;
+            }
+            count += read;
+            if (count == buf.length) {
+                int next = stream.read();
+                if (next == -1) {
+                    break;
+                }
+                buf = Arrays.copyOf(buf, newPreloadCapacity(buf.length));
+                buf[count++] = (byte) next;
+            }
         }
 
-        return preloaded.toByteArray();
+        return count == buf.length ? buf : Arrays.copyOf(buf, count);
+    }
+
+    // some VMs reserve header words in an array, so an array of exactly Integer.MAX_VALUE bytes can't be allocated
+    static final int MAX_PRELOAD_SIZE = Integer.MAX_VALUE - 8;
+
+    static int newPreloadCapacity(int capacity) {
+        if (capacity >= MAX_PRELOAD_SIZE) {
+            throw new OutOfMemoryError("The serialized session is bigger than the maximum array size");
+        }
+        // doubling a buffer bigger than 1 GB would overflow
+        return capacity > MAX_PRELOAD_SIZE / 2 ? MAX_PRELOAD_SIZE : capacity * 2;
     }
 
 	private static void loadStrategiesIndex(MarshallerReaderContext context,
@@ -344,8 +379,7 @@ public class PersisterHelper {
         }
     }
 
-    private static void checkSignature(Header _header,
-                                       byte[] sessionbuff) {
+    private static void checkSignature(Header _header) {
         KeyStoreHelper helper = new KeyStoreHelper();
         boolean signed = _header.hasSignature();
         if ( helper.isSigned() != signed ) {
@@ -360,7 +394,7 @@ public class PersisterHelper {
             }
             try {
                 if ( !helper.checkDataWithPublicKey( _header.getSignature().getKeyAlias(),
-                                                     sessionbuff,
+                                                     _header.getPayload().toByteArray(),
                                                      _header.getSignature().getSignature().toByteArray() ) ) {
                     throw new RuntimeException( "Signature does not match serialized package. This is a security violation. Deserialisation aborted." );
                 }
@@ -79,6 +79,8 @@ import org.kie.api.runtime.EnvironmentName;
 import org.kie.api.runtime.rule.AgendaFilter;
 import org.kie.api.runtime.rule.EntryPoint;
 import org.kie.api.runtime.rule.Match;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * An input marshaller that uses protobuf. 
@@ -87,6 +89,8 @@ import org.kie.api.runtime.rule.Match;
 public class ProtobufInputMarshaller {
     // NOTE: all variables prefixed with _ (underscore) are protobuf structs
 
+    private static final Logger log = LoggerFactory.getLogger( ProtobufInputMarshaller.class );
+
     private static ProcessMarshaller processMarshaller = createProcessMarshaller();
 
     private static ProcessMarshaller createProcessMarshaller() {
@@ -199,11 +203,20 @@ public class ProtobufInputMarshaller {
 
     private static ProtobufMessages.KnowledgeSession loadAndParseSession(MarshallerReaderContext context) throws IOException,
                                                                                                          ClassNotFoundException {
+        long start = System.nanoTime();
         ExtensionRegistry registry = PersisterHelper.buildRegistry( context, processMarshaller );
 
         ProtobufMessages.Header _header = PersisterHelper.readFromStreamWithHeaderPreloaded( context, registry );
 
-        return ProtobufMessages.KnowledgeSession.parseFrom( _header.getPayload(), registry );
+        ProtobufMessages.KnowledgeSession _session = ProtobufMessages.KnowledgeSession.parseFrom( _header.getPayload(), registry );
+        if ( log.isDebugEnabled() ) {
+            log.debug( "Session of {} bytes loaded and parsed in {} ms", _header.getPayload().size(), toMillis( System.nanoTime() - start ) );
+        }
+        return _session;
+    }
+
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis( nanos );
     }
 
     public static StatefulKnowledgeSessionImpl readSession(ProtobufMessages.KnowledgeSession _session,
@@ -229,6 +242,12 @@ public class ProtobufInputMarshaller {
 
         context.wm = session;
 
+        // the time spent in each phase of the restore, reported at debug level
+        long start = System.nanoTime();
+        long factHandlesTime = 0;
+        long tmsTime = 0;
+        int factHandles = 0;
+
         // need to read node memories before reading the fact handles
         // because this data is required during fact propagation 
         readNodeMemories( context,
@@ -243,21 +262,28 @@ public class ProtobufInputMarshaller {
 
         for ( ProtobufMessages.EntryPoint _ep : _session.getRuleData().getEntryPointList() ) {
             EntryPoint wmep = ((StatefulKnowledgeSessionImpl)context.wm).getEntryPointMap().get(_ep.getEntryPointId());
+            long phaseStart = System.nanoTime();
             readFactHandles( context,
                              _ep,
                              ((WorkingMemoryEntryPoint) wmep).getObjectStore(),
                              pctxs );
 
             context.filter.fireRNEAs( context.wm );
+            factHandlesTime += System.nanoTime() - phaseStart;
+            factHandles += _ep.getHandleCount();
 
+            phaseStart = System.nanoTime();
             readTruthMaintenanceSystem( context,
                                         wmep,
                                         _ep,
                                         pctxs );
+            tmsTime += System.nanoTime() - phaseStart;
         }
 
         cleanReaderContexts( pctxs );
 
+        long timersStart = System.nanoTime();
+
         readActionQueue( context,
                          _session.getRuleData() );
 
@@ -299,6 +325,13 @@ public class ProtobufInputMarshaller {
         // remove the activations filter
         agenda.setActivationsFilter( null );
 
+        if ( log.isDebugEnabled() ) {
+            long end = System.nanoTime();
+            log.debug( "Session restored in {} ms: {} fact handles read and propagated in {} ms, " +
+                       "truth maintenance system restored in {} ms, action queue, processes and timers restored in {} ms",
+                       toMillis( end - start ), factHandles, toMillis( factHandlesTime ), toMillis( tmsTime ), toMillis( end - timersStart ) );
+        }
+
         return session;
     }
 
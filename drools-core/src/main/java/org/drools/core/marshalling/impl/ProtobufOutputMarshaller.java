@@ -54,6 +54,8 @@ import org.drools.core.common.TruthMaintenanceSystem;
 import org.drools.core.common.WorkingMemoryAction;
 import org.drools.core.definitions.rule.impl.RuleImpl;
 import org.drools.core.impl.StatefulKnowledgeSessionImpl;
+import org.drools.core.impl.StatefulKnowledgeSessionImpl.WorkingMemoryReteBulkExpireAction;
+import org.drools.core.impl.StatefulKnowledgeSessionImpl.WorkingMemoryReteExpireAction;
 import org.drools.core.marshalling.impl.ProtobufMessages.FactHandle;
 import org.drools.core.marshalling.impl.ProtobufMessages.ObjectTypeConfiguration;
 import org.drools.core.marshalling.impl.ProtobufMessages.ProcessData.Builder;
@@ -628,7 +630,12 @@ public class ProtobufOutputMarshaller {
         ProtobufMessages.ActionQueue.Builder _queue = ProtobufMessages.ActionQueue.newBuilder();
         while ( i.hasNext() ) {
             PropagationEntry entry = i.next();
-            if (entry instanceof WorkingMemoryAction) {
+            if (entry instanceof WorkingMemoryReteBulkExpireAction) {
+                // a batch of expirations is written as the single expirations it contains
+                for (WorkingMemoryReteExpireAction action : ((WorkingMemoryReteBulkExpireAction) entry).getActions()) {
+                    _queue.addAction(action.serialize(context));
+                }
+            } else if (entry instanceof WorkingMemoryAction) {
                 _queue.addAction(((WorkingMemoryAction) entry).serialize(context));
             }
         }
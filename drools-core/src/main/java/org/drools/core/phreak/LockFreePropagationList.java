@@ -0,0 +1,202 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.drools.core.phreak;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import org.drools.core.common.InternalWorkingMemory;
+
+/**
+ * A multi-producer/single-consumer PropagationList that never blocks the producers.
+ * Entries are pushed with a CAS on a LIFO stack and the consumer drains the whole
+ * stack with a single atomic swap, reversing it to restore the insertion order of
+ * each producer. A consumer with nothing left to evaluate parks itself until a
+ * producer enqueues a new entry or notifyWaitOnRest() is invoked.
+ */
+public class LockFreePropagationList implements PropagationList {
+
+    protected final InternalWorkingMemory workingMemory;
+
+    private final AtomicReference<PropagationEntry> top = new AtomicReference<PropagationEntry>();
+
+    private volatile Thread waiter;
+
+    private volatile boolean disposed = false;
+
+    // the entries deferring the expiration pushed and not taken yet: a producer counts its entry only after the CAS
+    // publishing it and the consumer discounts the entries it actually takes, so the count can't reach zero while
+    // an entry whose addition completed is still on the stack. It can be transiently negative when the consumer
+    // takes an entry before its producer counted it.
+    private final AtomicInteger entriesDeferringExpiration = new AtomicInteger();
+
+    public LockFreePropagationList(InternalWorkingMemory workingMemory) {
+        this.workingMemory = workingMemory;
+    }
+
+    @Override
+    public void addEntry(final PropagationEntry entry) {
+        if (entry.requiresImmediateFlushing()) {
+            if (entry.isCalledFromRHS()) {
+                entry.execute(workingMemory);
+            } else {
+                workingMemory.getAgenda().executeTask( new ExecutableEntry() {
+                    @Override
+                    public void execute() {
+                        if (entry instanceof PhreakTimerNode.TimerAction) {
+                            ( (PhreakTimerNode.TimerAction) entry ).execute( workingMemory, true );
+                        } else {
+                            entry.execute( workingMemory );
+                        }
+                    }
+
+                    @Override
+                    public void enqueue() {
+                        internalAddEntry( entry );
+                    }
+                } );
+            }
+        } else {
+            internalAddEntry( entry );
+        }
+    }
+
+    void internalAddEntry( PropagationEntry entry ) {
+        PropagationEntry currentTop;
+        do {
+            currentTop = top.get();
+            entry.setNext( currentTop );
+        } while ( !top.compareAndSet( currentTop, entry ) );
+
+        if ( entry.defersExpiration() ) {
+            entriesDeferringExpiration.incrementAndGet();
+        }
+
+        if ( currentTop == null ) {
+            notifyWaitOnRest();
+        }
+    }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+    }
+
+    @Override
+    public void flush() {
+        flush( workingMemory, takeAll() );
+    }
+
+    @Override
+    public void flush(PropagationEntry currentHead) {
+        flush( workingMemory, currentHead );
+    }
+
+    private void flush( InternalWorkingMemory workingMemory, PropagationEntry currentHead ) {
+        for (PropagationEntry entry = currentHead; !disposed && entry != null; entry = entry.getNext()) {
+            entry.execute(workingMemory);
+        }
+    }
+
+    public boolean hasEntriesDeferringExpiration() {
+        return entriesDeferringExpiration.get() > 0;
+    }
+
+    @Override
+    public PropagationEntry takeAll() {
+        PropagationEntry entry = top.getAndSet( null );
+        if ( entry == null ) {
+            return null;
+        }
+
+        // the stack is LIFO, reverse it in place to process the entries in the same order they have been added
+        PropagationEntry head = null;
+        int deferring = 0;
+        while ( entry != null ) {
+            if ( entry.defersExpiration() ) {
+                deferring++;
+            }
+            PropagationEntry next = entry.getNext();
+            entry.setNext( head );
+            head = entry;
+            entry = next;
+        }
+        if ( deferring > 0 ) {
+            entriesDeferringExpiration.addAndGet( -deferring );
+        }
+        return head;
+    }
+
+    @Override
+    public void reset() {
+        top.set( null );
+        entriesDeferringExpiration.set( 0 );
+        disposed = false;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return top.get() == null;
+    }
+
+    @Override
+    public boolean isLastEntry( PropagationEntry entry ) {
+        // the top of the stack is the last added entry
+        return top.get() == entry;
+    }
+
+    @Override
+    public void waitOnRest() {
+        workingMemory.onSuspend();
+        waiter = Thread.currentThread();
+        try {
+            // a producer could have enqueued an entry after the last takeAll and before the waiter has been published
+            if ( isEmpty() ) {
+                LockSupport.park( this );
+            }
+        } finally {
+            waiter = null;
+        }
+    }
+
+    @Override
+    public void notifyWaitOnRest() {
+        Thread currentWaiter = waiter;
+        if ( currentWaiter != null ) {
+            LockSupport.unpark( currentWaiter );
+        }
+        workingMemory.onResume();
+    }
+
+    @Override
+    public Iterator<PropagationEntry> iterator() {
+        // entries are linked in reverse order and the list cannot be mutated without draining it, so iterate over a copy
+        List<PropagationEntry> entries = new ArrayList<PropagationEntry>();
+        for (PropagationEntry entry = top.get(); entry != null; entry = entry.getNext()) {
+            entries.add( entry );
+        }
+        Collections.reverse( entries );
+        return Collections.unmodifiableList( entries ).iterator();
+    }
+
+    @Override
+    public void onEngineInactive() { }
+}
@@ -282,7 +282,9 @@ public class PhreakAccumulateNode {
 
             // first check our index (for indexed nodes only) hasn't changed and we are returning the same bucket
             // if rightTuple is null, we assume there was a bucket change and that bucket is empty
-            if (childLeftTuple != null && rtm.isIndexed() && !rightIt.isFullIterator() && (rightTuple == null || (rightTuple.getMemory() != childLeftTuple.getRightParent().getMemory()))) {
+            // a comparison index matches many buckets whose order can differ from the one of the children, so always start over
+            if (childLeftTuple != null && rtm.isIndexed() && !rightIt.isFullIterator() &&
+                (rightTuple == null || rtm.getIndexType().isComparison() || (rightTuple.getMemory() != childLeftTuple.getRightParent().getMemory()))) {
                 // our index has changed, so delete all the previous matchings
                 removePreviousMatchesForLeftTuple(accumulate,
                                                   leftTuple,
@@ -429,7 +431,8 @@ public class PhreakAccumulateNode {
 
                 // first check our index (for indexed nodes only) hasn't changed and we are returning the same bucket
                 // We assume a bucket change if leftTuple == null
-                if ( childLeftTuple != null && ltm.isIndexed() && !leftIt.isFullIterator() && ( leftTuple == null || ( leftTuple.getMemory() != childLeftTuple.getLeftParent().getMemory() ) ) ) {
+                if ( childLeftTuple != null && ltm.isIndexed() && !leftIt.isFullIterator() &&
+                     ( leftTuple == null || ltm.getIndexType().isComparison() || ( leftTuple.getMemory() != childLeftTuple.getLeftParent().getMemory() ) ) ) {
                     // our index has changed, so delete all the previous matches
                     removePreviousMatchesForRightTuple( accNode,
                                                         accumulate,
@@ -23,6 +23,7 @@ import org.drools.core.reteoo.JoinNode;
 import org.drools.core.reteoo.LeftTuple;
 import org.drools.core.reteoo.LeftTupleSink;
 import org.drools.core.reteoo.RightTuple;
+import org.drools.core.reteoo.RightTuplePool;
 import org.drools.core.reteoo.TupleMemory;
 import org.drools.core.rule.ContextEntry;
 import org.drools.core.util.AbstractHashTable;
@@ -201,9 +202,11 @@ public class PhreakJoinNode {
             // if rightTuple is null, we assume there was a bucket change and that bucket is empty
             if (rtm.isIndexed() && !it.isFullIterator()) {
                 // our index has changed, so delete all the previous propagations
+                // a comparison index matches many buckets whose order can differ from the one of the children, so always start over
+                boolean comparisonIndex = rtm.getIndexType().isComparison();
                 for (LeftTuple childLeftTuple = leftTuple.getFirstChild(); childLeftTuple != null; ) {
                     LeftTuple nextChild = childLeftTuple.getHandleNext();
-                    if (rightTuple == null || rightTuple.getMemory() != childLeftTuple.getRightParent().getMemory()) {
+                    if (comparisonIndex || rightTuple == null || rightTuple.getMemory() != childLeftTuple.getRightParent().getMemory()) {
                         RuleNetworkEvaluator.unlinkAndDeleteChildLeftTuple( childLeftTuple, trgLeftTuples, stagedLeftTuples );
                     }
                     childLeftTuple = nextChild;
@@ -304,7 +307,8 @@ public class PhreakJoinNode {
                 // first check our index (for indexed nodes only) hasn't changed and we are returning the same bucket
                 // We assume a bucket change if leftTuple == null
                 LeftTuple childLeftTuple = rightTuple.getFirstChild();
-                if ( childLeftTuple != null && ltm.isIndexed() && !it.isFullIterator() && ( leftTuple == null || ( leftTuple.getMemory() != childLeftTuple.getLeftParent().getMemory() ) ) ) {
+                if ( childLeftTuple != null && ltm.isIndexed() && !it.isFullIterator() &&
+                     ( leftTuple == null || ltm.getIndexType().isComparison() || ( leftTuple.getMemory() != childLeftTuple.getLeftParent().getMemory() ) ) ) {
                     // our index has changed, so delete all the previous propagations
                     while ( childLeftTuple != null ) {
                         childLeftTuple.setPropagationContext( rightTuple.getPropagationContext() );
@@ -427,6 +431,7 @@ public class PhreakJoinNode {
                                TupleSets<LeftTuple> trgLeftTuples,
                                TupleSets<LeftTuple> stagedLeftTuples) {
         TupleMemory rtm = bm.getRightTupleMemory();
+        RightTuplePool rightTuplePool = bm.getRightTuplePool();
 
         for (RightTuple rightTuple = srcRightTuples.getDeleteFirst(); rightTuple != null; ) {
             RightTuple next = rightTuple.getStagedNext();
@@ -445,6 +450,10 @@ public class PhreakJoinNode {
                 }
             }
             rightTuple.clearStaged();
+            if (rightTuplePool != null) {
+                // the tuple has been removed from the fact handle and all its children have been unlinked
+                rightTuplePool.release(rightTuple);
+            }
             rightTuple = next;
         }
     }
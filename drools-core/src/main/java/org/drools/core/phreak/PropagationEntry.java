@@ -209,6 +209,42 @@ public interface PropagationEntry {
         }
     }
 
+    class InsertAll extends AbstractPropagationEntry {
+
+        private final InternalFactHandle[] handles;
+        private final PropagationContext[] contexts;
+        private final ObjectTypeConf[] objectTypeConfs;
+        private final int size;
+
+        public InsertAll( InternalFactHandle[] handles, PropagationContext[] contexts, ObjectTypeConf[] objectTypeConfs, int size, InternalWorkingMemory workingMemory ) {
+            this.handles = handles;
+            this.contexts = contexts;
+            this.objectTypeConfs = objectTypeConfs;
+            this.size = size;
+
+            long insertionTime = -1;
+            for (int i = 0; i < size; i++) {
+                if ( objectTypeConfs[i].isEvent() ) {
+                    if ( insertionTime < 0 ) {
+                        insertionTime = workingMemory.getTimerService().getCurrentTime();
+                    }
+                    Insert.scheduleExpiration( workingMemory, handles[i], contexts[i], objectTypeConfs[i], insertionTime );
+                }
+            }
+        }
+
+        public void execute( InternalWorkingMemory wm ) {
+            for (int i = 0; i < size; i++) {
+                Insert.propagate( handles[i], contexts[i], wm, objectTypeConfs[i] );
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "InsertAll of " + size + " facts";
+        }
+    }
+
     class Update extends AbstractPropagationEntry {
         private final InternalFactHandle handle;
         private final PropagationContext context;
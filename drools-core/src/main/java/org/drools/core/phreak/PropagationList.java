@@ -29,6 +29,11 @@ public interface PropagationList {
 
     boolean isEmpty();
 
+    /**
+     * Returns true if the given entry is the last one queued in this list and hasn't been taken yet.
+     */
+    boolean isLastEntry( PropagationEntry entry );
+
     boolean hasEntriesDeferringExpiration();
 
     Iterator<PropagationEntry> iterator();
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.phreak;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.common.Memory;
+import org.drools.core.common.MemoryFactory;
+import org.drools.core.common.NetworkNode;
+import org.drools.core.common.NodeMemories;
+import org.drools.core.reteoo.AccumulateNode.AccumulateMemory;
+import org.drools.core.reteoo.BetaMemory;
+import org.drools.core.reteoo.FromNode.FromMemory;
+import org.drools.core.reteoo.LeftInputAdapterNode.LiaNodeMemory;
+import org.drools.core.reteoo.NodeTypeEnums;
+import org.drools.core.reteoo.PathMemory;
+import org.drools.core.reteoo.SegmentMemory;
+
+/**
+ * Releases the segment memories of the rules that stay unlinked for longer than a timeout.
+ * <p>
+ * The unit of eviction is the tree of segments rooted at a LeftInputAdapterNode, together
+ * with the path memories of all the rules going through it. A tree is idle when none of its
+ * rules is linked or has matches on the agenda, and none of its node memories holds a tuple,
+ * so that releasing it leaves the session as if those memories were never created: the first
+ * fact reaching any of its nodes creates them again, from the segment prototypes of the kbase.
+ * <p>
+ * Trees containing subnetworks, queries, timers, reactive or async nodes are never evicted,
+ * as their memories are also referenced from outside the tree.
+ * The evictor isn't thread safe, it must be invoked by the thread firing the rules when the
+ * engine is at rest.
+ */
+public class SegmentMemoryEvictor {
+
+    private final InternalWorkingMemory wm;
+    private final long                  timeout;
+
+    private long                        nextSweep;
+
+    // the roots of the idle trees, with the time when they have been found idle the first time
+    private Map<SegmentMemory, Long>    idleSince = new IdentityHashMap<SegmentMemory, Long>();
+
+    public SegmentMemoryEvictor(InternalWorkingMemory wm, long timeout) {
+        this.wm = wm;
+        this.timeout = timeout;
+    }
+
+    public int evictIdleSegments() {
+        return evictIdleSegments( System.currentTimeMillis() );
+    }
+
+    /**
+     * Evicts the trees found idle by a former invocation at least timeout milliseconds before,
+     * and still idle now. The node memories are scanned at most twice per timeout, so a tree
+     * is actually evicted between one and one and a half timeouts after it became idle.
+     *
+     * @return the number of evicted trees
+     */
+    public int evictIdleSegments(long now) {
+        if ( now < nextSweep ) {
+            return 0;
+        }
+        nextSweep = now + timeout / 2;
+
+        NodeMemories nodeMemories = wm.getNodeMemories();
+        Map<SegmentMemory, Long> stillIdle = new IdentityHashMap<SegmentMemory, Long>();
+        int evicted = 0;
+        for ( int i = 0; i < nodeMemories.length(); i++ ) {
+            Memory memory = nodeMemories.peekNodeMemory( i );
+            if ( !( memory instanceof LiaNodeMemory ) || memory.getSegmentMemory() == null ) {
+                continue;
+            }
+            SegmentMemory root = memory.getSegmentMemory();
+            List<SegmentMemory> tree = collectIdleTree( root );
+            if ( tree == null ) {
+                continue;
+            }
+            Long since = idleSince.get( root );
+            if ( since == null ) {
+                stillIdle.put( root, now );
+            } else if ( now - since >= timeout ) {
+                evict( tree, root.getPathMemories() );
+                evicted++;
+            } else {
+                stillIdle.put( root, since );
+            }
+        }
+        idleSince = stillIdle;
+        return evicted;
+    }
+
+    /**
+     * Returns all the segments of the tree rooted at the given segment, or null if the tree is not idle.
+     */
+    private static List<SegmentMemory> collectIdleTree(SegmentMemory root) {
+        // the rules going through the root are all the rules of the tree
+        List<PathMemory> pmems = root.getPathMemories();
+        if ( pmems.isEmpty() ) {
+            return null;
+        }
+        List<SegmentMemory> tree = new ArrayList<SegmentMemory>();
+        for ( PathMemory pmem : pmems ) {
+            if ( !isIdle( pmem ) ) {
+                return null;
+            }
+            // child segments can be created before their parent, so they are found from the paths
+            for ( SegmentMemory smem : pmem.getSegmentMemories() ) {
+                if ( smem != null && !containsSegment( tree, smem ) ) {
+                    tree.add( smem );
+                }
+            }
+        }
+        for ( SegmentMemory smem : tree ) {
+            if ( !isIdle( smem, tree, pmems ) ) {
+                return null;
+            }
+        }
+        return tree;
+    }
+
+    private static boolean isIdle(PathMemory pmem) {
+        if ( pmem.getPathEndNode().getType() != NodeTypeEnums.RuleTerminalNode || pmem.isRuleLinked() ) {
+            return false;
+        }
+        RuleAgendaItem agendaItem = pmem.getRuleAgendaItem();
+        return agendaItem == null || ( !agendaItem.isQueued() && agendaItem.getRuleExecutor().getLeftTupleList().isEmpty() );
+    }
+
+    private static boolean isIdle(SegmentMemory smem, List<SegmentMemory> tree, List<PathMemory> pmems) {
+        if ( smem.isActive() || !smem.getStagedLeftTuples().isEmpty() ) {
+            return false;
+        }
+        for ( PathMemory pmem : smem.getPathMemories() ) {
+            if ( !pmems.contains( pmem ) ) {
+                return false;
+            }
+        }
+        for ( SegmentMemory child = smem.getFirst(); child != null; child = child.getNext() ) {
+            if ( !containsSegment( tree, child ) ) {
+                return false;
+            }
+        }
+        for ( Memory mem = smem.getNodeMemories().getFirst(); mem != null; mem = mem.getNext() ) {
+            if ( !isEmpty( mem, pmems ) ) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isEmpty(Memory mem, List<PathMemory> pmems) {
+        switch ( mem.getNodeType() ) {
+            case NodeTypeEnums.LeftInputAdapterNode:
+                return ( (LiaNodeMemory) mem ).getCounter() == 0;
+            case NodeTypeEnums.JoinNode:
+            case NodeTypeEnums.NotNode:
+            case NodeTypeEnums.ExistsNode:
+                return mem instanceof BetaMemory && isEmpty( (BetaMemory) mem );
+            case NodeTypeEnums.AccumulateNode:
+                return isEmpty( ( (AccumulateMemory) mem ).getBetaMemory() );
+            case NodeTypeEnums.FromNode:
+                return isEmpty( ( (FromMemory) mem ).getBetaMemory() );
+            case NodeTypeEnums.EvalConditionNode:
+            case NodeTypeEnums.ConditionalBranchNode:
+                // these don't hold tuples
+                return true;
+            case NodeTypeEnums.RuleTerminalNode:
+                return pmems.contains( mem );
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isEmpty(BetaMemory bm) {
+        return bm.getRiaRuleMemory() == null &&
+               bm.getLeftTupleMemory().size() == 0 &&
+               bm.getRightTupleMemory().size() == 0 &&
+               bm.getStagedRightTuples().isEmpty();
+    }
+
+    private static boolean containsSegment(List<SegmentMemory> tree, SegmentMemory smem) {
+        // SegmentMemory equality is based on the root node only, identity is what matters here
+        for ( SegmentMemory s : tree ) {
+            if ( s == smem ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void evict(List<SegmentMemory> tree, List<PathMemory> pmems) {
+        for ( SegmentMemory smem : tree ) {
+            for ( NetworkNode node : smem.getNodesInSegment() ) {
+                if ( node instanceof MemoryFactory ) {
+                    wm.clearNodeMemory( (MemoryFactory) node );
+                }
+            }
+        }
+        for ( PathMemory pmem : new ArrayList<PathMemory>( pmems ) ) {
+            wm.clearNodeMemory( (MemoryFactory) pmem.getPathEndNode() );
+        }
+    }
+}
@@ -122,6 +122,11 @@ public class SynchronizedPropagationList implements PropagationList {
         return head == null;
     }
 
+    @Override
+    public synchronized boolean isLastEntry( PropagationEntry entry ) {
+        return tail == entry;
+    }
+
     public synchronized void waitOnRest() {
         workingMemory.onSuspend();
         try {
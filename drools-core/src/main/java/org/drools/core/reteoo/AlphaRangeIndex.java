@@ -0,0 +1,368 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.reteoo;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Arrays;
+
+import org.drools.core.base.ValueType;
+import org.drools.core.common.InternalFactHandle;
+import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.rule.IndexableConstraint;
+import org.drools.core.spi.AlphaNodeFieldConstraint;
+import org.drools.core.spi.FieldValue;
+import org.drools.core.spi.InternalReadAccessor;
+import org.drools.core.spi.PropagationContext;
+import org.drools.core.util.index.IndexUtil;
+
+/**
+ * Indexes the AlphaNodes comparing the same numeric field of a fact with a literal through &lt;, &lt;=, &gt; or &gt;=.
+ * For each of the 4 operators the AlphaNodes are kept sorted by their literal, so that the ones satisfied by a
+ * given fact are a contiguous range found with a binary search, instead of evaluating all the constraints.
+ *
+ * The matching AlphaNodes are always visited in the same relative order returned by getSinks(), that is the
+ * order used to assign the ObjectTypeNode ids to the downstream nodes.
+ */
+public class AlphaRangeIndex implements Externalizable {
+
+    private static final long serialVersionUID = 510l;
+
+    private static final int GREATER_THAN = 0;
+    private static final int GREATER_OR_EQUAL = 1;
+    private static final int LESS_THAN = 2;
+    private static final int LESS_OR_EQUAL = 3;
+
+    private int index;
+    private InternalReadAccessor fieldExtractor;
+    private boolean integral;
+
+    private SortedSinks[] sortedSinks;
+
+    private int size;
+
+    private boolean indexed;
+
+    private transient AlphaNode[] sinks;
+
+    public AlphaRangeIndex() {
+    }
+
+    public AlphaRangeIndex(final int index,
+                           final InternalReadAccessor fieldExtractor) {
+        this.index = index;
+        this.fieldExtractor = fieldExtractor;
+        this.integral = fieldExtractor.getValueType().isIntegerNumber();
+        this.sortedSinks = new SortedSinks[] { new SortedSinks(), new SortedSinks(), new SortedSinks(), new SortedSinks() };
+    }
+
+    public void readExternal(ObjectInput in) throws IOException,
+                                            ClassNotFoundException {
+        index = in.readInt();
+        fieldExtractor = (InternalReadAccessor) in.readObject();
+        integral = in.readBoolean();
+        sortedSinks = (SortedSinks[]) in.readObject();
+        size = in.readInt();
+        indexed = in.readBoolean();
+    }
+
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeInt( index );
+        out.writeObject( fieldExtractor );
+        out.writeBoolean( integral );
+        out.writeObject( sortedSinks );
+        out.writeInt( size );
+        out.writeBoolean( indexed );
+    }
+
+    /**
+     * Returns the reader of the field compared by the given AlphaNode if its constraint can be range indexed,
+     * i.e. if it compares a primitive integer or double field with a numeric literal.
+     */
+    static InternalReadAccessor getRangeIndexableAccessor(AlphaNode alphaNode) {
+        AlphaNodeFieldConstraint fieldConstraint = alphaNode.getConstraint();
+        if ( !(fieldConstraint instanceof IndexableConstraint) ) {
+            return null;
+        }
+        IndexableConstraint indexableConstraint = (IndexableConstraint) fieldConstraint;
+        if ( indexableConstraint.getConstraintType() == null || !indexableConstraint.getConstraintType().isComparison() ) {
+            return null;
+        }
+        FieldValue value = indexableConstraint.getField();
+        InternalReadAccessor extractor = indexableConstraint.getFieldExtractor();
+        // our current implementation does not support indexing of deeply nested properties
+        if ( value == null || value.isNull() || extractor == null || extractor.getIndex() < 0 ) {
+            return null;
+        }
+        ValueType valueType = extractor.getValueType();
+        if ( valueType == ValueType.PINTEGER_TYPE || valueType == ValueType.PLONG_TYPE ||
+             valueType == ValueType.PSHORT_TYPE || valueType == ValueType.PBYTE_TYPE ) {
+            // an integer field compared with a decimal literal is left to the constraint
+            return value.isIntegerNumberField() ? extractor : null;
+        }
+        if ( valueType == ValueType.PDOUBLE_TYPE ) {
+            if ( value.isIntegerNumberField() ) {
+                return extractor;
+            }
+            return value.isFloatNumberField() && !Double.isNaN( value.getDoubleValue() ) ? extractor : null;
+        }
+        return null;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public InternalReadAccessor getFieldExtractor() {
+        return fieldExtractor;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isIndexed() {
+        return indexed;
+    }
+
+    public void setIndexed(boolean indexed) {
+        this.indexed = indexed;
+    }
+
+    public void add(AlphaNode alphaNode) {
+        this.sinks = null; // dirty it, so it'll rebuild on next get
+        IndexableConstraint constraint = (IndexableConstraint) alphaNode.getConstraint();
+        sortedSinks[getOperator( constraint.getConstraintType() )].add( alphaNode, constraint.getField(), integral );
+        size++;
+    }
+
+    public boolean remove(AlphaNode alphaNode) {
+        this.sinks = null; // dirty it, so it'll rebuild on next get
+        IndexableConstraint constraint = (IndexableConstraint) alphaNode.getConstraint();
+        if ( sortedSinks[getOperator( constraint.getConstraintType() )].remove( alphaNode ) ) {
+            size--;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns all the indexed AlphaNodes, in the same order in which the matching ones are visited during a propagation
+     */
+    public AlphaNode[] getSinks() {
+        if ( sinks != null ) {
+            return sinks;
+        }
+        AlphaNode[] sinks = new AlphaNode[size];
+        int at = 0;
+        for ( SortedSinks sorted : sortedSinks ) {
+            System.arraycopy( sorted.nodes, 0, sinks, at, sorted.size );
+            at += sorted.size;
+        }
+        this.sinks = sinks;
+        return sinks;
+    }
+
+    /**
+     * Propagates the fact only to the AlphaNodes whose constraint is satisfied by it, without the need to evaluate them
+     */
+    public void propagateAssertObject(final InternalFactHandle factHandle,
+                                      final PropagationContext context,
+                                      final InternalWorkingMemory workingMemory) {
+        int[] bounds = getMatchingBounds( factHandle.getObject() );
+        if ( bounds == null ) {
+            return;
+        }
+        for ( int op = 0; op < sortedSinks.length; op++ ) {
+            AlphaNode[] nodes = sortedSinks[op].nodes;
+            for ( int i = bounds[op * 2], end = bounds[op * 2 + 1]; i < end; i++ ) {
+                // go straight to the AlphaNode's propagator, as we know it's true and no need to retest
+                nodes[i].getObjectSinkPropagator().propagateAssertObject( factHandle, context, workingMemory );
+            }
+        }
+    }
+
+    /**
+     * Returns, for each operator, the range [from, to) of the AlphaNodes whose constraint is satisfied by the given
+     * fact, or null if none is satisfied.
+     */
+    int[] getMatchingBounds(Object object) {
+        int[] bounds = new int[8];
+        if ( integral ) {
+            long value = fieldExtractor.getLongValue( null, object );
+            bounds[1] = sortedSinks[GREATER_THAN].lowerBound( value );
+            bounds[3] = sortedSinks[GREATER_OR_EQUAL].upperBound( value );
+            bounds[4] = sortedSinks[LESS_THAN].upperBound( value );
+            bounds[6] = sortedSinks[LESS_OR_EQUAL].lowerBound( value );
+        } else {
+            double value = fieldExtractor.getDoubleValue( null, object );
+            if ( Double.isNaN( value ) ) {
+                // no comparison is satisfied by NaN
+                return null;
+            }
+            bounds[1] = sortedSinks[GREATER_THAN].lowerBound( value );
+            bounds[3] = sortedSinks[GREATER_OR_EQUAL].upperBound( value );
+            bounds[4] = sortedSinks[LESS_THAN].upperBound( value );
+            bounds[6] = sortedSinks[LESS_OR_EQUAL].lowerBound( value );
+        }
+        bounds[5] = sortedSinks[LESS_THAN].size;
+        bounds[7] = sortedSinks[LESS_OR_EQUAL].size;
+        return bounds;
+    }
+
+    private static int getOperator(IndexUtil.ConstraintType constraintType) {
+        switch ( constraintType ) {
+            case GREATER_THAN:
+                return GREATER_THAN;
+            case GREATER_OR_EQUAL:
+                return GREATER_OR_EQUAL;
+            case LESS_THAN:
+                return LESS_THAN;
+            case LESS_OR_EQUAL:
+                return LESS_OR_EQUAL;
+            default:
+                throw new UnsupportedOperationException( "Cannot range index constraint of type: " + constraintType );
+        }
+    }
+
+    /**
+     * The AlphaNodes having the same operator, sorted by the literal they compare the field with. Nodes with the
+     * same literal are kept in insertion order.
+     */
+    public static class SortedSinks implements Externalizable {
+
+        private static final long serialVersionUID = 510l;
+
+        private AlphaNode[] nodes = new AlphaNode[4];
+        private long[] longKeys = new long[4];
+        private double[] doubleKeys = new double[4];
+        private int size;
+
+        public SortedSinks() {
+        }
+
+        public void readExternal(ObjectInput in) throws IOException,
+                                                ClassNotFoundException {
+            nodes = (AlphaNode[]) in.readObject();
+            longKeys = (long[]) in.readObject();
+            doubleKeys = (double[]) in.readObject();
+            size = in.readInt();
+        }
+
+        public void writeExternal(ObjectOutput out) throws IOException {
+            out.writeObject( nodes );
+            out.writeObject( longKeys );
+            out.writeObject( doubleKeys );
+            out.writeInt( size );
+        }
+
+        void add(AlphaNode alphaNode, FieldValue value, boolean integral) {
+            if ( size == nodes.length ) {
+                nodes = Arrays.copyOf( nodes, size * 2 );
+                longKeys = Arrays.copyOf( longKeys, size * 2 );
+                doubleKeys = Arrays.copyOf( doubleKeys, size * 2 );
+            }
+            long longKey = integral ? value.getLongValue() : 0L;
+            double doubleKey = integral ? 0.0 : value.getDoubleValue();
+            int pos = integral ? upperBound( longKey ) : upperBound( doubleKey );
+            System.arraycopy( nodes, pos, nodes, pos + 1, size - pos );
+            System.arraycopy( longKeys, pos, longKeys, pos + 1, size - pos );
+            System.arraycopy( doubleKeys, pos, doubleKeys, pos + 1, size - pos );
+            nodes[pos] = alphaNode;
+            longKeys[pos] = longKey;
+            doubleKeys[pos] = doubleKey;
+            size++;
+        }
+
+        boolean remove(AlphaNode alphaNode) {
+            for ( int i = 0; i < size; i++ ) {
+                if ( nodes[i] == alphaNode ) {
+                    System.arraycopy( nodes, i + 1, nodes, i, size - i - 1 );
+                    System.arraycopy( longKeys, i + 1, longKeys, i, size - i - 1 );
+                    System.arraycopy( doubleKeys, i + 1, doubleKeys, i, size - i - 1 );
+                    nodes[--size] = null;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * @return the position of the first key greater or equal than the given value
+         */
+        int lowerBound(long value) {
+            int low = 0;
+            int high = size;
+            while ( low < high ) {
+                int mid = (low + high) >>> 1;
+                if ( longKeys[mid] < value ) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * @return the position of the first key strictly greater than the given value
+         */
+        int upperBound(long value) {
+            int low = 0;
+            int high = size;
+            while ( low < high ) {
+                int mid = (low + high) >>> 1;
+                if ( longKeys[mid] <= value ) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        int lowerBound(double value) {
+            int low = 0;
+            int high = size;
+            while ( low < high ) {
+                int mid = (low + high) >>> 1;
+                if ( doubleKeys[mid] < value ) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        int upperBound(double value) {
+            int low = 0;
+            int high = size;
+            while ( low < high ) {
+                int mid = (low + high) >>> 1;
+                if ( doubleKeys[mid] <= value ) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -38,6 +38,7 @@ public class BetaMemory extends AbstractBaseLinkedListNode<Memory>
     private long                       nodePosMaskBit;
     private int                        counter;
     private RiaPathMemory              riaRuleMemory;
+    private RightTuplePool             rightTuplePool;
 
     public BetaMemory() {
     }
@@ -77,6 +78,14 @@ public class BetaMemory extends AbstractBaseLinkedListNode<Memory>
         this.riaRuleMemory = riaRuleMemory;
     }
 
+    public RightTuplePool getRightTuplePool() {
+        return rightTuplePool;
+    }
+
+    public void setRightTuplePool(RightTuplePool rightTuplePool) {
+        this.rightTuplePool = rightTuplePool;
+    }
+
     /**
      * @return the context
      */
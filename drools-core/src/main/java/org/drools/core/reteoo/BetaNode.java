@@ -296,7 +296,10 @@ public abstract class BetaNode extends LeftTupleSource
                               final InternalWorkingMemory wm ) {
         final BetaMemory memory = getBetaMemoryFromRightInput(this, wm);
 
-        RightTuple rightTuple = createRightTuple( factHandle, this, pctx );
+        RightTuplePool rightTuplePool = memory.getRightTuplePool();
+        RightTuple rightTuple = rightTuplePool != null ?
+                                rightTuplePool.acquire( factHandle, this, pctx ) :
+                                createRightTuple( factHandle, this, pctx );
 
         boolean stagedInsertWasEmpty = memory.getStagedRightTuples().addInsert(rightTuple);
         if ( isLogTraceEnabled ) {
@@ -59,6 +59,8 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
 
     ObjectHashMap             hashedSinkMap;
 
+    List<AlphaRangeIndex>     rangeIndexes;
+
     private int               alphaNodeHashingThreshold;
 
     private ObjectSink[]      sinks;
@@ -80,6 +82,7 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
         hashedFieldIndexes = (LinkedList) in.readObject();
         hashedSinkMap = (ObjectHashMap) in.readObject();
         alphaNodeHashingThreshold = in.readInt();
+        rangeIndexes = (List<AlphaRangeIndex>) in.readObject();
     }
 
     public void writeExternal(ObjectOutput out) throws IOException {
@@ -88,6 +91,7 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
         out.writeObject( hashedFieldIndexes );
         out.writeObject( hashedSinkMap );
         out.writeInt( alphaNodeHashingThreshold );
+        out.writeObject( rangeIndexes );
     }
 
     public ObjectSinkNodeList getOthers() {
@@ -102,6 +106,10 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
         return this.hashedSinkMap;
     }
 
+    public List<AlphaRangeIndex> getRangeIndexes() {
+        return this.rangeIndexes;
+    }
+
     public ObjectSinkPropagator addObjectSink(ObjectSink sink) {
         return addObjectSink(sink, 0);
     }
@@ -140,6 +148,28 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
                 }
                 return this;
             }
+
+            final InternalReadAccessor rangeAccessor = AlphaRangeIndex.getRangeIndexableAccessor(alphaNode);
+            if ( rangeAccessor != null ) {
+                final AlphaRangeIndex rangeIndex = registerRangeIndex( rangeAccessor );
+                rangeIndex.add( alphaNode );
+                if ( rangeIndex.isIndexed() ) {
+                    return this;
+                }
+                if ( rangeIndex.size() >= this.alphaNodeHashingThreshold && this.alphaNodeHashingThreshold != 0 ) {
+                    // the other range indexable sinks on the same field are still in otherSinks, move them to the index
+                    for ( AlphaNode indexed : rangeIndex.getSinks() ) {
+                        if ( indexed != alphaNode ) {
+                            this.otherSinks.remove( indexed );
+                        }
+                    }
+                    if ( this.otherSinks != null && this.otherSinks.isEmpty() ) {
+                        this.otherSinks = null;
+                    }
+                    rangeIndex.setIndexed( true );
+                    return this;
+                }
+            }
         }
 
         if ( this.otherSinks == null ) {
@@ -206,6 +236,23 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
                     return size() == 1 ? new SingleObjectSinkAdapter( getSinks()[0] ) : this;
                 }
             }
+
+            final InternalReadAccessor rangeAccessor = AlphaRangeIndex.getRangeIndexableAccessor(alphaNode);
+            if ( rangeAccessor != null ) {
+                final AlphaRangeIndex rangeIndex = findRangeIndex( rangeAccessor.getIndex() );
+                if ( rangeIndex != null && rangeIndex.remove( alphaNode ) ) {
+                    if ( rangeIndex.size() == 0 ) {
+                        unregisterRangeIndex( rangeIndex );
+                    }
+                    if ( rangeIndex.isIndexed() ) {
+                        if ( rangeIndex.size() < this.alphaNodeHashingThreshold ) {
+                            // not enough sinks left to be worth indexing, give them back to otherSinks
+                            unIndexRangeSinks( rangeIndex );
+                        }
+                        return size() == 1 ? new SingleObjectSinkAdapter( getSinks()[0] ) : this;
+                    }
+                }
+            }
         }
 
         this.otherSinks.remove( (ObjectSinkNode) sink );
@@ -297,6 +344,46 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
         fieldIndex.setHashed( false );
     }
 
+    private void unIndexRangeSinks(final AlphaRangeIndex rangeIndex) {
+        if ( rangeIndex.size() > 0 && this.otherSinks == null ) {
+            this.otherSinks = new ObjectSinkNodeList();
+        }
+        for ( AlphaNode alphaNode : rangeIndex.getSinks() ) {
+            this.otherSinks.add( alphaNode );
+        }
+        rangeIndex.setIndexed( false );
+    }
+
+    private AlphaRangeIndex registerRangeIndex(final InternalReadAccessor fieldExtractor) {
+        if ( this.rangeIndexes == null ) {
+            this.rangeIndexes = new ArrayList<AlphaRangeIndex>();
+        }
+        AlphaRangeIndex rangeIndex = findRangeIndex( fieldExtractor.getIndex() );
+        if ( rangeIndex == null ) {
+            rangeIndex = new AlphaRangeIndex( fieldExtractor.getIndex(), fieldExtractor );
+            this.rangeIndexes.add( rangeIndex );
+        }
+        return rangeIndex;
+    }
+
+    private void unregisterRangeIndex(final AlphaRangeIndex rangeIndex) {
+        this.rangeIndexes.remove( rangeIndex );
+        if ( this.rangeIndexes.isEmpty() ) {
+            this.rangeIndexes = null;
+        }
+    }
+
+    private AlphaRangeIndex findRangeIndex(final int index) {
+        if ( this.rangeIndexes != null ) {
+            for ( AlphaRangeIndex rangeIndex : this.rangeIndexes ) {
+                if ( rangeIndex.getIndex() == index ) {
+                    return rangeIndex;
+                }
+            }
+        }
+        return null;
+    }
+
     /**
      * Returns a FieldIndex which Keeps a count on how many times a particular field is used with an equality check
      * in the sinks.
@@ -390,6 +477,15 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
             }
         }
 
+        if ( this.rangeIndexes != null ) {
+            // propagate only to the range indexed sinks satisfied by the fact
+            for ( AlphaRangeIndex rangeIndex : this.rangeIndexes ) {
+                if ( rangeIndex.isIndexed() ) {
+                    rangeIndex.propagateAssertObject( factHandle, context, workingMemory );
+                }
+            }
+        }
+
         if ( this.otherSinks != null ) {
             // propagate others
             for ( ObjectSinkNode sink = this.otherSinks.getFirst(); sink != null; sink = sink.getNextObjectSinkNode() ) {
@@ -436,6 +532,21 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
             }
         }
 
+        if ( this.rangeIndexes != null ) {
+            // the range indexed sinks are still evaluated one by one on modify, so they can honour the modification mask
+            for ( AlphaRangeIndex rangeIndex : this.rangeIndexes ) {
+                if ( rangeIndex.isIndexed() ) {
+                    for ( AlphaNode sink : rangeIndex.getSinks() ) {
+                        doPropagateModifyObject( factHandle,
+                                                 modifyPreviousTuples,
+                                                 context,
+                                                 workingMemory,
+                                                 sink );
+                    }
+                }
+            }
+        }
+
         if ( this.otherSinks != null ) {
             // propagate others
             for ( ObjectSinkNode sink = this.otherSinks.getFirst(); sink != null; sink = sink.getNextObjectSinkNode() ) {
@@ -478,6 +589,16 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
             }
         }
 
+        if ( this.rangeIndexes != null ) {
+            for ( AlphaRangeIndex rangeIndex : this.rangeIndexes ) {
+                if ( rangeIndex.isIndexed() ) {
+                    for ( AlphaNode sink : rangeIndex.getSinks() ) {
+                        sink.getObjectSinkPropagator().byPassModifyToBetaNode( factHandle, modifyPreviousTuples, context, workingMemory );
+                    }
+                }
+            }
+        }
+
         if ( this.otherSinks != null ) {
             // propagate others
             for ( ObjectSinkNode sink = this.otherSinks.getFirst(); sink != null; sink = sink.getNextObjectSinkNode() ) {                
@@ -539,6 +660,16 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
                 sinksMap.put( sink, sink );
             }
         }
+
+        if ( this.rangeIndexes != null ) {
+            for ( AlphaRangeIndex rangeIndex : this.rangeIndexes ) {
+                if ( rangeIndex.isIndexed() ) {
+                    for ( AlphaNode sink : rangeIndex.getSinks() ) {
+                        sinksMap.put( sink, sink );
+                    }
+                }
+            }
+        }
     }
 
     public ObjectSink[] getSinks() {
@@ -572,6 +703,16 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
             }
         }
 
+        if ( this.rangeIndexes != null ) {
+            for ( AlphaRangeIndex rangeIndex : this.rangeIndexes ) {
+                if ( rangeIndex.isIndexed() ) {
+                    for ( AlphaNode sink : rangeIndex.getSinks() ) {
+                        sinks[at++] = sink;
+                    }
+                }
+            }
+        }
+
         if ( this.otherSinks != null ) {
             for ( ObjectSinkNode sink = this.otherSinks.getFirst(); sink != null; sink = sink.getNextObjectSinkNode() ) {
                 sinks[at++] = sink;
@@ -600,7 +741,19 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
     }     
 
     public int size() {
-        return (this.otherSinks != null ? this.otherSinks.size() : 0) + (this.hashableSinks != null ? this.hashableSinks.size() : 0) + (this.hashedSinkMap != null ? this.hashedSinkMap.size() : 0);
+        return (this.otherSinks != null ? this.otherSinks.size() : 0) + (this.hashableSinks != null ? this.hashableSinks.size() : 0) + (this.hashedSinkMap != null ? this.hashedSinkMap.size() : 0) + rangeIndexedSize();
+    }
+
+    private int rangeIndexedSize() {
+        int size = 0;
+        if ( this.rangeIndexes != null ) {
+            for ( AlphaRangeIndex rangeIndex : this.rangeIndexes ) {
+                if ( rangeIndex.isIndexed() ) {
+                    size += rangeIndex.size();
+                }
+            }
+        }
+        return size;
     }
 
     public boolean isEmpty() {
@@ -257,6 +257,21 @@ public class CompositePartitionAwareObjectSinkAdapter implements ObjectSinkPropa
         return sinkPropagator;
     }
 
+    /**
+     * Redistributes the sinks among the partitioned propagators after that the parallel
+     * evaluation slot of one or more partitions has been changed
+     */
+    public void reassignPartitionSlots( int alphaNodeHashingThreshold ) {
+        ObjectSinkPropagator[] oldPropagators = partitionedPropagators.clone();
+        Arrays.fill(partitionedPropagators, EmptyObjectSinkAdapter.getInstance());
+        for ( ObjectSinkPropagator oldPropagator : oldPropagators ) {
+            for (ObjectSink sink : oldPropagator.getSinks()) {
+                int partition = sink.getPartitionId().getParallelEvaluationSlot();
+                partitionedPropagators[partition] = partitionedPropagators[partition].addObjectSink( sink, alphaNodeHashingThreshold );
+            }
+        }
+    }
+
     public int getUsedPartitionsCount() {
         int partitions = 0;
         for ( int i = 0; i < partitionedPropagators.length; i++ ) {
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.reteoo;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.drools.core.common.BaseNode;
+import org.drools.core.common.RuleBasePartitionId;
+import org.drools.core.impl.InternalKnowledgeBase;
+
+/**
+ * Assigns the rule base partitions to the parallel evaluation slots using the costs recorded in a
+ * PartitionProfile instead of the plain partition id. Partitions are sorted by decreasing cost and
+ * each of them is given to the slot with the lowest cost so far (longest processing time first),
+ * so that all the slots complete their evaluation at roughly the same time. Partitions without any
+ * recorded cost weight 1, so that they still get spread among the slots.
+ */
+public class CostBasedPartitioner {
+
+    private final int slotsNr;
+
+    public CostBasedPartitioner() {
+        this( RuleBasePartitionId.PARALLEL_PARTITIONS_NUMBER );
+    }
+
+    public CostBasedPartitioner( int slotsNr ) {
+        this.slotsNr = slotsNr;
+    }
+
+    public Map<RuleBasePartitionId, Integer> computeSlots( InternalKnowledgeBase kbase, PartitionProfile profile ) {
+        Map<RuleBasePartitionId, Long> partitionCosts = new HashMap<RuleBasePartitionId, Long>();
+        for ( Map.Entry<String, BaseNode[]> entry : kbase.getReteooBuilder().getTerminalNodes().entrySet() ) {
+            long ruleCost = Math.max( 1L, profile.getCost( entry.getKey() ) );
+            for ( BaseNode node : entry.getValue() ) {
+                RuleBasePartitionId partitionId = node.getPartitionId();
+                if ( partitionId != null && partitionId != RuleBasePartitionId.MAIN_PARTITION ) {
+                    partitionCosts.merge( partitionId, ruleCost, Long::sum );
+                }
+            }
+        }
+
+        List<Map.Entry<RuleBasePartitionId, Long>> sorted = new ArrayList<Map.Entry<RuleBasePartitionId, Long>>( partitionCosts.entrySet() );
+        // sort by decreasing cost, using the id to get a deterministic assignment among partitions with the same cost
+        sorted.sort( (e1, e2) -> e1.getValue().equals( e2.getValue() ) ?
+                                 Integer.compare( e1.getKey().getId(), e2.getKey().getId() ) :
+                                 Long.compare( e2.getValue(), e1.getValue() ) );
+
+        long[] slotCosts = new long[slotsNr];
+        Map<RuleBasePartitionId, Integer> slots = new HashMap<RuleBasePartitionId, Integer>();
+        for ( Map.Entry<RuleBasePartitionId, Long> entry : sorted ) {
+            int slot = 0;
+            for (int i = 1; i < slotsNr; i++) {
+                if ( slotCosts[i] < slotCosts[slot] ) {
+                    slot = i;
+                }
+            }
+            slotCosts[slot] += entry.getValue();
+            slots.put( entry.getKey(), slot );
+        }
+        return slots;
+    }
+}
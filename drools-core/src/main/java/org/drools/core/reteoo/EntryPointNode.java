@@ -239,6 +239,26 @@ public class EntryPointNode extends ObjectSource
         }
     }
 
+    /**
+     * Asserts a batch of facts enqueueing a single propagation for all of them
+     */
+    public void assertObjects(final InternalFactHandle[] handles,
+                              final PropagationContext[] contexts,
+                              final ObjectTypeConf[] objectTypeConfs,
+                              final int size,
+                              final InternalWorkingMemory workingMemory) {
+        if ( log.isTraceEnabled() ) {
+            log.trace("InsertAll of {} facts", size);
+        }
+
+        if ( partitionsEnabled ) {
+            for (int i = 0; i < size; i++) {
+                PropagationEntry.Insert.execute( handles[i], contexts[i], workingMemory, objectTypeConfs[i] );
+            }
+        } else {
+            workingMemory.addPropagation( new PropagationEntry.InsertAll( handles, contexts, objectTypeConfs, size, workingMemory ) );
+        }
+    }
 
     public void modifyObject(final InternalFactHandle handle,
                              final PropagationContext pctx,
@@ -18,9 +18,11 @@ package org.drools.core.reteoo;
 
 import java.util.Collection;
 
+import org.drools.core.RuleBaseConfiguration;
 import org.drools.core.common.BetaConstraints;
 import org.drools.core.common.InternalFactHandle;
 import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.common.Memory;
 import org.drools.core.reteoo.builder.BuildContext;
 import org.drools.core.spi.PropagationContext;
 
@@ -49,6 +51,16 @@ public class JoinNode extends BetaNode {
         return NodeTypeEnums.JoinNode;
     }
 
+    @Override
+    public Memory createMemory(RuleBaseConfiguration config, InternalWorkingMemory wm) {
+        BetaMemory memory = (BetaMemory) super.createMemory( config, wm );
+        int rightTuplePoolSize = wm != null ? wm.getSessionConfiguration().getRightTuplePoolSize() : 0;
+        if ( rightTuplePoolSize > 0 ) {
+            memory.setRightTuplePool( new RightTuplePool( rightTuplePoolSize ) );
+        }
+        return memory;
+    }
+
     public String toString() {
         return "[JoinNode(" + this.getId() + ") - " + getObjectTypeNode().getObjectType() + "]";
     }
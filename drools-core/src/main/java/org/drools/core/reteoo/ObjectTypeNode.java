@@ -594,7 +594,7 @@ public class ObjectTypeNode extends ObjectSource
 
         public void execute(JobContext ctx) {
             ExpireJobContext context = (ExpireJobContext) ctx;
-            context.workingMemory.queueWorkingMemoryAction(context.expireAction);
+            context.workingMemory.queueExpiration(context.expireAction);
             context.getExpireAction().getFactHandle().removeJob( context.getJobHandle());
         }
     }
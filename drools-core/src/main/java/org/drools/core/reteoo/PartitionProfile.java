@@ -0,0 +1,105 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.reteoo;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.drools.core.common.BaseNode;
+import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.common.Memory;
+import org.drools.core.common.NetworkNode;
+import org.drools.core.common.NodeMemories;
+
+/**
+ * Records the runtime cost of each rule, so that it can be used to assign the rule base partitions
+ * to the parallel evaluation slots in a balanced way. The cost of a rule is the sum of the tuples held
+ * in the memories of its beta nodes, plus the number of propagations reported for it. Costs are keyed
+ * by the fully qualified rule name, so a profile recorded on a KieBase can be reused to partition a
+ * new KieBase built from the same rules.
+ */
+public class PartitionProfile implements Serializable {
+
+    private static final long serialVersionUID = 510l;
+
+    private final Map<String, Long> ruleCosts = new HashMap<String, Long>();
+
+    /**
+     * Adds to this profile the size of the tuple memories currently held by the given session
+     */
+    public void recordSession( InternalWorkingMemory wm ) {
+        NodeMemories nodeMemories = wm.getNodeMemories();
+        for ( Map.Entry<String, BaseNode[]> entry : wm.getKnowledgeBase().getReteooBuilder().getTerminalNodes().entrySet() ) {
+            long cost = 0;
+            for ( BaseNode node : entry.getValue() ) {
+                for ( LeftTupleSource lts = ( (TerminalNode) node ).getLeftTupleSource(); lts != null; lts = lts.getLeftTupleSource() ) {
+                    cost += getMemorySize( nodeMemories, lts );
+                }
+            }
+            addCost( entry.getKey(), cost );
+        }
+    }
+
+    /**
+     * Adds to this profile a number of propagations observed for the given rule
+     */
+    public void recordPropagations( String ruleName, long propagations ) {
+        addCost( ruleName, propagations );
+    }
+
+    private static long getMemorySize( NodeMemories nodeMemories, NetworkNode node ) {
+        Memory memory = nodeMemories.peekNodeMemory( node );
+        BetaMemory betaMemory = null;
+        if ( memory instanceof BetaMemory ) {
+            betaMemory = (BetaMemory) memory;
+        } else if ( memory instanceof AccumulateNode.AccumulateMemory ) {
+            betaMemory = ( (AccumulateNode.AccumulateMemory) memory ).getBetaMemory();
+        } else if ( memory instanceof FromNode.FromMemory ) {
+            betaMemory = ( (FromNode.FromMemory) memory ).getBetaMemory();
+        }
+        if ( betaMemory == null ) {
+            return 0;
+        }
+        return betaMemory.getLeftTupleMemory().size() +
+               ( betaMemory.getRightTupleMemory() != null ? betaMemory.getRightTupleMemory().size() : 0 );
+    }
+
+    private void addCost( String ruleName, long cost ) {
+        if ( cost > 0 ) {
+            ruleCosts.merge( ruleName, cost, Long::sum );
+        }
+    }
+
+    public long getCost( String ruleName ) {
+        Long cost = ruleCosts.get( ruleName );
+        return cost != null ? cost : 0L;
+    }
+
+    public boolean isEmpty() {
+        return ruleCosts.isEmpty();
+    }
+
+    public void clear() {
+        ruleCosts.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "PartitionProfile" + ruleCosts;
+    }
+}
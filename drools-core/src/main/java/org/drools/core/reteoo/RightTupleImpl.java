@@ -77,6 +77,34 @@ public class RightTupleImpl extends BaseTuple implements RightTuple {
 
     }
 
+    /**
+     * Drops every reference held by this tuple so it can be safely kept in a RightTuplePool
+     */
+    void recycle() {
+        setFactHandle( null );
+        setPropagationContext( null );
+        setContextObject( null );
+        setExpired( false );
+        clearStaged();
+        clear();
+        setMemory( null );
+        this.handlePrevious = null;
+        this.handleNext = null;
+        this.firstChild = null;
+        this.lastChild = null;
+        this.blocked = null;
+        this.sink = null;
+    }
+
+    /**
+     * Rebinds a recycled tuple to the given handle and sink, as the constructor would do for a new instance
+     */
+    void reinit(InternalFactHandle handle, RightTupleSink sink) {
+        setFactHandle( handle );
+        this.sink = sink;
+        handle.addLastRightTuple( this );
+    }
+
     public LeftTuple getBlocked() {
         return this.blocked;
     }
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.reteoo;
+
+import org.drools.core.common.InternalFactHandle;
+import org.drools.core.spi.PropagationContext;
+
+/**
+ * A bounded, per node memory stack of RightTuples that have been fully deleted from a JoinNode
+ * and can be reused for the next insertion in the same node instead of allocating a new one.
+ * It is not thread safe, being accessed only by the thread owning the session.
+ */
+public class RightTuplePool {
+
+    public static final String PROPERTY_NAME = "drools.rightTuplePoolSize";
+
+    private final RightTupleImpl[] pool;
+    private int size;
+
+    private long created;
+    private long reused;
+
+    public RightTuplePool(int capacity) {
+        this.pool = new RightTupleImpl[capacity];
+    }
+
+    public RightTuple acquire(InternalFactHandle handle, RightTupleSink sink, PropagationContext context) {
+        RightTupleImpl rightTuple;
+        if ( size > 0 ) {
+            rightTuple = pool[--size];
+            pool[size] = null;
+            rightTuple.reinit( handle, sink );
+            reused++;
+        } else {
+            rightTuple = new RightTupleImpl( handle, sink );
+            created++;
+        }
+        rightTuple.setPropagationContext( context );
+        return rightTuple;
+    }
+
+    public boolean release(RightTuple rightTuple) {
+        // subclasses like WindowTuple carry additional state, so only plain RightTuples are recycled
+        if ( size == pool.length || rightTuple.getClass() != RightTupleImpl.class ) {
+            return false;
+        }
+        RightTupleImpl rightTupleImpl = (RightTupleImpl) rightTuple;
+        rightTupleImpl.recycle();
+        pool[size++] = rightTupleImpl;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return pool.length;
+    }
+
+    public long getCreatedCount() {
+        return created;
+    }
+
+    public long getReusedCount() {
+        return reused;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            pool[i] = null;
+        }
+        size = 0;
+    }
+}
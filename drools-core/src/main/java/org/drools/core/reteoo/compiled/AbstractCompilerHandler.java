@@ -20,6 +20,11 @@ import org.drools.core.base.ClassFieldReader;
 import org.drools.core.reteoo.AlphaNode;
 import org.drools.core.reteoo.Sink;
 import org.drools.core.rule.ContextEntry;
+import org.drools.core.rule.constraint.MvelConstraint;
+import org.drools.core.spi.AlphaNodeFieldConstraint;
+import org.drools.core.spi.FieldValue;
+import org.drools.core.spi.InternalReadAccessor;
+import org.drools.core.util.index.IndexUtil;
 
 /**
  * This handler is used as a base class for all {@link org.kie.reteoo.compiled.NetworkHandler}s used for
@@ -64,6 +69,78 @@ abstract class AbstractCompilerHandler extends NetworkHandlerAdaptor {
         return MAP_VARIABLE_NAME_SUFFIX;
     }
 
+    protected String getReadAccessorVariableName(AlphaNode alphaNode) {
+        return getVariableName(InternalReadAccessor.class, alphaNode.getId());
+    }
+
+    /**
+     * Returns true if the constraint of the specified {@link AlphaNode} compares a primitive field of the fact
+     * with a numeric literal, so that it can be evaluated by the generated code without dispatching to the constraint.
+     */
+    protected boolean canInlineConstraint(AlphaNode alphaNode) {
+        AlphaNodeFieldConstraint constraint = alphaNode.getConstraint();
+        if ( !(constraint instanceof MvelConstraint) ) {
+            return false;
+        }
+        MvelConstraint mvelConstraint = (MvelConstraint) constraint;
+        if ( mvelConstraint.isUnification() || mvelConstraint.isDynamic() || mvelConstraint.getOperators().length > 0 ) {
+            return false;
+        }
+        IndexUtil.ConstraintType constraintType = mvelConstraint.getConstraintType();
+        if ( constraintType == null || constraintType.getOperator() == null ) {
+            return false;
+        }
+        InternalReadAccessor extractor = mvelConstraint.getFieldExtractor();
+        if ( !(extractor instanceof ClassFieldReader) || getPrimitiveValueGetter( extractor.getExtractToClass() ) == null ) {
+            return false;
+        }
+        return getInlinedLiteral( mvelConstraint.getField() ) != null;
+    }
+
+    /**
+     * Returns the boolean expression evaluating inline the constraint of the specified {@link AlphaNode}, like
+     * <code>internalReadAccessor24.getIntValue(wm, handle.getObject()) &gt; 18L</code>. It can be used only if
+     * {@link #canInlineConstraint(AlphaNode)} returns true.
+     */
+    protected String getInlinedConstraint(AlphaNode alphaNode, String factHandleName, String workingMemoryName) {
+        MvelConstraint mvelConstraint = (MvelConstraint) alphaNode.getConstraint();
+        return getReadAccessorVariableName(alphaNode) + "." +
+               getPrimitiveValueGetter( mvelConstraint.getFieldExtractor().getExtractToClass() ) +
+               "(" + workingMemoryName + ", " + factHandleName + ".getObject()) " +
+               mvelConstraint.getConstraintType().getOperator() + " " +
+               getInlinedLiteral( mvelConstraint.getField() );
+    }
+
+    private String getPrimitiveValueGetter(Class<?> fieldType) {
+        if ( fieldType == int.class ) {
+            return "getIntValue";
+        } else if ( fieldType == long.class ) {
+            return "getLongValue";
+        } else if ( fieldType == short.class ) {
+            return "getShortValue";
+        } else if ( fieldType == byte.class ) {
+            return "getByteValue";
+        } else if ( fieldType == double.class ) {
+            return "getDoubleValue";
+        }
+        // floats are left to the constraint, as the literal could be coerced differently from a plain java comparison
+        return null;
+    }
+
+    private String getInlinedLiteral(FieldValue field) {
+        if ( field == null || field.isNull() ) {
+            return null;
+        }
+        if ( field.isIntegerNumberField() ) {
+            return field.getLongValue() + "L";
+        }
+        if ( field.isFloatNumberField() ) {
+            double value = field.getDoubleValue();
+            return Double.isNaN( value ) || Double.isInfinite( value ) ? null : Double.toString( value ) + "d";
+        }
+        return null;
+    }
+
     /**
      * Returns a variable name based on the simple name of the specified class appended with the specified
      * nodeId.
@@ -24,6 +24,7 @@ import org.drools.core.reteoo.Sink;
 import org.drools.core.reteoo.WindowNode;
 import org.drools.core.rule.ContextEntry;
 import org.drools.core.rule.IndexableConstraint;
+import org.drools.core.spi.InternalReadAccessor;
 
 import java.util.*;
 
@@ -31,7 +32,7 @@ import java.util.*;
  * This handler is used to create the member declarations section of a generated subclass of a {@link CompiledNetwork}.
  * Currently we only create member variables for the following types of nodes:
  * <p/>
- * <li>Non-hashed {@link AlphaNode}s</li>
+ * <li>Non-hashed {@link AlphaNode}s, plus the {@link InternalReadAccessor} of the ones with an inlined constraint</li>
  * <li>{@link LeftInputAdapterNode}s</li>
  * <li>{@link BetaNode}s</li>
  * <li>A {@link Map} for each set of hashed {@link AlphaNode}s. The keys are the hashed values, and the values are
@@ -77,6 +78,13 @@ public class DeclarationsHandler extends AbstractCompilerHandler {
         return PRIVATE_MODIFIER + " " + variableType.getName() + " " + variableName + ";";
     }
 
+    private String getReadAccessorVariableDeclaration(AlphaNode alphaNode) {
+        Class<?> variableType = InternalReadAccessor.class;
+        String variableName = getReadAccessorVariableName(alphaNode);
+
+        return PRIVATE_MODIFIER + " " + variableType.getName() + " " + variableName + ";";
+    }
+
     private String getVariableDeclaration(Sink sink) {
         Class<?> declarationType = getVariableType(sink);
         String variableName = getVariableName(sink);
@@ -104,6 +112,9 @@ public class DeclarationsHandler extends AbstractCompilerHandler {
     public void startNonHashedAlphaNode(AlphaNode alphaNode) {
         builder.append(getVariableDeclaration(alphaNode)).append(NEWLINE);
         builder.append(getContextVariableDeclaration(alphaNode)).append(NEWLINE);
+        if (canInlineConstraint(alphaNode)) {
+            builder.append(getReadAccessorVariableDeclaration(alphaNode)).append(NEWLINE);
+        }
     }
 
     @Override
@@ -104,10 +104,17 @@ public class ModifyHandler extends SwitchCompilerHandler {
 
     @Override
     public void startNonHashedAlphaNode(AlphaNode alphaNode) {
-        builder.append("if ( ").append(getVariableName(alphaNode)).
-                append(".isAllowed(").append(FACT_HANDLE_PARAM_NAME).append(",").
-                append(WORKING_MEMORY_PARAM_NAME).
-                append(") ) {").append(NEWLINE);
+        if (canInlineConstraint(alphaNode)) {
+            // example of what this will look like
+            // if ( internalReadAccessor24.getIntValue(wm, handle.getObject()) > 18L ) {
+            builder.append("if ( ").append(getInlinedConstraint(alphaNode, FACT_HANDLE_PARAM_NAME, WORKING_MEMORY_PARAM_NAME)).
+                    append(" ) {").append(NEWLINE);
+        } else {
+            builder.append("if ( ").append(getVariableName(alphaNode)).
+                    append(".isAllowed(").append(FACT_HANDLE_PARAM_NAME).append(",").
+                    append(WORKING_MEMORY_PARAM_NAME).
+                    append(") ) {").append(NEWLINE);
+        }
 
     }
 
@@ -16,7 +16,10 @@
 
 package org.drools.core.reteoo.compiled;
 
+import java.util.List;
+
 import org.drools.core.base.ClassFieldReader;
+import org.drools.core.reteoo.AlphaRangeIndex;
 import org.drools.core.reteoo.CompositePartitionAwareObjectSinkAdapter;
 import org.drools.core.reteoo.WindowNode;
 import org.drools.core.rule.IndexableConstraint;
@@ -96,6 +99,7 @@ public class ObjectTypeNodeParser {
             CompositeObjectSinkAdapter composite = (CompositeObjectSinkAdapter) propagator;
 
             traverseSinkLisk(composite.getHashableSinks(), handler);
+            traverseRangeIndexedAlphaNodes(composite.getRangeIndexes(), handler);
             traverseSinkLisk(composite.getOthers(), handler);
             indexableConstraint = traverseHashedAlphaNodes(composite.getHashedSinkMap(), handler);
         } else if (propagator instanceof CompositePartitionAwareObjectSinkAdapter) {
@@ -120,6 +124,17 @@ public class ObjectTypeNodeParser {
         }
     }
 
+    private void traverseRangeIndexedAlphaNodes(List<AlphaRangeIndex> rangeIndexes, NetworkHandler handler) {
+        if (rangeIndexes != null) {
+            for (AlphaRangeIndex rangeIndex : rangeIndexes) {
+                // the not yet indexed ones are still in the others list
+                if (rangeIndex.isIndexed()) {
+                    traverseSinkLisk(rangeIndex.getSinks(), handler);
+                }
+            }
+        }
+    }
+
     private IndexableConstraint traverseHashedAlphaNodes(ObjectHashMap hashedAlphaNodes, NetworkHandler handler) {
         IndexableConstraint hashedFieldReader = null;
         if (hashedAlphaNodes != null && hashedAlphaNodes.size() > 0) {
@@ -87,6 +87,11 @@ public class SetNodeReferenceHandler extends AbstractCompilerHandler {
 
         builder.append("case ").append(alphaNode.getId()).append(": ").append(NEWLINE);
         builder.append(getVariableAssignmentStatement(alphaNode, PARAM_NAME)).append(NEWLINE);
+        if (canInlineConstraint(alphaNode)) {
+            // the inlined constraint reads the field value directly through the extractor of the constraint
+            builder.append(getReadAccessorVariableName(alphaNode)).append(" = ").
+                    append(getVariableName(alphaNode)).append(".getFieldExtractor();").append(NEWLINE);
+        }
         builder.append("break;").append(NEWLINE);
     }
 
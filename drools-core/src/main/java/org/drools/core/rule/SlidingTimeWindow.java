@@ -20,8 +20,10 @@ import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.PriorityQueue;
+import java.util.List;
+import java.util.NoSuchElementException;
 
 import org.drools.core.common.EventFactHandle;
 import org.drools.core.common.InternalFactHandle;
@@ -167,21 +169,20 @@ public class SlidingTimeWindow
         long currentTime = clock.getCurrentTime();
         SlidingTimeWindowContext queue = (SlidingTimeWindowContext) context;
 
-        EventFactHandle handle = queue.peek();
-        while ( handle != null && isExpired( currentTime,
-                                             handle ) ) {
+        // evicts all the expired events in one pass, stopping at the first one not expired yet
+        EventFactHandle handle = queue.pollExpired( currentTime, this );
+        while ( handle != null ) {
             queue.setExpiringHandle( handle );
-            queue.remove();
             if( handle.isValid()) {
                 // if not expired yet, expire it
                 final PropagationContext expiresPctx = createPropagationContextForFact( workingMemory, handle, PropagationContext.Type.EXPIRATION );
                 ObjectTypeNode.doRetractObject(handle, expiresPctx, workingMemory);
             }
             queue.setExpiringHandle( null );
-            handle = queue.peek();
+            handle = queue.pollExpired( currentTime, this );
         }
         // update next expiration time
-        updateNextExpiration( handle,
+        updateNextExpiration( queue.peek(),
                               workingMemory,
                               queue,
                               nodeId );
@@ -221,27 +222,60 @@ public class SlidingTimeWindow
         return "SlidingTimeWindow( size=" + size + " )";
     }
 
+    /**
+     * The events of a time window, kept in a ring buffer ordered by start timestamp.
+     * The timestamps are stored in a parallel long[], so keeping the window ordered never
+     * dereferences the handles, and expired events are evicted by advancing the head.
+     * Events retracted from the middle of the window leave an empty slot behind,
+     * which is skipped when it reaches the head.
+     */
     public static class SlidingTimeWindowContext
             implements
             Behavior.Context,
             Externalizable {
 
-        private PriorityQueue<EventFactHandle> queue;
-        private EventFactHandle                expiringHandle;
+        private static final int INITIAL_CAPACITY = 16;
+
+        private EventFactHandle[] handles;
+        private long[]            timestamps;
+        private int               head;
+        // number of slots in use starting from head, including the empty ones
+        private int               length;
+        private int               count;
+
+        private EventFactHandle   expiringHandle;
 
         public SlidingTimeWindowContext() {
-            this.queue = new PriorityQueue<EventFactHandle>( 16 ); // arbitrary size... can we improve it?
+            this.handles = new EventFactHandle[INITIAL_CAPACITY];
+            this.timestamps = new long[INITIAL_CAPACITY];
         }
 
-        @SuppressWarnings("unchecked")
         public void readExternal(ObjectInput in) throws IOException,
                                                         ClassNotFoundException {
-            this.queue = (PriorityQueue<EventFactHandle>) in.readObject();
+            int size = in.readInt();
+            int capacity = INITIAL_CAPACITY;
+            while ( capacity < size ) {
+                capacity <<= 1;
+            }
+            this.handles = new EventFactHandle[capacity];
+            this.timestamps = new long[capacity];
+            this.head = 0;
+            this.length = 0;
+            this.count = 0;
+            for ( int i = 0; i < size; i++ ) {
+                add( (EventFactHandle) in.readObject() );
+            }
             this.expiringHandle = (EventFactHandle) in.readObject();
         }
 
         public void writeExternal(ObjectOutput out) throws IOException {
-            out.writeObject( this.queue );
+            out.writeInt( this.count );
+            for ( int i = 0; i < this.length; i++ ) {
+                EventFactHandle handle = this.handles[index( i )];
+                if ( handle != null ) {
+                    out.writeObject( handle );
+                }
+            }
             out.writeObject( this.expiringHandle );
         }
 
@@ -258,27 +292,122 @@ public class SlidingTimeWindow
         }
 
         public void add(EventFactHandle handle) {
-            queue.add( handle );
+            if ( length == handles.length ) {
+                grow();
+            }
+            long timestamp = handle.getStartTimestamp();
+            int pos = length;
+            // events normally arrive in order, so this only shifts on out-of-order inserts
+            while ( pos > 0 && timestamps[index( pos - 1 )] > timestamp ) {
+                int from = index( pos - 1 );
+                int to = index( pos );
+                handles[to] = handles[from];
+                timestamps[to] = timestamps[from];
+                pos--;
+            }
+            int i = index( pos );
+            handles[i] = handle;
+            timestamps[i] = timestamp;
+            length++;
+            count++;
         }
 
         public void remove(EventFactHandle handle) {
-            queue.remove( handle );
+            for ( int i = 0; i < length; i++ ) {
+                int pos = index( i );
+                if ( handles[pos] != null && handles[pos].equals( handle ) ) {
+                    handles[pos] = null;
+                    count--;
+                    trim();
+                    return;
+                }
+            }
         }
 
         public EventFactHandle peek() {
-            return queue.peek( );
+            skipEmptyHead();
+            return length == 0 ? null : handles[head];
         }
 
         public EventFactHandle poll() {
-            return queue.poll( );
+            skipEmptyHead();
+            if ( length == 0 ) {
+                return null;
+            }
+            EventFactHandle handle = handles[head];
+            handles[head] = null;
+            head = index( 1 );
+            length--;
+            count--;
+            return handle;
         }
 
         public EventFactHandle remove() {
-            return queue.remove( );
+            EventFactHandle handle = poll();
+            if ( handle == null ) {
+                throw new NoSuchElementException();
+            }
+            return handle;
+        }
+
+        /**
+         * Removes and returns the head of the window if it is expired at currentTime
+         * according to the given window, or returns null otherwise.
+         */
+        public EventFactHandle pollExpired(long currentTime, SlidingTimeWindow window) {
+            skipEmptyHead();
+            if ( length == 0 || !window.isExpired( currentTime, handles[head] ) ) {
+                return null;
+            }
+            return poll();
+        }
+
+        public int size() {
+            return count;
         }
 
         public Collection<EventFactHandle> getFactHandles() {
-            return queue;
+            List<EventFactHandle> list = new ArrayList<EventFactHandle>( count );
+            for ( int i = 0; i < length; i++ ) {
+                EventFactHandle handle = handles[index( i )];
+                if ( handle != null ) {
+                    list.add( handle );
+                }
+            }
+            return list;
+        }
+
+        private int index(int offset) {
+            // capacity is always a power of 2
+            return (head + offset) & (handles.length - 1);
+        }
+
+        private void skipEmptyHead() {
+            while ( length > 0 && handles[head] == null ) {
+                head = index( 1 );
+                length--;
+            }
+        }
+
+        private void trim() {
+            while ( length > 0 && handles[index( length - 1 )] == null ) {
+                length--;
+            }
+            skipEmptyHead();
+        }
+
+        private void grow() {
+            int capacity = handles.length;
+            EventFactHandle[] newHandles = new EventFactHandle[capacity << 1];
+            long[] newTimestamps = new long[capacity << 1];
+            int firstPart = capacity - head;
+            System.arraycopy( handles, head, newHandles, 0, firstPart );
+            System.arraycopy( handles, 0, newHandles, firstPart, head );
+            System.arraycopy( timestamps, head, newTimestamps, 0, firstPart );
+            System.arraycopy( timestamps, 0, newTimestamps, firstPart, head );
+            handles = newHandles;
+            timestamps = newTimestamps;
+            head = 0;
         }
     }
 
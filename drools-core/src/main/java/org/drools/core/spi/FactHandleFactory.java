@@ -67,7 +67,17 @@ public interface FactHandleFactory {
 
     int getNextId();
 
+    /**
+     * Reserves a block of consecutive ids, returning the first one
+     */
+    int getNextIds(int count);
+
     long getNextRecency();
+
+    /**
+     * Reserves a block of consecutive recencies, returning the first one
+     */
+    long getNextRecencies(int count);
     
     void clear(int id, long counter);
 }
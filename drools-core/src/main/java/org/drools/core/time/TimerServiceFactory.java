@@ -17,6 +17,8 @@
 package org.drools.core.time;
 
 import org.drools.core.SessionConfiguration;
+import org.drools.core.time.impl.TimingWheelPseudoClockScheduler;
+import org.drools.core.time.impl.TimingWheelTimerService;
 
 public class TimerServiceFactory {
 
@@ -24,10 +26,14 @@ public class TimerServiceFactory {
         TimerService service;
         switch (config.getClockType()) {
             case REALTIME_CLOCK:
-                service = config.newTimerService();
+                service = config.getTimingWheelTick() > 0 ?
+                          new TimingWheelTimerService( config.getTimingWheelTick() ) :
+                          config.newTimerService();
                 break;
             case PSEUDO_CLOCK:
-                service = (TimerService) config.getClockType().createInstance();
+                service = config.getTimingWheelTick() > 0 ?
+                          new TimingWheelPseudoClockScheduler( config.getTimingWheelTick() ) :
+                          (TimerService) config.getClockType().createInstance();
                 break;
             default:
                 throw new IllegalArgumentException("Unsupported clock type: " + config.getClockType());
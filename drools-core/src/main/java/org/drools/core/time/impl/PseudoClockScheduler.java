@@ -50,15 +50,15 @@ public class PseudoClockScheduler
     Externalizable,
     InternalSchedulerService {
     
-    private Logger logger = LoggerFactory.getLogger( PseudoClockScheduler.class ); 
+    protected Logger logger = LoggerFactory.getLogger( PseudoClockScheduler.class ); 
 
-    private AtomicLong                      timer;
+    protected AtomicLong                    timer;
     private PriorityBlockingQueue<Callable<Void>>   queue;
     private transient InternalWorkingMemory session;
 
-    private TimerJobFactoryManager          jobFactoryManager = DefaultTimerJobFactoryManager.instance;
+    protected TimerJobFactoryManager        jobFactoryManager = DefaultTimerJobFactoryManager.instance;
 
-    private AtomicLong                      idCounter         = new AtomicLong();
+    protected AtomicLong                    idCounter         = new AtomicLong();
 
     public PseudoClockScheduler() {
         this( null );
@@ -0,0 +1,302 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.time.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * A hierarchical timing wheel. Every level has the same number of slots, each slot of a level spanning a whole
+ * turn of the level below it. A job is added to the bucket of the lowest level able to hold its deadline in O(1),
+ * and is cascaded to the lower levels only when the time reaches its bucket.
+ *
+ * Only the non empty buckets are kept in a priority queue, so the cost of scheduling and expiring a job does not
+ * depend on the number of scheduled jobs. The jobs of a bucket of the first level expire together, at the end of
+ * the tick spanned by the bucket: with a tick longer than 1 a job can fire up to tick - 1 time units late, but never
+ * earlier than its deadline.
+ *
+ * This class is not thread safe: the TimerServices using it are responsible for guarding its access.
+ */
+public class TimingWheel {
+
+    /**
+     * The tick, in milliseconds, of the timing wheel used by the TimerService of a session. 0, the default,
+     * means that the timing wheel is not used.
+     */
+    public static final String PROPERTY_NAME = "drools.timingWheelTick";
+
+    private static final int SLOTS_BITS = 6;
+    private static final int SLOTS = 1 << SLOTS_BITS;
+    private static final int SLOTS_MASK = SLOTS - 1;
+
+    // 10 levels of 64 slots cover 2^60 ticks, longer delays are cascaded from the last level
+    private static final int MAX_LEVELS = 10;
+
+    private final long tick;
+
+    private final Bucket[][] buckets = new Bucket[MAX_LEVELS][];
+
+    private final PriorityQueue<Bucket> queue = new PriorityQueue<Bucket>();
+
+    private final JobList due = new JobList();
+
+    private long currentTime;
+
+    private int size;
+
+    public TimingWheel(long tick, long startTime) {
+        if ( tick <= 0 ) {
+            throw new IllegalArgumentException( "The tick of a TimingWheel must be positive: " + tick );
+        }
+        this.tick = tick;
+        this.currentTime = startTime;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public long getCurrentTime() {
+        return currentTime;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Adds the given job to the bucket holding its deadline, or to the due ones if its deadline has already been reached
+     */
+    public void add(TimingWheelJobHandle job, long deadline) {
+        job.deadline = deadline;
+        size++;
+        place( job );
+    }
+
+    /**
+     * Removes the given job from the wheel, returning false if it wasn't scheduled
+     */
+    public boolean remove(TimingWheelJobHandle job) {
+        if ( job.list == null ) {
+            return false;
+        }
+        job.list.remove( job );
+        size--;
+        return true;
+    }
+
+    /**
+     * Returns and removes the next job whose deadline is not after the given time, cascading the buckets reached
+     * in the meanwhile, or null if there isn't any. The jobs are returned in the order of the buckets holding them.
+     */
+    public TimingWheelJobHandle poll(long time) {
+        while ( due.isEmpty() ) {
+            Bucket bucket = queue.peek();
+            if ( bucket == null || bucket.expiration > time ) {
+                return null;
+            }
+            queue.poll();
+            bucket.queued = false;
+            if ( bucket.expiration > currentTime ) {
+                currentTime = bucket.expiration;
+            }
+            for ( TimingWheelJobHandle job = bucket.removeFirst(); job != null; job = bucket.removeFirst() ) {
+                place( job );
+            }
+        }
+        size--;
+        return due.removeFirst();
+    }
+
+    /**
+     * Moves the wheel to the given time. All the jobs due by that time must have been polled before.
+     */
+    public void advanceTo(long time) {
+        if ( time > currentTime ) {
+            currentTime = time;
+        }
+    }
+
+    /**
+     * Returns the time when the next bucket expires, Long.MAX_VALUE if there is none, or the current time if some
+     * jobs are already due. As only the buckets of the first level expire at the deadline of their jobs, this can be
+     * earlier than the next deadline.
+     */
+    public long getNextExpiration() {
+        if ( !due.isEmpty() ) {
+            return currentTime;
+        }
+        Bucket bucket = queue.peek();
+        while ( bucket != null && bucket.isEmpty() ) {
+            // a bucket emptied by removals, no need to wake up for it
+            queue.poll();
+            bucket.queued = false;
+            bucket = queue.peek();
+        }
+        return bucket != null ? bucket.expiration : Long.MAX_VALUE;
+    }
+
+    /**
+     * Removes all the jobs and returns them
+     */
+    public List<TimingWheelJobHandle> clear() {
+        List<TimingWheelJobHandle> jobs = new ArrayList<TimingWheelJobHandle>( size );
+        for ( TimingWheelJobHandle job = due.removeFirst(); job != null; job = due.removeFirst() ) {
+            jobs.add( job );
+        }
+        for ( Bucket bucket = queue.poll(); bucket != null; bucket = queue.poll() ) {
+            bucket.queued = false;
+            for ( TimingWheelJobHandle job = bucket.removeFirst(); job != null; job = bucket.removeFirst() ) {
+                jobs.add( job );
+            }
+        }
+        size = 0;
+        return jobs;
+    }
+
+    private void place(TimingWheelJobHandle job) {
+        if ( job.deadline <= currentTime ) {
+            due.add( job );
+            return;
+        }
+
+        long jobTick = job.deadline / tick;
+        long currentTick = currentTime / tick;
+        int level = 0;
+        while ( level < MAX_LEVELS - 1 && ( jobTick >> ( SLOTS_BITS * level ) ) - ( currentTick >> ( SLOTS_BITS * level ) ) >= SLOTS ) {
+            level++;
+        }
+
+        long levelTick = jobTick >> ( SLOTS_BITS * level );
+        if ( levelTick - ( currentTick >> ( SLOTS_BITS * level ) ) >= SLOTS ) {
+            // too far even for the last level, park it in the farthest slot and cascade it again from there
+            levelTick = ( currentTick >> ( SLOTS_BITS * level ) ) + SLOTS - 1;
+        }
+
+        // the buckets of the first level expire at the end of their tick, the others cascade at their beginning
+        long expiration = level == 0 ?
+                          levelTick * tick + tick - 1 :
+                          ( levelTick << ( SLOTS_BITS * level ) ) * tick;
+
+        Bucket bucket = getBucket( level, (int) ( levelTick & SLOTS_MASK ) );
+        bucket.add( job );
+        if ( !bucket.queued ) {
+            bucket.expiration = expiration;
+            bucket.queued = true;
+            queue.add( bucket );
+        }
+    }
+
+    private Bucket getBucket(int level, int slot) {
+        Bucket[] levelBuckets = buckets[level];
+        if ( levelBuckets == null ) {
+            levelBuckets = new Bucket[SLOTS];
+            buckets[level] = levelBuckets;
+        }
+        Bucket bucket = levelBuckets[slot];
+        if ( bucket == null ) {
+            bucket = new Bucket();
+            levelBuckets[slot] = bucket;
+        }
+        return bucket;
+    }
+
+    static class JobList {
+        private TimingWheelJobHandle first;
+        private TimingWheelJobHandle last;
+
+        boolean isEmpty() {
+            return first == null;
+        }
+
+        void add(TimingWheelJobHandle job) {
+            job.list = this;
+            if ( last == null ) {
+                first = job;
+            } else {
+                last.wheelNext = job;
+                job.wheelPrevious = last;
+            }
+            last = job;
+        }
+
+        void remove(TimingWheelJobHandle job) {
+            if ( job.wheelPrevious == null ) {
+                first = job.wheelNext;
+            } else {
+                job.wheelPrevious.wheelNext = job.wheelNext;
+            }
+            if ( job.wheelNext == null ) {
+                last = job.wheelPrevious;
+            } else {
+                job.wheelNext.wheelPrevious = job.wheelPrevious;
+            }
+            job.list = null;
+            job.wheelPrevious = null;
+            job.wheelNext = null;
+        }
+
+        TimingWheelJobHandle removeFirst() {
+            TimingWheelJobHandle job = first;
+            if ( job != null ) {
+                remove( job );
+            }
+            return job;
+        }
+    }
+
+    static class Bucket extends JobList implements Comparable<Bucket> {
+        private long expiration;
+        private boolean queued;
+
+        public int compareTo(Bucket other) {
+            return expiration < other.expiration ? -1 : ( expiration == other.expiration ? 0 : 1 );
+        }
+    }
+
+    /**
+     * The JobHandle of a job scheduled on a TimingWheel, also acting as the node linking it in its bucket,
+     * so it can be cancelled in constant time.
+     */
+    public static class TimingWheelJobHandle extends DefaultJobHandle {
+
+        private static final long serialVersionUID = 510l;
+
+        private transient long deadline;
+
+        private transient JobList list;
+        private transient TimingWheelJobHandle wheelPrevious;
+        private transient TimingWheelJobHandle wheelNext;
+
+        public TimingWheelJobHandle(long id) {
+            super( id );
+        }
+
+        public long getDeadline() {
+            return deadline;
+        }
+
+        public boolean isScheduled() {
+            return list != null;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.time.impl;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.core.common.DroolsObjectInputStream;
+import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.time.Job;
+import org.drools.core.time.JobContext;
+import org.drools.core.time.JobHandle;
+import org.drools.core.time.Trigger;
+import org.drools.core.time.impl.TimingWheel.TimingWheelJobHandle;
+
+/**
+ * A PseudoClockScheduler keeping its jobs in a {@link TimingWheel} instead of a priority queue,
+ * so that scheduling, cancelling and firing a job take constant time regardless of how many are scheduled.
+ * The time to the next job is the time when the next bucket of the wheel has to be cascaded, so it can be
+ * earlier than the actual next job for jobs scheduled far in the future.
+ */
+public class TimingWheelPseudoClockScheduler extends PseudoClockScheduler {
+
+    private long tick;
+
+    private TimingWheel wheel;
+
+    public TimingWheelPseudoClockScheduler() {
+        this( 1 );
+    }
+
+    public TimingWheelPseudoClockScheduler(long tick) {
+        this( tick, null );
+    }
+
+    public TimingWheelPseudoClockScheduler(long tick, InternalWorkingMemory session) {
+        super( session );
+        this.tick = tick;
+        this.wheel = new TimingWheel( tick, 0 );
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException,
+                                            ClassNotFoundException {
+        timer.set( in.readLong() );
+        tick = in.readLong();
+        wheel = new TimingWheel( tick, timer.get() );
+        List<TimerJobInstance> jobs = (List<TimerJobInstance>) in.readObject();
+        for ( TimerJobInstance job : jobs ) {
+            internalSchedule( job );
+        }
+        setSession( ((DroolsObjectInputStream) in).getWorkingMemory() );
+    }
+
+    @Override
+    public synchronized void writeExternal(ObjectOutput out) throws IOException {
+        out.writeLong( timer.get() );
+        out.writeLong( tick );
+        List<TimerJobInstance> jobs = new ArrayList<TimerJobInstance>();
+        // clearing the wheel is the only way to visit it, so schedule the jobs again afterwards
+        for ( TimingWheelJobHandle handle : wheel.clear() ) {
+            wheel.add( handle, handle.getDeadline() );
+            jobs.add( handle.getTimerJobInstance() );
+        }
+        out.writeObject( jobs );
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    @Override
+    public JobHandle scheduleJob(Job job,
+                                 JobContext ctx,
+                                 Trigger trigger) {
+        Date date = trigger.hasNextFireTime();
+
+        if ( date != null ) {
+            TimingWheelJobHandle jobHandle = new TimingWheelJobHandle( idCounter.getAndIncrement() );
+            TimerJobInstance jobInstance = jobFactoryManager.createTimerJobInstance( job,
+                                                                                   ctx,
+                                                                                   trigger,
+                                                                                   jobHandle,
+                                                                                   this );
+            jobHandle.setTimerJobInstance( jobInstance );
+            internalSchedule( jobInstance );
+
+            return jobHandle;
+        }
+
+        return null;
+    }
+
+    @Override
+    public synchronized void internalSchedule(TimerJobInstance timerJobInstance) {
+        jobFactoryManager.addTimerJobInstance( timerJobInstance );
+        TimingWheelJobHandle jobHandle = (TimingWheelJobHandle) timerJobInstance.getJobHandle();
+        wheel.add( jobHandle, timerJobInstance.getTrigger().hasNextFireTime().getTime() );
+    }
+
+    @Override
+    public synchronized boolean removeJob(JobHandle jobHandle) {
+        jobHandle.setCancel( true );
+        TimingWheelJobHandle wheelJobHandle = (TimingWheelJobHandle) jobHandle;
+        jobFactoryManager.removeTimerJobInstance( wheelJobHandle.getTimerJobInstance() );
+        return wheel.remove( wheelJobHandle );
+    }
+
+    @Override
+    public long advanceTime(long amount,
+                            TimeUnit unit) {
+        return this.runCallBacksAndIncreaseTimer( unit.toMillis( amount ) );
+    }
+
+    private synchronized long runCallBacksAndIncreaseTimer( long increase ) {
+        long endTime = this.timer.get() + increase;
+        TimingWheelJobHandle jobHandle = wheel.poll( endTime );
+        while ( jobHandle != null ) {
+            if ( !jobHandle.isCancel() ) {
+                try {
+                    // set the clock to the trigger's fire time, the jobs of a bucket are not sorted by
+                    // deadline when the tick is longer than 1ms, so never move it backwards
+                    this.timer.set( Math.max( this.timer.get(), jobHandle.getDeadline() ) );
+                    // execute the call
+                    ((Callable<Void>) jobHandle.getTimerJobInstance()).call();
+                } catch ( Exception e ) {
+                    logger.error( "Exception running callbacks: ", e );
+                }
+            }
+            jobHandle = wheel.poll( endTime );
+        }
+        wheel.advanceTo( endTime );
+        this.timer.set( endTime );
+        return this.timer.get();
+    }
+
+    @Override
+    public synchronized void setStartupTime(long i) {
+        super.setStartupTime( i );
+        wheel.advanceTo( i );
+    }
+
+    @Override
+    public synchronized void reset() {
+        idCounter.set( 0 );
+        timer.set( 0 );
+        wheel = new TimingWheel( tick, 0 );
+    }
+
+    @Override
+    public synchronized long getTimeToNextJob() {
+        long nextExpiration = wheel.getNextExpiration();
+        return nextExpiration != Long.MAX_VALUE ? Math.max( nextExpiration - this.timer.get(), 0 ) : -1;
+    }
+}
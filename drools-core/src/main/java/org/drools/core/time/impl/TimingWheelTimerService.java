@@ -0,0 +1,210 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.time.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.drools.core.time.InternalSchedulerService;
+import org.drools.core.time.Job;
+import org.drools.core.time.JobContext;
+import org.drools.core.time.JobHandle;
+import org.drools.core.time.TimerService;
+import org.drools.core.time.Trigger;
+import org.drools.core.time.impl.TimingWheel.TimingWheelJobHandle;
+import org.kie.api.time.SessionClock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A Scheduler implementation using the system clock and keeping its jobs in a {@link TimingWheel}.
+ * Differently from the JDKTimerService, that enqueues every job in a ScheduledThreadPoolExecutor, the only task
+ * given to the executor is the one waking up when the next bucket of the wheel expires, which then runs all the
+ * jobs due by that time.
+ */
+public class TimingWheelTimerService
+        implements
+        TimerService,
+        SessionClock,
+        InternalSchedulerService {
+
+    private static final Logger logger = LoggerFactory.getLogger( TimingWheelTimerService.class );
+
+    private final long tick;
+
+    private final AtomicLong idCounter;
+
+    private TimingWheel wheel;
+
+    protected ScheduledThreadPoolExecutor scheduler;
+
+    protected TimerJobFactoryManager jobFactoryManager = DefaultTimerJobFactoryManager.instance;
+
+    private ScheduledFuture<?> wakeUp;
+    private long wakeUpTime = Long.MAX_VALUE;
+
+    private final Runnable expireTask = new Runnable() {
+        public void run() {
+            runDueJobs();
+        }
+    };
+
+    public TimingWheelTimerService() {
+        this( 1 );
+    }
+
+    public TimingWheelTimerService(long tick) {
+        this.tick = tick;
+        this.idCounter = new AtomicLong( 0L );
+        this.wheel = new TimingWheel( tick, getCurrentTime() );
+        this.scheduler = new ScheduledThreadPoolExecutor( 1 );
+    }
+
+    public void setTimerJobFactoryManager(TimerJobFactoryManager timerJobFactoryManager) {
+        this.jobFactoryManager = timerJobFactoryManager;
+    }
+
+    public TimerJobFactoryManager getTimerJobFactoryManager() {
+        return this.jobFactoryManager;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    public long getCurrentTime() {
+        return System.currentTimeMillis();
+    }
+
+    public synchronized void reset() {
+        if ( idCounter.get() != 0L ) {
+            this.scheduler.shutdownNow();
+            this.scheduler = new ScheduledThreadPoolExecutor( 1 );
+            this.wheel = new TimingWheel( tick, getCurrentTime() );
+            this.wakeUp = null;
+            this.wakeUpTime = Long.MAX_VALUE;
+            this.idCounter.set( 0L );
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        // forcing a shutdownNow instead of a regular shutdown()
+        // to avoid delays on shutdown. This is an irreversible
+        // operation anyway, called on session dispose.
+        this.scheduler.shutdownNow();
+    }
+
+    public JobHandle scheduleJob(Job job,
+                                 JobContext ctx,
+                                 Trigger trigger) {
+        Date date = trigger.hasNextFireTime();
+        if ( date != null ) {
+            TimingWheelJobHandle jobHandle = new TimingWheelJobHandle( idCounter.getAndIncrement() );
+
+            TimerJobInstance jobInstance = jobFactoryManager.createTimerJobInstance( job,
+                                                                                   ctx,
+                                                                                   trigger,
+                                                                                   jobHandle,
+                                                                                   this );
+            jobHandle.setTimerJobInstance( jobInstance );
+            internalSchedule( jobInstance );
+
+            return jobHandle;
+        } else {
+            return null;
+        }
+    }
+
+    public synchronized void internalSchedule(TimerJobInstance timerJobInstance) {
+        jobFactoryManager.addTimerJobInstance( timerJobInstance );
+        TimingWheelJobHandle jobHandle = (TimingWheelJobHandle) timerJobInstance.getJobHandle();
+        wheel.add( jobHandle, timerJobInstance.getTrigger().hasNextFireTime().getTime() );
+        scheduleWakeUp();
+    }
+
+    public synchronized boolean removeJob(JobHandle jobHandle) {
+        jobHandle.setCancel( true );
+        TimingWheelJobHandle wheelJobHandle = (TimingWheelJobHandle) jobHandle;
+        jobFactoryManager.removeTimerJobInstance( wheelJobHandle.getTimerJobInstance() );
+        // no need to reschedule the wake up, at worst it will find nothing to run
+        return wheel.remove( wheelJobHandle );
+    }
+
+    private void runDueJobs() {
+        List<TimingWheelJobHandle> dueJobs = new ArrayList<TimingWheelJobHandle>();
+        synchronized ( this ) {
+            wakeUp = null;
+            wakeUpTime = Long.MAX_VALUE;
+            long now = getCurrentTime();
+            for ( TimingWheelJobHandle jobHandle = wheel.poll( now ); jobHandle != null; jobHandle = wheel.poll( now ) ) {
+                dueJobs.add( jobHandle );
+            }
+            wheel.advanceTo( now );
+        }
+
+        // the jobs are run outside of the lock, as they can reschedule themselves or need to lock the session
+        for ( TimingWheelJobHandle jobHandle : dueJobs ) {
+            if ( jobHandle.isCancel() ) {
+                continue;
+            }
+            try {
+                ((Callable<Void>) jobHandle.getTimerJobInstance()).call();
+            } catch ( Exception e ) {
+                logger.error( "Exception running timer job: ", e );
+            }
+        }
+
+        synchronized ( this ) {
+            scheduleWakeUp();
+        }
+    }
+
+    private void scheduleWakeUp() {
+        long nextExpiration = wheel.getNextExpiration();
+        if ( nextExpiration >= wakeUpTime || nextExpiration == Long.MAX_VALUE || scheduler.isShutdown() ) {
+            // already scheduled early enough, or nothing to wait for
+            return;
+        }
+        if ( wakeUp != null ) {
+            wakeUp.cancel( false );
+        }
+        wakeUpTime = nextExpiration;
+        wakeUp = scheduler.schedule( expireTask,
+                                     Math.max( nextExpiration - getCurrentTime(), 0 ),
+                                     TimeUnit.MILLISECONDS );
+    }
+
+    public synchronized long getTimeToNextJob() {
+        long nextExpiration = wheel.getNextExpiration();
+        return nextExpiration != Long.MAX_VALUE ? Math.max( nextExpiration - getCurrentTime(), 0 ) : -1;
+    }
+
+    public Collection<TimerJobInstance> getTimerJobInstances(long id) {
+        return jobFactoryManager.getTimerJobInstances();
+    }
+}
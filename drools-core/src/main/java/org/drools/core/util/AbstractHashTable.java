@@ -22,6 +22,7 @@ import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.util.Objects;
 
+import org.drools.core.base.ValueType;
 import org.drools.core.rule.Declaration;
 import org.drools.core.rule.IndexEvaluator;
 import org.drools.core.spi.InternalReadAccessor;
@@ -490,6 +491,205 @@ public abstract class AbstractHashTable
         }
     }
 
+    /**
+     * Creates the Index for a single indexed field, using one of the specialized implementations
+     * when the field is a primitive integral number or a String and both sides of the join have the
+     * same type, so that hashing and matching don't need to box the field value or to go through the
+     * IndexEvaluator.
+     */
+    public static Index createSingleIndex(final FieldIndex[] indexes,
+                                          final int startResult) {
+        FieldIndex index = indexes[0];
+        if ( index.declaration != null && !index.requiresCoercion ) {
+            ValueType valueType = index.extractor.getValueType();
+            if ( valueType == ValueType.PINTEGER_TYPE || valueType == ValueType.PLONG_TYPE ||
+                 valueType == ValueType.PSHORT_TYPE || valueType == ValueType.PBYTE_TYPE ||
+                 valueType == ValueType.PCHAR_TYPE ) {
+                return new SingleLongIndex( indexes, startResult );
+            }
+            if ( valueType == ValueType.STRING_TYPE ) {
+                return new SingleStringIndex( indexes, startResult );
+            }
+        }
+        return new SingleIndex( indexes, startResult );
+    }
+
+    public static class SingleLongIndex
+        implements
+        Index {
+
+        private static final long    serialVersionUID = 510l;
+
+        private FieldIndex           index;
+
+        private int                  startResult;
+
+        public SingleLongIndex() {
+
+        }
+
+        public SingleLongIndex(final FieldIndex[] indexes,
+                               final int startResult) {
+            this.startResult = startResult;
+            this.index = indexes[0];
+        }
+
+        public void readExternal(ObjectInput in) throws IOException,
+                                                ClassNotFoundException {
+            index = (FieldIndex) in.readObject();
+            startResult = in.readInt();
+        }
+
+        public void writeExternal(ObjectOutput out) throws IOException {
+            out.writeObject( index );
+            out.writeInt( startResult );
+        }
+
+        public FieldIndex getFieldIndex(int index) {
+            if ( index > 0 ) {
+                throw new IllegalArgumentException( "IndexUtil position " + index + " does not exist" );
+            }
+            return this.index;
+        }
+
+        private long leftValueOf(final Tuple tuple) {
+            return this.index.declaration.getLongValue( null, tuple.getObject( this.index.declaration ) );
+        }
+
+        private long rightValueOf(final Object object) {
+            return this.index.extractor.getLongValue( null, object );
+        }
+
+        long indexedValueOf(final Tuple tuple, boolean left) {
+            return left ? leftValueOf( tuple ) : rightValueOf( tuple.getFactHandle().getObject() );
+        }
+
+        public int hashCodeOf(final Tuple tuple, boolean left) {
+            return rehash( PRIME * startResult + Long.hashCode( indexedValueOf( tuple, left ) ) );
+        }
+
+        public boolean equal(final Object right,
+                             final Tuple tuple) {
+            return leftValueOf( tuple ) == rightValueOf( right );
+        }
+
+        public boolean equal(final TupleList list,
+                             final Object object2) {
+            return ( (SingleLongIndexTupleList) list ).indexKey == rightValueOf( object2 );
+        }
+
+        public boolean equal(final TupleList list,
+                             final Tuple tuple2) {
+            return ( (SingleLongIndexTupleList) list ).indexKey == leftValueOf( tuple2 );
+        }
+
+        public TupleList createEntry(Tuple tuple, int hashCode, boolean left) {
+            return new SingleLongIndexTupleList( this, tuple, hashCode, left );
+        }
+    }
+
+    public static class SingleLongIndexTupleList extends AbstractIndexTupleList {
+        private long indexKey;
+
+        public SingleLongIndexTupleList( SingleLongIndex index, Tuple tuple, int hashCode, boolean left ) {
+            super( index, hashCode );
+            indexKey = index.indexedValueOf( tuple, left );
+        }
+
+        protected void copyStateInto(TupleList other) {
+            super.copyStateInto( other );
+            ( (SingleLongIndexTupleList) other ).indexKey = indexKey;
+        }
+    }
+
+    public static class SingleStringIndex
+        implements
+        Index {
+
+        private static final long    serialVersionUID = 510l;
+
+        private FieldIndex           index;
+
+        private int                  startResult;
+
+        public SingleStringIndex() {
+
+        }
+
+        public SingleStringIndex(final FieldIndex[] indexes,
+                                 final int startResult) {
+            this.startResult = startResult;
+            this.index = indexes[0];
+        }
+
+        public void readExternal(ObjectInput in) throws IOException,
+                                                ClassNotFoundException {
+            index = (FieldIndex) in.readObject();
+            startResult = in.readInt();
+        }
+
+        public void writeExternal(ObjectOutput out) throws IOException {
+            out.writeObject( index );
+            out.writeInt( startResult );
+        }
+
+        public FieldIndex getFieldIndex(int index) {
+            if ( index > 0 ) {
+                throw new IllegalArgumentException( "IndexUtil position " + index + " does not exist" );
+            }
+            return this.index;
+        }
+
+        private String leftValueOf(final Tuple tuple) {
+            return (String) this.index.declaration.getValue( null, tuple.getObject( this.index.declaration ) );
+        }
+
+        private String rightValueOf(final Object object) {
+            return (String) this.index.extractor.getValue( null, object );
+        }
+
+        String indexedValueOf(final Tuple tuple, boolean left) {
+            return left ? leftValueOf( tuple ) : rightValueOf( tuple.getFactHandle().getObject() );
+        }
+
+        public int hashCodeOf(final Tuple tuple, boolean left) {
+            return rehash( PRIME * startResult + Objects.hashCode( indexedValueOf( tuple, left ) ) );
+        }
+
+        public boolean equal(final Object right,
+                             final Tuple tuple) {
+            return Objects.equals( leftValueOf( tuple ), rightValueOf( right ) );
+        }
+
+        public boolean equal(final TupleList list,
+                             final Object object2) {
+            return Objects.equals( ( (SingleStringIndexTupleList) list ).indexKey, rightValueOf( object2 ) );
+        }
+
+        public boolean equal(final TupleList list,
+                             final Tuple tuple2) {
+            return Objects.equals( ( (SingleStringIndexTupleList) list ).indexKey, leftValueOf( tuple2 ) );
+        }
+
+        public TupleList createEntry(Tuple tuple, int hashCode, boolean left) {
+            return new SingleStringIndexTupleList( this, tuple, hashCode, left );
+        }
+    }
+
+    public static class SingleStringIndexTupleList extends AbstractIndexTupleList {
+        private String indexKey;
+
+        public SingleStringIndexTupleList( SingleStringIndex index, Tuple tuple, int hashCode, boolean left ) {
+            super( index, hashCode );
+            indexKey = index.indexedValueOf( tuple, left );
+        }
+
+        protected void copyStateInto(TupleList other) {
+            super.copyStateInto( other );
+            ( (SingleStringIndexTupleList) other ).indexKey = indexKey;
+        }
+    }
+
     public static class DoubleCompositeIndex
         implements
         Index {
@@ -749,6 +949,116 @@ public abstract class AbstractHashTable
         }
     }
 
+    public static class MultiCompositeIndex
+        implements
+        Index {
+
+        private static final long serialVersionUID = 510l;
+
+        private FieldIndex[]      indexes;
+
+        private int               startResult;
+
+        public MultiCompositeIndex() {
+
+        }
+
+        public MultiCompositeIndex(final FieldIndex[] indexes,
+                                   final int startResult) {
+            this.startResult = startResult;
+            this.indexes = indexes;
+        }
+
+        public void readExternal(ObjectInput in) throws IOException,
+                                                ClassNotFoundException {
+            indexes = (FieldIndex[]) in.readObject();
+            startResult = in.readInt();
+        }
+
+        public void writeExternal(ObjectOutput out) throws IOException {
+            out.writeObject( indexes );
+            out.writeInt( startResult );
+        }
+
+        public FieldIndex getFieldIndex(int index) {
+            if ( index < 0 || index >= indexes.length ) {
+                throw new IllegalArgumentException( "IndexUtil position " + index + " does not exist" );
+            }
+            return indexes[index];
+        }
+
+        public int hashCodeOf(Tuple tuple, boolean left) {
+            int hashCode = this.startResult;
+            for ( FieldIndex index : indexes ) {
+                hashCode = PRIME * hashCode + index.hashCodeOf( tuple, left );
+            }
+            return rehash( hashCode );
+        }
+
+        public boolean equal(final Object right,
+                             final Tuple tuple) {
+            for ( FieldIndex index : indexes ) {
+                if ( !index.evaluator.evaluate( null,
+                                                index.declaration.getExtractor(),
+                                                tuple.getObject( index.declaration ),
+                                                index.extractor,
+                                                right ) ) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        public boolean equal(final TupleList list,
+                             final Tuple tuple2) {
+            Object[] indexKeys = ( (MultiIndexTupleList) list ).indexKeys;
+            for ( int i = 0; i < indexes.length; i++ ) {
+                if ( !indexes[i].evaluator.evaluate( null,
+                                                     indexKeys[i],
+                                                     indexes[i].declaration.getExtractor(),
+                                                     tuple2.getObject( indexes[i].declaration ) ) ) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        public boolean equal(final TupleList list,
+                             final Object object2) {
+            Object[] indexKeys = ( (MultiIndexTupleList) list ).indexKeys;
+            for ( int i = 0; i < indexes.length; i++ ) {
+                if ( !indexes[i].evaluator.evaluate( null,
+                                                     indexKeys[i],
+                                                     indexes[i].extractor,
+                                                     object2 ) ) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        public TupleList createEntry(Tuple tuple, int hashCode, boolean left) {
+            return new MultiIndexTupleList( this, tuple, hashCode, left );
+        }
+    }
+
+    public static class MultiIndexTupleList extends AbstractIndexTupleList {
+        private Object[] indexKeys;
+
+        public MultiIndexTupleList( MultiCompositeIndex index, Tuple tuple, int hashCode, boolean left ) {
+            super( index, hashCode );
+            indexKeys = new Object[index.indexes.length];
+            for ( int i = 0; i < indexKeys.length; i++ ) {
+                indexKeys[i] = index.indexes[i].indexedValueOf( tuple, left );
+            }
+        }
+
+        protected void copyStateInto(TupleList other) {
+            super.copyStateInto( other );
+            ( (MultiIndexTupleList) other ).indexKeys = indexKeys;
+        }
+    }
+
     public void clear() {
         this.table = new Entry[Math.min( this.table.length,
                                          16 )];
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.util;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.drools.core.spi.Activation;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * A max heap where every node has d children instead of 2. The heap is shallower
+ * than a binary one, so an enqueue does fewer comparisons, while a dequeue does more
+ * comparisons per level but on children that are adjacent in the array.
+ * As in {@link BinaryHeapQueue} the root is at index 1 and the index of each element
+ * is kept in its {@link Activation#getQueueIndex()}.
+ */
+public class DAryHeapQueue
+        implements
+        Queue,
+        Externalizable {
+
+    public static final int DEFAULT_ARITY = 4;
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private Comparator<Activation> comparator;
+
+    private int arity;
+
+    private int size;
+
+    private Activation[] elements;
+
+    public DAryHeapQueue() {
+
+    }
+
+    public DAryHeapQueue(final Comparator<Activation> comparator) {
+        this(comparator,
+             DEFAULT_ARITY);
+    }
+
+    public DAryHeapQueue(final Comparator<Activation> comparator,
+                         final int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("invalid arity");
+        }
+        //+1 as 0 is noop
+        this.elements = new Activation[DEFAULT_CAPACITY + 1];
+        this.comparator = comparator;
+        this.arity = arity;
+    }
+
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        comparator = (Comparator) in.readObject();
+        arity = in.readInt();
+        elements = (Activation[]) in.readObject();
+        size = in.readInt();
+    }
+
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeObject(comparator);
+        out.writeInt(arity);
+        out.writeObject(elements);
+        out.writeInt(size);
+    }
+
+    public void clear() {
+        this.elements = new Activation[this.elements.length]; // for gc
+        this.size = 0;
+    }
+
+    public Activation[] getAndClear() {
+        Activation[] queue = new Activation[size];
+        System.arraycopy( this.elements, 1, queue, 0, size );
+        clear();
+        return queue;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public Activation peek() {
+        return this.elements[1];
+    }
+
+    public void enqueue(final Activation element) {
+        if ( this.elements.length == this.size + 1 ) {
+            grow();
+        }
+        setElement( ++size, element );
+        percolateUp( size );
+        element.setQueued(true);
+    }
+
+    public Activation dequeue() {
+        if ( isEmpty() ) {
+            return null;
+        }
+        final Activation result = this.elements[1];
+        dequeue( 1 );
+        return result;
+    }
+
+    public Activation dequeue(Activation activation) {
+        return dequeue( activation.getQueueIndex() );
+    }
+
+    Activation dequeue(final int index) {
+        if ( index < 1 || index > this.size ) {
+            return null;
+        }
+
+        final Activation result = this.elements[index];
+
+        setElement( index,
+                    this.elements[this.size] );
+        this.elements[this.size] = null;
+        this.size--;
+        if ( this.size != 0 && index <= this.size ) {
+            if ( index > 1 && compare( this.elements[index], this.elements[parent( index )] ) > 0 ) {
+                percolateUp( index );
+            } else {
+                percolateDown( index );
+            }
+        }
+
+        result.setQueued(false);
+        result.setQueueIndex(-1);
+
+        return result;
+    }
+
+    private int parent(int index) {
+        return (index - 2) / arity + 1;
+    }
+
+    private int firstChild(int index) {
+        return arity * (index - 1) + 2;
+    }
+
+    private void percolateDown(final int index) {
+        final Activation element = elements[index];
+        int hole = index;
+
+        int child = firstChild( hole );
+        while ( child <= size ) {
+            // pick the greatest of the children
+            int greatest = child;
+            int last = Math.min( child + arity - 1, size );
+            for ( int i = child + 1; i <= last; i++ ) {
+                if ( compare( elements[i], elements[greatest] ) > 0 ) {
+                    greatest = i;
+                }
+            }
+
+            if ( compare( elements[greatest], element ) <= 0 ) {
+                break;
+            }
+
+            setElement( hole, elements[greatest] );
+            hole = greatest;
+            child = firstChild( hole );
+        }
+
+        setElement( hole, element );
+    }
+
+    private void percolateUp(final int index) {
+        int hole = index;
+        Activation element = elements[hole];
+
+        while ( hole > 1 && compare( element, elements[parent( hole )] ) > 0 ) {
+            final int next = parent( hole );
+            setElement( hole, elements[next] );
+            hole = next;
+        }
+
+        setElement( hole, element );
+    }
+
+    private int compare(final Activation a,
+                        final Activation b) {
+        return this.comparator.compare( a,
+                                        b );
+    }
+
+    private void grow() {
+        final Activation[] elements = new Activation[this.elements.length * 2];
+        System.arraycopy( this.elements,
+                          0,
+                          elements,
+                          0,
+                          this.elements.length );
+        this.elements = elements;
+    }
+
+    private void setElement(final int index,
+                            final Activation element) {
+        this.elements[index] = element;
+        element.setQueueIndex(index);
+    }
+
+    public Object[] toArray(Object a[]) {
+        if ( a.length < this.size ) {
+            a = (Object[]) java.lang.reflect.Array.newInstance( a.getClass().getComponentType(),
+                                                                this.size );
+        }
+
+        System.arraycopy( this.elements,
+                          1,
+                          a,
+                          0,
+                          this.size );
+
+        if ( a.length > this.size ) {
+            a[this.size] = null;
+        }
+
+        return a;
+    }
+
+    @Override
+    public String toString() {
+        return Stream.of( elements ).filter( e -> e != null ).collect( toList() ).toString();
+    }
+}
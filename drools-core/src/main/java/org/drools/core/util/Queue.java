@@ -24,5 +24,15 @@ public interface Queue {
     Activation dequeue();
     Activation dequeue(Activation activation);
 
+    Activation peek();
+
     boolean isEmpty();
+
+    int size();
+
+    void clear();
+
+    Activation[] getAndClear();
+
+    Object[] toArray(Object a[]);
 }
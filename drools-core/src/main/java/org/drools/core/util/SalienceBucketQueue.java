@@ -0,0 +1,375 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.drools.core.spi.Activation;
+
+/**
+ * A queue that keeps a bucket of activations for each distinct salience value.
+ * Picking the next bucket only compares ints, so when the activations share a handful
+ * of salience values, most of the comparator calls of a single heap go away.
+ * <p>
+ * Inside a bucket the activations are ordered either by a comparator (the same
+ * conflict resolution of a heap on all the activations), or simply by insertion
+ * order, first in first out or last in first out.
+ * <p>
+ * The bucket of an activation is found by its salience, so the salience of an
+ * activation must not change while it is queued. A bucket is dropped as soon as it
+ * becomes empty, so with dynamic saliences only the ones currently queued are kept.
+ */
+public class SalienceBucketQueue
+        implements
+        Queue {
+
+    public enum BucketOrder {
+        COMPARATOR, FIFO, LIFO
+    }
+
+    private final Comparator<Activation> comparator;
+    private final BucketOrder            order;
+
+    // distinct saliences, from the highest to the lowest, with their buckets, none of them empty
+    private int[]   saliences;
+    private Queue[] buckets;
+    private int     bucketCount;
+
+    // the last dropped bucket, reused for the next new salience
+    private Queue   spareBucket;
+
+    private int     size;
+
+    public SalienceBucketQueue(Comparator<Activation> comparator) {
+        this( comparator, BucketOrder.COMPARATOR );
+    }
+
+    public SalienceBucketQueue(Comparator<Activation> comparator, BucketOrder order) {
+        this.comparator = comparator;
+        this.order = order;
+        this.saliences = new int[4];
+        this.buckets = new Queue[4];
+    }
+
+    public BucketOrder getOrder() {
+        return order;
+    }
+
+    public void enqueue(Activation activation) {
+        getOrCreateBucket( activation.getSalience() ).enqueue( activation );
+        size++;
+    }
+
+    public Activation dequeue() {
+        if ( bucketCount == 0 ) {
+            return null;
+        }
+        Activation result = buckets[0].dequeue();
+        size--;
+        dropBucketIfEmpty( 0 );
+        return result;
+    }
+
+    public Activation dequeue(Activation activation) {
+        int pos = indexOf( activation.getSalience() );
+        if ( pos < 0 ) {
+            return null;
+        }
+        Activation result = buckets[pos].dequeue( activation );
+        if ( result != null ) {
+            size--;
+            dropBucketIfEmpty( pos );
+        }
+        return result;
+    }
+
+    public Activation peek() {
+        return bucketCount == 0 ? null : buckets[0].peek();
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        for ( int i = 0; i < bucketCount; i++ ) {
+            buckets[i].clear();
+            buckets[i] = null;
+        }
+        bucketCount = 0;
+        size = 0;
+    }
+
+    public Activation[] getAndClear() {
+        Activation[] result = new Activation[size];
+        int pos = 0;
+        for ( int i = 0; i < bucketCount; i++ ) {
+            Activation[] bucket = buckets[i].getAndClear();
+            System.arraycopy( bucket, 0, result, pos, bucket.length );
+            pos += bucket.length;
+            buckets[i] = null;
+        }
+        bucketCount = 0;
+        size = 0;
+        return result;
+    }
+
+    public Object[] toArray(Object[] a) {
+        if ( a.length < this.size ) {
+            a = (Object[]) java.lang.reflect.Array.newInstance( a.getClass().getComponentType(),
+                                                                this.size );
+        }
+        int pos = 0;
+        for ( int i = 0; i < bucketCount; i++ ) {
+            Object[] bucket = buckets[i].toArray( new Object[buckets[i].size()] );
+            System.arraycopy( bucket, 0, a, pos, buckets[i].size() );
+            pos += buckets[i].size();
+        }
+        if ( a.length > this.size ) {
+            a[this.size] = null;
+        }
+        return a;
+    }
+
+    int getBucketCount() {
+        return bucketCount;
+    }
+
+    private void dropBucketIfEmpty(int pos) {
+        Queue bucket = buckets[pos];
+        if ( !bucket.isEmpty() ) {
+            return;
+        }
+        System.arraycopy( saliences, pos + 1, saliences, pos, bucketCount - pos - 1 );
+        System.arraycopy( buckets, pos + 1, buckets, pos, bucketCount - pos - 1 );
+        bucketCount--;
+        buckets[bucketCount] = null;
+        spareBucket = bucket;
+    }
+
+    private int indexOf(int salience) {
+        // binary search on the saliences, which are sorted in descending order
+        int low = 0;
+        int high = bucketCount - 1;
+        while ( low <= high ) {
+            int mid = (low + high) >>> 1;
+            int midSalience = saliences[mid];
+            if ( midSalience > salience ) {
+                low = mid + 1;
+            } else if ( midSalience < salience ) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private Queue getOrCreateBucket(int salience) {
+        int pos = indexOf( salience );
+        if ( pos >= 0 ) {
+            return buckets[pos];
+        }
+        pos = -(pos + 1);
+        if ( bucketCount == saliences.length ) {
+            int[] newSaliences = new int[bucketCount * 2];
+            Queue[] newBuckets = new Queue[bucketCount * 2];
+            System.arraycopy( saliences, 0, newSaliences, 0, bucketCount );
+            System.arraycopy( buckets, 0, newBuckets, 0, bucketCount );
+            saliences = newSaliences;
+            buckets = newBuckets;
+        }
+        System.arraycopy( saliences, pos, saliences, pos + 1, bucketCount - pos );
+        System.arraycopy( buckets, pos, buckets, pos + 1, bucketCount - pos );
+        saliences[pos] = salience;
+        buckets[pos] = createBucket();
+        bucketCount++;
+        return buckets[pos];
+    }
+
+    private Queue createBucket() {
+        if ( spareBucket != null ) {
+            Queue bucket = spareBucket;
+            spareBucket = null;
+            return bucket;
+        }
+        switch ( order ) {
+            case FIFO:
+                return new InsertionOrderBucket( true );
+            case LIFO:
+                return new InsertionOrderBucket( false );
+            default:
+                return new BinaryHeapQueue( comparator );
+        }
+    }
+
+    @Override
+    public String toString() {
+        List<Object> list = new ArrayList<Object>();
+        for ( int i = 0; i < bucketCount; i++ ) {
+            list.add( buckets[i] );
+        }
+        return list.toString();
+    }
+
+    /**
+     * A bucket ordered by insertion. The activations are appended to an array, and the
+     * queue index of each one is its position in it, so an activation can be removed from
+     * the middle by just clearing its slot. The cleared slots are skipped when they reach
+     * either end, and compacted away when the array is full.
+     */
+    static class InsertionOrderBucket
+            implements
+            Queue {
+
+        private final boolean fifo;
+
+        private Activation[] elements;
+        // the activations are in [first, last), including the cleared slots
+        private int first;
+        private int last;
+        private int size;
+
+        InsertionOrderBucket(boolean fifo) {
+            this.fifo = fifo;
+            this.elements = new Activation[8];
+        }
+
+        public void enqueue(Activation activation) {
+            if ( last == elements.length ) {
+                compact();
+            }
+            setElement( last++, activation );
+            size++;
+            activation.setQueued( true );
+        }
+
+        public Activation dequeue() {
+            Activation result = peek();
+            if ( result == null ) {
+                return null;
+            }
+            return dequeue( result );
+        }
+
+        public Activation dequeue(Activation activation) {
+            // queue indexes are 1 based, as in the heaps
+            int index = activation.getQueueIndex() - 1;
+            if ( index < first || index >= last || elements[index] != activation ) {
+                return null;
+            }
+            elements[index] = null;
+            size--;
+            if ( size == 0 ) {
+                first = 0;
+                last = 0;
+            }
+            activation.setQueued( false );
+            activation.setQueueIndex( -1 );
+            return activation;
+        }
+
+        public Activation peek() {
+            if ( size == 0 ) {
+                return null;
+            }
+            if ( fifo ) {
+                while ( elements[first] == null ) {
+                    first++;
+                }
+                return elements[first];
+            }
+            while ( elements[last - 1] == null ) {
+                last--;
+            }
+            return elements[last - 1];
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public void clear() {
+            this.elements = new Activation[this.elements.length]; // for gc
+            this.first = 0;
+            this.last = 0;
+            this.size = 0;
+        }
+
+        public Activation[] getAndClear() {
+            Activation[] result = new Activation[size];
+            toArray( result );
+            clear();
+            return result;
+        }
+
+        public Object[] toArray(Object[] a) {
+            if ( a.length < this.size ) {
+                a = (Object[]) java.lang.reflect.Array.newInstance( a.getClass().getComponentType(),
+                                                                    this.size );
+            }
+            int pos = 0;
+            for ( int i = first; i < last; i++ ) {
+                if ( elements[i] != null ) {
+                    a[pos++] = elements[i];
+                }
+            }
+            if ( a.length > this.size ) {
+                a[this.size] = null;
+            }
+            return a;
+        }
+
+        private void compact() {
+            Activation[] target = size * 2 > elements.length ? new Activation[elements.length * 2] : elements;
+            int pos = 0;
+            for ( int i = first; i < last; i++ ) {
+                Activation activation = elements[i];
+                if ( activation != null ) {
+                    elements[i] = null;
+                    target[pos] = activation;
+                    activation.setQueueIndex( pos + 1 );
+                    pos++;
+                }
+            }
+            elements = target;
+            first = 0;
+            last = pos;
+        }
+
+        private void setElement(int index, Activation activation) {
+            elements[index] = activation;
+            activation.setQueueIndex( index + 1 );
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString( toArray( new Object[size] ) );
+        }
+    }
+}
@@ -385,6 +385,11 @@ public class TupleRBTree<K extends Comparable< ? super K>> {
     }
 
     public void delete(K key) {
+        if (key == null) {
+            // the null key is kept outside of the tree
+            nullNode = null;
+            return;
+        }
         Node<K> n = lookup(key);
         if ( n == null ) return; // Key not found, do nothing
         if ( n.left != null && n.right != null ) {
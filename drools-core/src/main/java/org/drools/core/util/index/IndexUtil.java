@@ -25,6 +25,7 @@ import org.drools.core.rule.IndexableConstraint;
 import org.drools.core.rule.constraint.MvelConstraint;
 import org.drools.core.spi.BetaNodeFieldConstraint;
 import org.drools.core.spi.Constraint;
+import org.drools.core.spi.InternalReadAccessor;
 import org.drools.core.util.AbstractHashTable.FieldIndex;
 import org.kie.internal.conf.IndexPrecedenceOption;
 
@@ -32,6 +33,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import static org.drools.core.util.ClassUtils.convertFromPrimitiveType;
 import static org.drools.core.util.ClassUtils.getter2property;
 
 public class IndexUtil {
@@ -67,11 +69,14 @@ public class IndexUtil {
     }
 
     public static boolean isIndexable(BetaNodeFieldConstraint constraint, short nodeType) {
-        return constraint instanceof IndexableConstraint && ((IndexableConstraint)constraint).isIndexable(nodeType);
+        return constraint instanceof IndexableConstraint &&
+               ((IndexableConstraint)constraint).isIndexable(nodeType) &&
+               hasIndexableKey((IndexableConstraint)constraint);
     }
 
     private static boolean canHaveRangeIndex(short nodeType) {
-        return USE_COMPARISON_INDEX && ( nodeType == NodeTypeEnums.NotNode || nodeType == NodeTypeEnums.ExistsNode );
+        return USE_COMPARISON_INDEX && ( nodeType == NodeTypeEnums.NotNode || nodeType == NodeTypeEnums.ExistsNode ||
+                                         nodeType == NodeTypeEnums.JoinNode || nodeType == NodeTypeEnums.AccumulateNode );
     }
 
     public static boolean isIndexableForNode(short nodeType, BetaNodeFieldConstraint constraint) {
@@ -80,7 +85,28 @@ public class IndexUtil {
         }
 
         ConstraintType constraintType = ((IndexableConstraint)constraint).getConstraintType();
-        return constraintType.isIndexableForNode(nodeType);
+        return constraintType.isIndexableForNode(nodeType) && hasIndexableKey((IndexableConstraint)constraint);
+    }
+
+    /**
+     * A comparison index keeps its tuples in a tree sorted by the values of the indexed field, so it can be used
+     * only when both sides of the constraint produce values of the same Comparable type.
+     */
+    private static boolean hasIndexableKey(IndexableConstraint constraint) {
+        if ( !constraint.getConstraintType().isComparison() ) {
+            return true;
+        }
+        FieldIndex fieldIndex = constraint.getFieldIndex();
+        if ( fieldIndex == null || fieldIndex.getDeclaration() == null ) {
+            return false;
+        }
+        Class<?> rightClass = fieldIndex.getExtractor().getValueType().getClassType();
+        Class<?> leftClass = fieldIndex.getDeclaration().getValueType().getClassType();
+        if ( rightClass == null || leftClass == null ) {
+            return false;
+        }
+        rightClass = convertFromPrimitiveType( rightClass );
+        return rightClass == convertFromPrimitiveType( leftClass ) && Comparable.class.isAssignableFrom( rightClass );
     }
 
     public static boolean[] isIndexableForNode(IndexPrecedenceOption indexPrecedenceOption, short nodeType, int keyDepth, BetaNodeFieldConstraint[] constraints) {
@@ -118,7 +144,7 @@ public class IndexUtil {
         for (int i = 0; i < constraints.length; i++) {
             if (isIndexable(constraints[i], nodeType)) {
                 if (isEqualIndexable(constraints[i])) {
-                    sortEqualIndexable(keyDepth, indexable, constraints, i);
+                    sortEqualIndexable(keyDepth, indexable, constraints, i, false);
                 } else {
                     sortRangeIndexable(constraints, indexable, i);
                 }
@@ -130,22 +156,91 @@ public class IndexUtil {
     }
 
     private static boolean hasEqualIndexable(int keyDepth, boolean[] indexable, BetaNodeFieldConstraint[] constraints) {
-        return sortEqualIndexable(keyDepth, indexable, constraints, 0);
+        return sortEqualIndexable(keyDepth, indexable, constraints, 0, true);
     }
 
-    private static boolean sortEqualIndexable(int keyDepth, boolean[] indexable, BetaNodeFieldConstraint[] constraints, int start) {
-        boolean hasEqualIndexable = false;
-        int indexableCouter = 0;
+    private static boolean sortEqualIndexable(int keyDepth, boolean[] indexable, BetaNodeFieldConstraint[] constraints, int start, boolean bySelectivity) {
+        List<Integer> equalIndexable = new ArrayList<Integer>();
         for (int i = start; i < constraints.length; i++) {
             if (isEqualIndexable(constraints[i])) {
-                hasEqualIndexable = true;
-                if (keyDepth > indexableCouter) {
-                    swap(constraints, i, indexableCouter);
-                    indexable[indexableCouter++] = true;
-                }
+                equalIndexable.add(i);
             }
         }
-        return hasEqualIndexable;
+        if (equalIndexable.isEmpty()) {
+            return false;
+        }
+
+        if (bySelectivity && equalIndexable.size() > keyDepth && !hasUnification(constraints, equalIndexable)) {
+            // there are more candidates than available key positions, so take the most selective ones
+            moveMostSelectiveFirst(keyDepth, constraints, equalIndexable);
+            for (int i = 0; i < keyDepth; i++) {
+                indexable[i] = true;
+            }
+        } else {
+            int indexableCouter = 0;
+            for (int i = 0; i < equalIndexable.size() && indexableCouter < keyDepth; i++) {
+                swap(constraints, equalIndexable.get(i), indexableCouter);
+                indexable[indexableCouter++] = true;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasUnification(BetaNodeFieldConstraint[] constraints, List<Integer> positions) {
+        for (int pos : positions) {
+            if (((IndexableConstraint) constraints[pos]).isUnification()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void moveMostSelectiveFirst(int keyDepth, BetaNodeFieldConstraint[] constraints, List<Integer> equalIndexable) {
+        List<Integer> candidates = new ArrayList<Integer>( equalIndexable );
+        // the sort is stable, so constraints with the same estimated selectivity keep the pattern order
+        Collections.sort( candidates, (p1, p2) -> Long.compare( estimateKeyCardinality( constraints[p2] ),
+                                                                estimateKeyCardinality( constraints[p1] ) ) );
+
+        BetaNodeFieldConstraint[] sorted = new BetaNodeFieldConstraint[constraints.length];
+        boolean[] moved = new boolean[constraints.length];
+        int counter = 0;
+        for (int i = 0; i < keyDepth; i++) {
+            int pos = candidates.get(i);
+            sorted[counter++] = constraints[pos];
+            moved[pos] = true;
+        }
+        for (int i = 0; i < constraints.length; i++) {
+            if (!moved[i]) {
+                sorted[counter++] = constraints[i];
+            }
+        }
+        System.arraycopy( sorted, 0, constraints, 0, constraints.length );
+    }
+
+    /**
+     * Estimates the number of distinct values that the field indexed by the given equality constraint can assume.
+     * Fields with a small domain, like booleans or enums, create a few big buckets and then are the least
+     * useful part of a composite hash key.
+     */
+    private static long estimateKeyCardinality(BetaNodeFieldConstraint constraint) {
+        InternalReadAccessor extractor = ((IndexableConstraint) constraint).getFieldExtractor();
+        Class<?> type = extractor != null ? extractor.getExtractToClass() : null;
+        if (type == null) {
+            return Long.MAX_VALUE;
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return 2;
+        }
+        if (type.isEnum()) {
+            return type.getEnumConstants().length;
+        }
+        if (type == byte.class || type == Byte.class) {
+            return 1 << 8;
+        }
+        if (type == short.class || type == Short.class || type == char.class || type == Character.class) {
+            return 1 << 16;
+        }
+        return Long.MAX_VALUE;
     }
 
     private static void sortRangeIndexable(BetaNodeFieldConstraint[] constraints, boolean[] indexable, int i) {
@@ -412,7 +507,7 @@ public class IndexUtil {
                         if (type == ConstraintType.EQUAL) {
                             constraintType = type;
                             return i;
-                        } else if (constraintType == ConstraintType.UNKNOWN && type.isIndexableForNode(nodeType)) {
+                        } else if (constraintType == ConstraintType.UNKNOWN && type.isIndexableForNode(nodeType) && hasIndexableKey(indexableConstraint)) {
                             constraintType = type;
                             indexedConstraintPos = i;
                         }
@@ -424,7 +519,7 @@ public class IndexUtil {
             private int determineTypeWithPatternOrder(short nodeType, BetaNodeFieldConstraint[] constraints) {
                 for (int i = 0; i < constraints.length; i++) {
                     ConstraintType type = ConstraintType.getType(constraints[i]);
-                    if ( type.isIndexableForNode(nodeType) ) {
+                    if ( type.isIndexableForNode(nodeType) && hasIndexableKey((IndexableConstraint) constraints[i]) ) {
                         constraintType = type;
                         return i;
                     }
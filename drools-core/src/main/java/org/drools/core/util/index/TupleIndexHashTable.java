@@ -73,8 +73,8 @@ public class TupleIndexHashTable extends AbstractHashTable implements TupleMemor
             case 0 :
                 throw new IllegalArgumentException( "FieldIndexHashTable cannot use an index[] of length  0" );
             case 1 :
-                this.index = new SingleIndex( index,
-                                              this.startResult );
+                this.index = createSingleIndex( index,
+                                                this.startResult );
                 break;
             case 2 :
                 this.index = new DoubleCompositeIndex( index,
@@ -85,7 +85,8 @@ public class TupleIndexHashTable extends AbstractHashTable implements TupleMemor
                                                        this.startResult );
                 break;
             default :
-                throw new IllegalArgumentException( "FieldIndexHashTable cannot use an index[] of length  great than 3" );
+                this.index = new MultiCompositeIndex( index,
+                                                      this.startResult );
         }
     }
 
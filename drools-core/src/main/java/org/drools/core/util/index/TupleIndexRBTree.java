@@ -127,9 +127,8 @@ public class TupleIndexRBTree implements Externalizable, TupleMemory {
     }
 
     public Iterator<Tuple> iterator() {
-        TupleList list = tree.first();
-        Tuple firstTuple = list != null ? list.getFirst() : null;
-        return new FastIterator.IteratorAdapter(fastIterator(), firstTuple);
+        FastIterator it = fullFastIterator();
+        return new FastIterator.IteratorAdapter(it, (Tuple) it.next(null));
     }
 
     public boolean contains(Tuple leftTuple) {
@@ -142,7 +141,7 @@ public class TupleIndexRBTree implements Externalizable, TupleMemory {
     }
 
     public FastIterator fullFastIterator() {
-        return new TupleFastIterator();
+        return new TupleFullFastIterator();
     }
 
     public FastIterator fullFastIterator(Tuple leftTuple) {
@@ -232,6 +231,34 @@ public class TupleIndexRBTree implements Externalizable, TupleMemory {
         }
     }
 
+    /**
+     * Visits all the tuples in this memory regardless of the direction of the indexed comparison,
+     * starting from the ones with a null key and then following the ascending order of the keys.
+     */
+    public class TupleFullFastIterator implements FastIterator {
+        public Entry next(Entry object) {
+            if (object == null) {
+                Node<Comparable<Comparable>> firstNode = tree.nullNode;
+                return firstNode != null && firstNode.getFirst() != null ? firstNode.getFirst() : firstTupleOf( tree.first() );
+            }
+            Tuple tuple = (Tuple) object;
+            Tuple next = (Tuple) tuple.getNext();
+            if (next != null) {
+                return next;
+            }
+            Comparable key = getLeftIndexedValue( tuple );
+            return firstTupleOf( key == null ? tree.first() : tree.findNearestNode( key, false, Boundary.LOWER ) );
+        }
+
+        private Tuple firstTupleOf(Node<Comparable<Comparable>> node) {
+            return node == null ? null : node.getFirst();
+        }
+
+        public boolean isFullIterator() {
+            return true;
+        }
+    }
+
     public void clear() {
         tree = new TupleRBTree<Comparable<Comparable>>();
     }
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.base.accumulators;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ReversibleAccumulateFunctionTest {
+
+    @Test
+    public void testMinReverse() {
+        MinAccumulateFunction function = new MinAccumulateFunction();
+        assertTrue( function.supportsReverse() );
+        MinAccumulateFunction.MinData data = function.createContext();
+        function.init( data );
+
+        function.accumulate( data, 5 );
+        function.accumulate( data, 3 );
+        function.accumulate( data, 3 );
+        function.accumulate( data, 7 );
+        assertEquals( 3, function.getResult( data ) );
+
+        function.reverse( data, 3 );
+        assertEquals( 3, function.getResult( data ) );
+        function.reverse( data, 3 );
+        assertEquals( 5, function.getResult( data ) );
+        function.reverse( data, 5 );
+        function.reverse( data, 7 );
+        assertNull( function.getResult( data ) );
+    }
+
+    @Test
+    public void testMaxReverse() {
+        MaxAccumulateFunction function = new MaxAccumulateFunction();
+        MaxAccumulateFunction.MaxData data = function.createContext();
+        function.init( data );
+
+        function.accumulate( data, "a" );
+        function.accumulate( data, "c" );
+        function.accumulate( data, "b" );
+        assertEquals( "c", function.getResult( data ) );
+
+        function.reverse( data, "c" );
+        assertEquals( "b", function.getResult( data ) );
+    }
+
+    @Test
+    public void testNumericMinMaxReverse() {
+        NumericMinAccumulateFunction min = new NumericMinAccumulateFunction();
+        NumericMaxAccumulateFunction max = new NumericMaxAccumulateFunction();
+        NumericMinAccumulateFunction.MaxData minData = min.createContext();
+        NumericMaxAccumulateFunction.MaxData maxData = max.createContext();
+        min.init( minData );
+        max.init( maxData );
+
+        Object[] values = new Object[] { 4, 2.5d, 10L, 1.5f };
+        for ( Object value : values ) {
+            min.accumulate( minData, value );
+            max.accumulate( maxData, value );
+        }
+        assertEquals( 1.5f, min.getResult( minData ) );
+        assertEquals( 10L, max.getResult( maxData ) );
+
+        min.reverse( minData, 1.5f );
+        max.reverse( maxData, 10L );
+        assertEquals( 2.5d, min.getResult( minData ) );
+        assertEquals( 4, max.getResult( maxData ) );
+    }
+
+    @Test
+    public void testSlidingAverageDoesNotDrift() {
+        AverageAccumulateFunction function = new AverageAccumulateFunction();
+        AverageAccumulateFunction.AverageData data = function.createContext();
+        function.init( data );
+
+        function.accumulate( data, 1.0e17 );
+        function.accumulate( data, 3.0 );
+        function.reverse( data, 1.0e17 );
+        assertEquals( 3.0, (Double) function.getResult( data ), 0 );
+    }
+
+    @Test
+    public void testSlidingVariance() {
+        VarianceAccumulateFunction function = new VarianceAccumulateFunction();
+        double[] values = new double[] { 2, 4, 4, 4, 5, 5, 7, 9, 11, 3 };
+        int window = 4;
+
+        VarianceAccumulateFunction.VarianceData data = function.createContext();
+        function.init( data );
+        for ( int i = 0; i < values.length; i++ ) {
+            function.accumulate( data, values[i] );
+            if ( i >= window ) {
+                function.reverse( data, values[i - window] );
+            }
+            int from = Math.max( 0, i - window + 1 );
+            assertEquals( variance( values, from, i + 1 ), function.getResult( data ), 1e-9 );
+        }
+    }
+
+    private static double variance(double[] values, int from, int to) {
+        double mean = 0;
+        for ( int i = from; i < to; i++ ) {
+            mean += values[i];
+        }
+        mean /= to - from;
+        double squaredSum = 0;
+        for ( int i = from; i < to; i++ ) {
+            squaredSum += ( values[i] - mean ) * ( values[i] - mean );
+        }
+        return squaredSum / ( to - from );
+    }
+}
@@ -156,6 +156,46 @@ public class ClassAwareObjectStoreTest {
         assertThat(collect(underTest.iterateFactHandles(SuperClass.class)).size(), is(equalTo(2)));
     }
 
+    @Test
+    public void removingFactHandlesWhileIteratingVisitsAllOfThem() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            insertObjectWithFactHandle(new SimpleClass());
+        }
+
+        int visited = 0;
+        Iterator<InternalFactHandle> iterator = underTest.iterateFactHandles();
+        while (iterator.hasNext()) {
+            underTest.removeHandle(iterator.next());
+            visited++;
+        }
+
+        assertThat(visited, is(equalTo(100)));
+        assertThat(underTest.size(), is(equalTo(0)));
+        assertThat(collect(underTest.iterateObjects()).size(), is(equalTo(0)));
+    }
+
+    @Test
+    public void findsHandlesByObjectIdentityAndReconnectsThem() throws Exception {
+        List<InternalFactHandle> handles = new ArrayList<InternalFactHandle>();
+        for (int i = 0; i < 1000; i++) {
+            SimpleClass object = new SimpleClass();
+            InternalFactHandle handle = handleFor(object);
+            underTest.addHandle(handle, object);
+            handles.add(handle);
+        }
+        for (int i = 1; i < handles.size(); i += 2) {
+            underTest.removeHandle(handles.get(i));
+        }
+
+        assertThat(underTest.size(), is(equalTo(500)));
+        for (int i = 0; i < handles.size(); i++) {
+            InternalFactHandle handle = handles.get(i);
+            InternalFactHandle expected = i % 2 == 0 ? handle : null;
+            assertThat(underTest.getHandleForObjectIdentity(handle.getObject()), is(expected));
+            InternalFactHandle disconnected = new DefaultFactHandle(handle.getId(), handle.getObject());
+            assertThat(underTest.reconnect(disconnected), is(expected));
+        }
+    }
 
     private void insertObjectWithFactHandle(Object objectToInsert) {
         underTest.addHandle(handleFor(objectToInsert), objectToInsert);
@@ -22,6 +22,8 @@ import org.drools.core.test.model.Cheese;
 import org.drools.core.spi.BetaNodeFieldConstraint;
 import org.junit.Test;
 
+import static org.junit.Assert.assertSame;
+
 public class DefaultBetaConstraintsTest extends BaseBetaConstraintsTest {
     
     @Test
@@ -165,4 +167,22 @@ public class DefaultBetaConstraintsTest extends BaseBetaConstraintsTest {
         checkBetaConstraints( constraints, DefaultBetaConstraints.class );
     }
 
+    @Test
+    public void testCompositeIndexPrefersSelectiveFields() {
+        BetaNodeFieldConstraint constraint0 = getConstraint( "cheeseCharType", Operator.EQUAL, "charType", Cheese.class );
+        BetaNodeFieldConstraint constraint1 = getConstraint( "cheeseCharObjectType", Operator.EQUAL, "charObjectType", Cheese.class );
+        BetaNodeFieldConstraint constraint2 = getConstraint( "cheeseType1", Operator.NOT_EQUAL, "type", Cheese.class );
+        BetaNodeFieldConstraint constraint3 = getConstraint( "cheeseType2", Operator.EQUAL, "type", Cheese.class );
+        BetaNodeFieldConstraint constraint4 = getConstraint( "cheesePrice", Operator.EQUAL, "price", Cheese.class );
+
+        BetaNodeFieldConstraint[] constraints = new BetaNodeFieldConstraint[] { constraint0, constraint1, constraint2, constraint3, constraint4 };
+
+        checkBetaConstraints( constraints, DefaultBetaConstraints.class );
+
+        // only 3 of the 4 equality constraints fit in the key, so the 2 fields with the smallest domain are the last candidates
+        assertSame( constraint3, constraints[0] );
+        assertSame( constraint4, constraints[1] );
+        assertSame( constraint0, constraints[2] );
+    }
+
 }
@@ -47,7 +47,7 @@ public class SingleBetaConstraintsTest extends BaseBetaConstraintsTest {
     }
 
     @Test
-    public void testNotIndexedForComparison() {
+    public void testIndexedForComparisonInJoin() {
         BetaNodeFieldConstraint  constraint0 = getConstraint( "cheeseType0", Operator.LESS, "type", Cheese.class );
         BetaNodeFieldConstraint [] constraints = new BetaNodeFieldConstraint [] { constraint0 };
         checkBetaConstraints( constraints, SingleBetaConstraints.class, NodeTypeEnums.JoinNode );
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.drools.core.common.DefaultAgenda;
+import org.drools.core.common.InternalAgendaGroup;
+import org.drools.core.common.RuleBasePartitionId;
+import org.drools.core.phreak.RuleAgendaItem;
+import org.drools.core.spi.Activation;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.api.runtime.rule.AgendaFilter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ParallelRuleEvaluatorTest {
+
+    private static final int SLOTS = RuleBasePartitionId.PARALLEL_PARTITIONS_NUMBER;
+
+    private ExecutorService executor;
+
+    @Before
+    public void createExecutor() {
+        executor = Executors.newFixedThreadPool( 1 );
+    }
+
+    @After
+    public void shutdownExecutor() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination( 10, TimeUnit.SECONDS );
+    }
+
+    @Test(timeout = 10000)
+    public void testIdleWorkerStealsTheSlotsOfTheOthers() throws Exception {
+        assumeTrue( SLOTS >= 2 );
+
+        // keep the only thread of the executor busy, so the forked workers can't start
+        CountDownLatch release = new CountDownLatch( 1 );
+        executor.submit( () -> {
+            release.await();
+            return null;
+        } );
+
+        RecordingEvaluator evaluator = new RecordingEvaluator( executor );
+        InternalAgendaGroup group = createGroup( 0, 0, 0, 1, 1 );
+
+        Thread caller = Thread.currentThread();
+        Thread releaser = new Thread( () -> {
+            try {
+                // the workers are released only once the caller has evaluated everything by itself
+                evaluator.evaluated.await();
+            } catch (InterruptedException e) {
+                throw new RuntimeException( e );
+            }
+            release.countDown();
+        } );
+        releaser.start();
+
+        assertEquals( 5, evaluator.evaluateAndFire( null, 0, -1, group ) );
+        releaser.join();
+
+        // both slots have been drained by the calling thread
+        assertEquals( caller, evaluator.threads.get( 0 ) );
+        assertEquals( caller, evaluator.threads.get( 1 ) );
+
+        PartitionEvaluationStats stats = evaluator.getStats();
+        assertEquals( 3, stats.getEvaluatedItems( 0 ) );
+        assertEquals( 2, stats.getEvaluatedItems( 1 ) );
+    }
+
+    @Test(timeout = 10000)
+    public void testStats() {
+        RecordingEvaluator evaluator = new RecordingEvaluator( executor );
+        int[] slots = new int[10];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = i % SLOTS;
+        }
+
+        assertEquals( 10, evaluator.evaluateAndFire( null, 0, -1, createGroup( slots ) ) );
+        assertEquals( 10, evaluator.evaluateAndFire( null, 0, -1, createGroup( slots ) ) );
+
+        PartitionEvaluationStats stats = evaluator.getStats();
+        assertEquals( SLOTS, stats.getSlotsNumber() );
+        assertEquals( 2, stats.getCycles() );
+        long evaluated = 0;
+        for (int slot = 0; slot < SLOTS; slot++) {
+            long expected = 2 * countSlot( slots, slot );
+            assertEquals( expected, stats.getEvaluatedItems( slot ) );
+            // every item fires once
+            assertEquals( expected, stats.getFiredRules( slot ) );
+            assertTrue( stats.getUtilization( slot ) >= 0.0 );
+            evaluated += stats.getEvaluatedItems( slot );
+        }
+        assertEquals( 20, evaluated );
+        assertTrue( stats.getElapsedTimeNanos() > 0 );
+
+        stats.reset();
+        assertEquals( 0, stats.getCycles() );
+        assertEquals( 0, stats.getEvaluatedItems( 0 ) );
+    }
+
+    @Test(timeout = 10000)
+    public void testFireLimit() {
+        RecordingEvaluator evaluator = new RecordingEvaluator( executor );
+        int[] slots = new int[10];
+
+        assertEquals( 4, evaluator.evaluateAndFire( null, 0, 4, createGroup( slots ) ) );
+        assertEquals( 4, evaluator.getStats().getEvaluatedItems( 0 ) );
+
+        // the items not evaluated are discarded and not carried over to the next cycle
+        assertEquals( 10, evaluator.evaluateAndFire( null, 0, -1, createGroup( slots ) ) );
+        assertEquals( 14, evaluator.getStats().getEvaluatedItems( 0 ) );
+    }
+
+    @Test(timeout = 10000)
+    public void testWorkersAreJoinedWhenTheCallerFails() throws Exception {
+        assumeTrue( SLOTS >= 2 );
+
+        CountDownLatch callerFailed = new CountDownLatch( 1 );
+        AtomicBoolean failing = new AtomicBoolean( true );
+        AtomicBoolean workerCompleted = new AtomicBoolean();
+        Thread caller = Thread.currentThread();
+
+        RecordingEvaluator evaluator = new RecordingEvaluator( executor ) {
+            @Override
+            protected int internalEvaluateAndFire( AgendaFilter filter, int fireCount, int fireLimit, RuleAgendaItem item ) {
+                if ( Thread.currentThread() == caller ) {
+                    if ( failing.getAndSet( false ) ) {
+                        callerFailed.countDown();
+                        throw new IllegalStateException( "evaluation failed" );
+                    }
+                    return 1;
+                }
+                try {
+                    // still evaluating when the caller fails
+                    callerFailed.await();
+                    Thread.sleep( 100 );
+                } catch (InterruptedException e) {
+                    throw new RuntimeException( e );
+                }
+                workerCompleted.set( true );
+                return 1;
+            }
+        };
+
+        try {
+            evaluator.evaluateAndFire( null, 0, -1, createGroup( 0, 1 ) );
+            fail( "The failure of the caller thread should be rethrown" );
+        } catch (IllegalStateException e) {
+            assertEquals( "evaluation failed", e.getMessage() );
+        }
+        assertTrue( workerCompleted.get() );
+
+        // the items of the failed evaluation are not carried over to the next one
+        assertEquals( 2, evaluator.evaluateAndFire( null, 0, -1, createGroup( 0, 1 ) ) );
+    }
+
+    private static long countSlot( int[] slots, int slot ) {
+        long count = 0;
+        for (int s : slots) {
+            if ( s == slot ) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static InternalAgendaGroup createGroup( int... slots ) {
+        List<Activation> activations = new ArrayList<Activation>();
+        for (int slot : slots) {
+            RuleBasePartitionId partition = RuleBasePartitionId.createPartition();
+            partition.setParallelEvaluationSlot( slot );
+            RuleAgendaItem item = mock( RuleAgendaItem.class );
+            when( item.getPartition() ).thenReturn( partition );
+            activations.add( item );
+        }
+        InternalAgendaGroup group = mock( InternalAgendaGroup.class );
+        when( group.getActivations() ).thenReturn( activations.toArray( new Activation[activations.size()] ) );
+        return group;
+    }
+
+    private static class RecordingEvaluator extends ParallelRuleEvaluator {
+
+        private final Map<Integer, Thread> threads = new ConcurrentHashMap<Integer, Thread>();
+        private final CountDownLatch evaluated = new CountDownLatch( 1 );
+        private int remaining = -1;
+
+        private RecordingEvaluator( ExecutorService executor ) {
+            super( mock( DefaultAgenda.class ), executor );
+        }
+
+        @Override
+        public int evaluateAndFire( AgendaFilter filter, int fireCount, int fireLimit, InternalAgendaGroup group ) {
+            synchronized (this) {
+                remaining = group.getActivations().length;
+            }
+            return super.evaluateAndFire( filter, fireCount, fireLimit, group );
+        }
+
+        @Override
+        protected int internalEvaluateAndFire( AgendaFilter filter, int fireCount, int fireLimit, RuleAgendaItem item ) {
+            threads.put( item.getPartition().getParallelEvaluationSlot(), Thread.currentThread() );
+            synchronized (this) {
+                if ( --remaining == 0 ) {
+                    evaluated.countDown();
+                }
+            }
+            return 1;
+        }
+    }
+}
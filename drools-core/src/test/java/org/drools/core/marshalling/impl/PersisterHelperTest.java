@@ -0,0 +1,40 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.marshalling.impl;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class PersisterHelperTest {
+
+    @Test
+    public void testPreloadCapacityDoesNotOverflow() {
+        assertEquals( 8192, PersisterHelper.newPreloadCapacity( 4096 ) );
+        assertEquals( 1 << 30, PersisterHelper.newPreloadCapacity( 1 << 29 ) );
+        assertEquals( PersisterHelper.MAX_PRELOAD_SIZE, PersisterHelper.newPreloadCapacity( 1 << 30 ) );
+        assertEquals( PersisterHelper.MAX_PRELOAD_SIZE, PersisterHelper.newPreloadCapacity( PersisterHelper.MAX_PRELOAD_SIZE - 1 ) );
+
+        try {
+            PersisterHelper.newPreloadCapacity( PersisterHelper.MAX_PRELOAD_SIZE );
+            fail( "A buffer can't grow beyond the maximum array size" );
+        } catch (OutOfMemoryError e) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.phreak;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.core.common.InternalWorkingMemory;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class LockFreePropagationListTest {
+
+    @Test
+    public void testTakeAllPreservesInsertionOrder() {
+        PropagationList list = new LockFreePropagationList( mock( InternalWorkingMemory.class ) );
+        assertTrue( list.isEmpty() );
+
+        for (int i = 0; i < 5; i++) {
+            list.addEntry( new TestEntry( 0, i ) );
+        }
+        assertFalse( list.isEmpty() );
+
+        int expected = 0;
+        for (PropagationEntry entry = list.takeAll(); entry != null; entry = entry.getNext()) {
+            assertEquals( expected++, ( (TestEntry) entry ).j );
+        }
+        assertEquals( 5, expected );
+        assertTrue( list.isEmpty() );
+        assertNull( list.takeAll() );
+    }
+
+    @Test
+    public void testIteratorDoesNotDrain() {
+        PropagationList list = new LockFreePropagationList( mock( InternalWorkingMemory.class ) );
+        list.addEntry( new TestEntry( 0, 0 ) );
+        list.addEntry( new TestEntry( 0, 1 ) );
+
+        List<Integer> seen = new ArrayList<Integer>();
+        list.iterator().forEachRemaining( e -> seen.add( ( (TestEntry) e ).j ) );
+        assertEquals( 2, seen.size() );
+        assertEquals( 0, (int) seen.get( 0 ) );
+        assertEquals( 1, (int) seen.get( 1 ) );
+        assertFalse( list.isEmpty() );
+    }
+
+    @Test(timeout = 20000)
+    public void testConcurrentProducers() throws Exception {
+        final int THREAD_NR = 4;
+        final int OBJECT_NR = 100000;
+
+        final PropagationList list = new LockFreePropagationList( mock( InternalWorkingMemory.class ) );
+        final int[] counters = new int[THREAD_NR];
+        final CountDownLatch done = new CountDownLatch( THREAD_NR );
+
+        ExecutorService executor = Executors.newFixedThreadPool( THREAD_NR );
+        try {
+            for (int i = 0; i < THREAD_NR; i++) {
+                final int producer = i;
+                executor.submit( () -> {
+                    for (int j = 0; j < OBJECT_NR; j++) {
+                        list.addEntry( new TestEntry( producer, j ) );
+                    }
+                    done.countDown();
+                } );
+            }
+
+            while ( done.getCount() > 0 || !list.isEmpty() ) {
+                PropagationEntry head = list.takeAll();
+                if ( head == null ) {
+                    Thread.yield();
+                    continue;
+                }
+                for (PropagationEntry entry = head; entry != null; entry = entry.getNext()) {
+                    TestEntry testEntry = (TestEntry) entry;
+                    assertEquals( counters[testEntry.i]++, testEntry.j );
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination( 10, TimeUnit.SECONDS );
+        }
+
+        for (int counter : counters) {
+            assertEquals( OBJECT_NR, counter );
+        }
+    }
+
+    @Test
+    public void testEntriesDeferringExpiration() {
+        PropagationList list = new LockFreePropagationList( mock( InternalWorkingMemory.class ) );
+        list.addEntry( new TestEntry( 0, 0 ) );
+        assertFalse( list.hasEntriesDeferringExpiration() );
+
+        list.addEntry( new DeferringTestEntry( 0, 1 ) );
+        list.addEntry( new DeferringTestEntry( 0, 2 ) );
+        assertTrue( list.hasEntriesDeferringExpiration() );
+
+        list.takeAll();
+        assertFalse( list.hasEntriesDeferringExpiration() );
+
+        list.addEntry( new DeferringTestEntry( 0, 3 ) );
+        assertTrue( list.hasEntriesDeferringExpiration() );
+        list.reset();
+        assertFalse( list.hasEntriesDeferringExpiration() );
+    }
+
+    @Test(timeout = 20000)
+    public void testEntriesDeferringExpirationWithConcurrentProducers() throws Exception {
+        final int THREAD_NR = 4;
+        final int OBJECT_NR = 100000;
+
+        final PropagationList list = new LockFreePropagationList( mock( InternalWorkingMemory.class ) );
+        final CountDownLatch done = new CountDownLatch( THREAD_NR );
+
+        ExecutorService executor = Executors.newFixedThreadPool( THREAD_NR );
+        try {
+            for (int i = 0; i < THREAD_NR; i++) {
+                final int producer = i;
+                executor.submit( () -> {
+                    for (int j = 0; j < OBJECT_NR; j++) {
+                        list.addEntry( j % 2 == 0 ? new DeferringTestEntry( producer, j ) : new TestEntry( producer, j ) );
+                    }
+                    done.countDown();
+                } );
+            }
+
+            while ( done.getCount() > 0 ) {
+                list.takeAll();
+                Thread.yield();
+            }
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination( 10, TimeUnit.SECONDS );
+        }
+
+        // once all the additions completed the flag must reflect exactly what is left on the stack
+        boolean hasDeferringEntries = false;
+        for (Iterator<PropagationEntry> i = list.iterator(); i.hasNext(); ) {
+            hasDeferringEntries |= i.next().defersExpiration();
+        }
+        assertEquals( hasDeferringEntries, list.hasEntriesDeferringExpiration() );
+
+        list.takeAll();
+        assertFalse( list.hasEntriesDeferringExpiration() );
+    }
+
+    @Test(timeout = 10000)
+    public void testWaitOnRestIsWokenUpByAddEntry() throws Exception {
+        final PropagationList list = new LockFreePropagationList( mock( InternalWorkingMemory.class ) );
+
+        Thread producer = new Thread( () -> {
+            try {
+                Thread.sleep( 100L );
+            } catch (InterruptedException e) {
+                throw new RuntimeException( e );
+            }
+            list.addEntry( new TestEntry( 0, 0 ) );
+        } );
+        producer.start();
+
+        while ( list.isEmpty() ) {
+            list.waitOnRest();
+        }
+        assertEquals( 0, ( (TestEntry) list.takeAll() ).j );
+        producer.join();
+    }
+
+    public static class TestEntry extends PropagationEntry.AbstractPropagationEntry {
+
+        final int i;
+        final int j;
+
+        public TestEntry( int i, int j ) {
+            this.i = i;
+            this.j = j;
+        }
+
+        @Override
+        public void execute( InternalWorkingMemory wm ) { }
+
+        @Override
+        public String toString() {
+            return "[" + i + ", " + j + "]";
+        }
+    }
+
+    public static class DeferringTestEntry extends TestEntry {
+
+        public DeferringTestEntry( int i, int j ) {
+            super( i, j );
+        }
+
+        @Override
+        public boolean defersExpiration() {
+            return true;
+        }
+    }
+}
@@ -280,6 +280,80 @@ public class CompositeObjectSinkAdapterTest {
 
     }
 
+    @Test
+    public void testRangeIndexedAlphas() {
+        final CompositeObjectSinkAdapter ad = new CompositeObjectSinkAdapter();
+        InternalReadAccessor extractor = store.getReader( Cheese.class,
+                                                          "price" );
+
+        final AlphaNode al1 = new AlphaNode( buildContext.getNextId(),
+                                             new MvelConstraintTestUtil( "price > 10", new LongFieldImpl( 10 ), extractor ),
+                                             new MockObjectSource( buildContext.getNextId() ),
+                                             buildContext );
+        final AlphaNode al2 = new AlphaNode( buildContext.getNextId(),
+                                             new MvelConstraintTestUtil( "price < 20", new LongFieldImpl( 20 ), extractor ),
+                                             new MockObjectSource( buildContext.getNextId() ),
+                                             buildContext );
+        final AlphaNode al3 = new AlphaNode( buildContext.getNextId(),
+                                             new MvelConstraintTestUtil( "price > 5", new LongFieldImpl( 5 ), extractor ),
+                                             new MockObjectSource( buildContext.getNextId() ),
+                                             buildContext );
+
+        ad.addObjectSink( al1 );
+        ad.addObjectSink( al2 );
+
+        assertNotNull( ad.rangeIndexes );
+        assertEquals( 2,
+                      ad.otherSinks.size() );
+
+        ad.addObjectSink( al3 );
+
+        //this should now be range indexed
+        assertNull( ad.otherSinks );
+        assertEquals( 1,
+                      ad.rangeIndexes.size() );
+        AlphaRangeIndex rangeIndex = ad.rangeIndexes.get( 0 );
+        assertEquals( true,
+                      rangeIndex.isIndexed() );
+        assertEquals( 3,
+                      ad.size() );
+        assertEquals( 3,
+                      ad.getSinks().length );
+
+        // the sinks are ordered by operator (>, >=, <, <=) and then by value, as they are visited during propagation
+        assertSame( al3,
+                    ad.getSinks()[0] );
+        assertSame( al1,
+                    ad.getSinks()[1] );
+        assertSame( al2,
+                    ad.getSinks()[2] );
+
+        // 15 satisfies "price > 5", "price > 10" and "price < 20"
+        int[] bounds = rangeIndex.getMatchingBounds( new Cheese( "stilton", 15 ) );
+        assertEquals( 2, bounds[1] - bounds[0] );
+        assertEquals( 1, bounds[5] - bounds[4] );
+
+        // 10 only satisfies "price > 5" and "price < 20"
+        bounds = rangeIndex.getMatchingBounds( new Cheese( "stilton", 10 ) );
+        assertEquals( 1, bounds[1] - bounds[0] );
+        assertEquals( 1, bounds[5] - bounds[4] );
+
+        // 20 only satisfies "price > 5" and "price > 10"
+        bounds = rangeIndex.getMatchingBounds( new Cheese( "stilton", 20 ) );
+        assertEquals( 2, bounds[1] - bounds[0] );
+        assertEquals( 0, bounds[5] - bounds[4] );
+
+        //now remove one, check the indexing is undone
+        ad.removeObjectSink( al2 );
+        assertNotNull( ad.otherSinks );
+        assertEquals( 2,
+                      ad.otherSinks.size() );
+        assertEquals( false,
+                      rangeIndex.isIndexed() );
+        assertEquals( 2,
+                      ad.getSinks().length );
+    }
+
     @Test
     public void testTripleAlphaCharacterConstraint() {
         final CompositeObjectSinkAdapter ad = new CompositeObjectSinkAdapter();
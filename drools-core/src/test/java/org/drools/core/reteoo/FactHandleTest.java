@@ -18,9 +18,21 @@ package org.drools.core.reteoo;
 
 import org.junit.Test;
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import org.drools.core.common.DefaultFactHandle;
 import org.drools.core.common.DisconnectedWorkingMemoryEntryPoint;
+import org.drools.core.common.EventFactHandle;
+import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.factmodel.traits.TraitTypeEnum;
+import org.drools.core.time.Job;
+import org.drools.core.time.JobHandle;
+import org.drools.core.time.TimerService;
+import org.drools.core.time.impl.DefaultJobHandle;
+import org.drools.core.time.impl.TimerJobInstance;
 
 public class FactHandleTest {
     /*
@@ -95,4 +107,106 @@ public class FactHandleTest {
                       f0.getId() );
     }
 
+    @Test
+    public void testFlagsAreIndependent() {
+        final DefaultFactHandle f0 = new DefaultFactHandle( 134,
+                                                            "cheese" );
+        assertTrue( f0.isValid() );
+        assertFalse( f0.isNegated() );
+        assertFalse( f0.isDisconnected() );
+        assertEquals( TraitTypeEnum.NON_TRAIT,
+                      f0.getTraitType() );
+
+        f0.setNegated( true );
+        assertTrue( f0.isNegated() );
+        assertTrue( f0.isValid() );
+
+        f0.invalidate();
+        assertFalse( f0.isValid() );
+        assertTrue( f0.isNegated() );
+        assertEquals( TraitTypeEnum.NON_TRAIT,
+                      f0.getTraitType() );
+
+        f0.setNegated( false );
+        assertFalse( f0.isNegated() );
+        assertFalse( f0.isValid() );
+    }
+
+    @Test
+    public void testExternalFormRoundTrip() {
+        final DefaultFactHandle f0 = new DefaultFactHandle( 134,
+                                                            "cheese",
+                                                            678,
+                                                            new DisconnectedWorkingMemoryEntryPoint( "DEFAULT" ) );
+        assertEquals( String.class.getName(),
+                      f0.getObjectClassName() );
+
+        final DefaultFactHandle f1 = DefaultFactHandle.createFromExternalFormat( f0.toExternalForm() );
+        assertNull( f1.getObject() );
+        assertTrue( f1.isDisconnected() );
+        assertEquals( 134,
+                      f1.getId() );
+        assertEquals( f0.getIdentityHashCode(),
+                      f1.getIdentityHashCode() );
+        assertEquals( f0.getObjectHashCode(),
+                      f1.getObjectHashCode() );
+        assertEquals( TraitTypeEnum.NON_TRAIT,
+                      f1.getTraitType() );
+        assertEquals( String.class.getName(),
+                      f1.getObjectClassName() );
+        assertEquals( f0.toExternalForm(),
+                      f1.toExternalForm() );
+    }
+
+    @Test
+    public void testObjectClassNameIsKeptWhenObjectIsCleared() {
+        final DefaultFactHandle f0 = new DefaultFactHandle( 134,
+                                                            "cheese" );
+        f0.setObject( null );
+        assertEquals( String.class.getName(),
+                      f0.getObjectClassName() );
+
+        f0.setObject( 1 );
+        assertEquals( Integer.class.getName(),
+                      f0.getObjectClassName() );
+    }
+
+    @Test
+    public void testUnscheduleAllJobs() {
+        final EventFactHandle handle = new EventFactHandle( 1,
+                                                            "event",
+                                                            1,
+                                                            100,
+                                                            0,
+                                                            new DisconnectedWorkingMemoryEntryPoint( "DEFAULT" ) );
+        final TimerService timerService = mock( TimerService.class );
+        final InternalWorkingMemory wm = mock( InternalWorkingMemory.class );
+        when( wm.getTimerService() ).thenReturn( timerService );
+
+        final JobHandle job1 = createJobHandle( 1 );
+        final JobHandle job2 = createJobHandle( 2 );
+        final JobHandle job3 = createJobHandle( 3 );
+        handle.addJob( job1 );
+        handle.addJob( job2 );
+        handle.addJob( job3 );
+        handle.removeJob( job2 );
+
+        handle.unscheduleAllJobs( wm );
+        verify( timerService ).removeJob( job1 );
+        verify( timerService, times( 0 ) ).removeJob( job2 );
+        verify( timerService ).removeJob( job3 );
+
+        // the jobs are unscheduled only once
+        handle.unscheduleAllJobs( wm );
+        verify( timerService, times( 1 ) ).removeJob( job1 );
+    }
+
+    private static JobHandle createJobHandle( long id ) {
+        // job handles are equal when their jobs are, so each one needs its own job
+        TimerJobInstance timerJobInstance = mock( TimerJobInstance.class );
+        when( timerJobInstance.getJob() ).thenReturn( mock( Job.class ) );
+        DefaultJobHandle jobHandle = new DefaultJobHandle( id );
+        jobHandle.setTimerJobInstance( timerJobInstance );
+        return jobHandle;
+    }
 }
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.rule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.drools.core.common.DisconnectedWorkingMemoryEntryPoint;
+import org.drools.core.common.EventFactHandle;
+import org.drools.core.rule.SlidingTimeWindow.SlidingTimeWindowContext;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class SlidingTimeWindowContextTest {
+
+    @Test
+    public void testEvictInTimestampOrder() {
+        SlidingTimeWindowContext window = new SlidingTimeWindowContext();
+        List<EventFactHandle> handles = new ArrayList<EventFactHandle>();
+        // more than the initial capacity, to wrap and grow the buffer
+        for ( int i = 0; i < 40; i++ ) {
+            EventFactHandle handle = createHandle( i, i * 10 );
+            handles.add( handle );
+            window.add( handle );
+            if ( i % 3 == 0 ) {
+                assertSame( handles.remove( 0 ), window.poll() );
+            }
+        }
+        assertEquals( handles.size(), window.size() );
+        assertEquals( handles, new ArrayList<EventFactHandle>( window.getFactHandles() ) );
+
+        for ( EventFactHandle handle : handles ) {
+            assertSame( handle, window.poll() );
+        }
+        assertNull( window.peek() );
+        assertEquals( 0, window.size() );
+    }
+
+    @Test
+    public void testOutOfOrderInsert() {
+        SlidingTimeWindowContext window = new SlidingTimeWindowContext();
+        EventFactHandle h1 = createHandle( 1, 100 );
+        EventFactHandle h2 = createHandle( 2, 300 );
+        EventFactHandle h3 = createHandle( 3, 200 );
+        EventFactHandle h4 = createHandle( 4, 50 );
+        window.add( h1 );
+        window.add( h2 );
+        window.add( h3 );
+        window.add( h4 );
+
+        assertSame( h4, window.poll() );
+        assertSame( h1, window.poll() );
+        assertSame( h3, window.poll() );
+        assertSame( h2, window.poll() );
+        assertNull( window.poll() );
+    }
+
+    @Test
+    public void testRemoveFromTheMiddle() {
+        SlidingTimeWindowContext window = new SlidingTimeWindowContext();
+        EventFactHandle h1 = createHandle( 1, 100 );
+        EventFactHandle h2 = createHandle( 2, 200 );
+        EventFactHandle h3 = createHandle( 3, 300 );
+        window.add( h1 );
+        window.add( h2 );
+        window.add( h3 );
+
+        window.remove( h2 );
+        assertEquals( 2, window.size() );
+        window.remove( h1 );
+        assertSame( h3, window.peek() );
+        window.remove( h3 );
+        assertNull( window.peek() );
+        assertEquals( 0, window.size() );
+    }
+
+    @Test
+    public void testPollExpired() {
+        SlidingTimeWindowContext window = new SlidingTimeWindowContext();
+        EventFactHandle h1 = createHandle( 1, 100 );
+        EventFactHandle h2 = createHandle( 2, 200 );
+        EventFactHandle h3 = createHandle( 3, 300 );
+        window.add( h1 );
+        window.add( h2 );
+        window.add( h3 );
+
+        // window of 50: at 250 both h1 and h2 are expired
+        SlidingTimeWindow timeWindow = new SlidingTimeWindow( 50 );
+        assertSame( h1, window.pollExpired( 250, timeWindow ) );
+        assertSame( h2, window.pollExpired( 250, timeWindow ) );
+        assertNull( window.pollExpired( 250, timeWindow ) );
+        assertSame( h3, window.peek() );
+        assertSame( h3, window.pollExpired( 350, timeWindow ) );
+    }
+
+    @Test
+    public void testPollExpiredUsesTheExpirationOfTheWindow() {
+        SlidingTimeWindowContext window = new SlidingTimeWindowContext();
+        EventFactHandle h1 = createHandle( 1, 100 );
+        EventFactHandle h2 = createHandle( 2, 200 );
+        window.add( h1 );
+        window.add( h2 );
+
+        // a window expiring only the events with an even id
+        SlidingTimeWindow timeWindow = new SlidingTimeWindow( 50 ) {
+            @Override
+            protected boolean isExpired( long currentTime, EventFactHandle handle ) {
+                return handle.getId() % 2 == 0;
+            }
+        };
+        assertNull( window.pollExpired( 1000, timeWindow ) );
+        assertSame( h1, window.poll() );
+        assertSame( h2, window.pollExpired( 0, timeWindow ) );
+    }
+
+    private EventFactHandle createHandle(int id, long timestamp) {
+        return new EventFactHandle( id,
+                                    "event" + id,
+                                    id,
+                                    timestamp,
+                                    0,
+                                    new DisconnectedWorkingMemoryEntryPoint( "DEFAULT" ) );
+    }
+}
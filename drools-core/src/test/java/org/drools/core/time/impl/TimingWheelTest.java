@@ -0,0 +1,201 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.time.impl;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.core.ClockType;
+import org.drools.core.SessionConfiguration;
+import org.drools.core.time.Job;
+import org.drools.core.time.JobContext;
+import org.drools.core.time.TimerService;
+import org.drools.core.time.TimerServiceFactory;
+import org.drools.core.time.Trigger;
+import org.drools.core.time.impl.JDKTimerServiceTest.DelayedTrigger;
+import org.drools.core.time.impl.JDKTimerServiceTest.HelloWorldJob;
+import org.drools.core.time.impl.JDKTimerServiceTest.HelloWorldJobContext;
+import org.drools.core.time.impl.TimingWheel.TimingWheelJobHandle;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TimingWheelTest {
+
+    @Test
+    public void testJobsExpireInDeadlineOrderAcrossLevels() {
+        TimingWheel wheel = new TimingWheel( 1, 0 );
+        long[] deadlines = new long[] { 5000000, 70, 5, 300000, 63, 64, 4096, 1 };
+        for ( int i = 0; i < deadlines.length; i++ ) {
+            wheel.add( new TimingWheelJobHandle( i ), deadlines[i] );
+        }
+        assertEquals( deadlines.length, wheel.size() );
+
+        long last = -1;
+        List<Long> expired = new ArrayList<Long>();
+        for ( TimingWheelJobHandle job = wheel.poll( Long.MAX_VALUE - 1 ); job != null; job = wheel.poll( Long.MAX_VALUE - 1 ) ) {
+            assertTrue( job.getDeadline() >= last );
+            last = job.getDeadline();
+            expired.add( job.getDeadline() );
+        }
+        assertEquals( deadlines.length, expired.size() );
+        assertTrue( wheel.isEmpty() );
+    }
+
+    @Test
+    public void testJobsDoNotExpireBeforeTheirDeadline() {
+        TimingWheel wheel = new TimingWheel( 10, 0 );
+        TimingWheelJobHandle job = new TimingWheelJobHandle( 0 );
+        wheel.add( job, 1234 );
+
+        assertNull( wheel.poll( 1233 ) );
+        wheel.advanceTo( 1233 );
+
+        // with a tick of 10 the job can be late, but no more than a tick
+        TimingWheelJobHandle expired = null;
+        for ( long time = 1234; expired == null; time++ ) {
+            expired = wheel.poll( time );
+            assertTrue( time < 1234 + 10 );
+        }
+        assertSame( job, expired );
+    }
+
+    @Test
+    public void testRemovedJobsDoNotExpire() {
+        TimingWheel wheel = new TimingWheel( 1, 0 );
+        TimingWheelJobHandle job1 = new TimingWheelJobHandle( 1 );
+        TimingWheelJobHandle job2 = new TimingWheelJobHandle( 2 );
+        wheel.add( job1, 100 );
+        wheel.add( job2, 100 );
+
+        assertTrue( wheel.remove( job1 ) );
+        assertFalse( wheel.remove( job1 ) );
+        assertFalse( job1.isScheduled() );
+
+        assertSame( job2, wheel.poll( 100 ) );
+        assertNull( wheel.poll( 100 ) );
+        assertTrue( wheel.isEmpty() );
+    }
+
+    @Test
+    public void testPastDeadlinesAreImmediatelyDue() {
+        TimingWheel wheel = new TimingWheel( 1, 1000 );
+        TimingWheelJobHandle job = new TimingWheelJobHandle( 0 );
+        wheel.add( job, 10 );
+        assertEquals( 1000, wheel.getNextExpiration() );
+        assertSame( job, wheel.poll( 1000 ) );
+    }
+
+    @Test
+    public void testPseudoClockTimingWheel() {
+        SessionConfiguration config = SessionConfiguration.newInstance();
+        config.setClockType( ClockType.PSEUDO_CLOCK );
+        config.setTimingWheelTick( 1 );
+        TimerService timeService = TimerServiceFactory.getTimerService( config );
+        assertTrue( timeService instanceof TimingWheelPseudoClockScheduler );
+
+        PseudoClockScheduler clock = (PseudoClockScheduler) timeService;
+        HelloWorldJobContext ctx = new HelloWorldJobContext( "hello world", timeService );
+        timeService.scheduleJob( new HelloWorldJob(), ctx, new FixedTimesTrigger( 100, 200, 300 ) );
+
+        // the time to the next job is the time to the next bucket to be cascaded, so never later than the job
+        long timeToNextJob = timeService.getTimeToNextJob();
+        assertTrue( timeToNextJob > 0 && timeToNextJob <= 100 );
+        clock.advanceTime( 99, TimeUnit.MILLISECONDS );
+        assertEquals( 0, ctx.getList().size() );
+        clock.advanceTime( 1, TimeUnit.MILLISECONDS );
+        assertEquals( 1, ctx.getList().size() );
+        clock.advanceTime( 500, TimeUnit.MILLISECONDS );
+        assertEquals( 3, ctx.getList().size() );
+        assertEquals( -1, timeService.getTimeToNextJob() );
+    }
+
+    @Test
+    public void testPseudoClockNeverMovesBackwardsWithinABucket() {
+        SessionConfiguration config = SessionConfiguration.newInstance();
+        config.setClockType( ClockType.PSEUDO_CLOCK );
+        config.setTimingWheelTick( 10 );
+        TimerService timeService = TimerServiceFactory.getTimerService( config );
+        final PseudoClockScheduler clock = (PseudoClockScheduler) timeService;
+
+        final List<Long> times = new ArrayList<Long>();
+        Job job = new Job() {
+            public void execute(JobContext ctx) {
+                times.add( clock.getCurrentTime() );
+            }
+        };
+        // all in the same bucket, scheduled out of deadline order
+        for ( long deadline : new long[] { 109, 101, 105, 103, 102, 108 } ) {
+            timeService.scheduleJob( job, new HelloWorldJobContext( "hello world", timeService ), new FixedTimesTrigger( deadline ) );
+        }
+
+        clock.advanceTime( 200, TimeUnit.MILLISECONDS );
+        assertEquals( 6, times.size() );
+        for ( int i = 1; i < times.size(); i++ ) {
+            assertTrue( times.get( i ) >= times.get( i - 1 ) );
+        }
+        assertEquals( 200, clock.getCurrentTime() );
+    }
+
+    @Test
+    public void testRealTimeTimingWheel() throws Exception {
+        SessionConfiguration config = SessionConfiguration.newInstance();
+        config.setClockType( ClockType.REALTIME_CLOCK );
+        config.setTimingWheelTick( 10 );
+        TimerService timeService = TimerServiceFactory.getTimerService( config );
+        assertTrue( timeService instanceof TimingWheelTimerService );
+
+        HelloWorldJobContext ctx = new HelloWorldJobContext( "hello world", timeService );
+        timeService.scheduleJob( new HelloWorldJob(), ctx, new DelayedTrigger( new long[] { 100, 100, 100 } ) );
+        Thread.sleep( 500 );
+        timeService.shutdown();
+        assertEquals( 3, ctx.getList().size() );
+    }
+
+    public static class FixedTimesTrigger implements Trigger {
+        private final long[] times;
+        private int next;
+
+        public FixedTimesTrigger(long... times) {
+            this.times = times;
+        }
+
+        public Date hasNextFireTime() {
+            return next < times.length ? new Date( times[next] ) : null;
+        }
+
+        public Date nextFireTime() {
+            return next < times.length ? new Date( times[next++] ) : null;
+        }
+
+        public void readExternal(ObjectInput in) throws IOException,
+                                                ClassNotFoundException {
+        }
+
+        public void writeExternal(ObjectOutput out) throws IOException {
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.drools.core.spi.Activation;
+import org.drools.core.util.BinaryHeapQueueTest.Item;
+import org.drools.core.util.BinaryHeapQueueTest.ItemConflictResolver;
+import org.drools.core.util.SalienceBucketQueue.BucketOrder;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class AgendaQueueTest {
+
+    @Test
+    public void testFourAryHeapOrder() {
+        assertSameOrderAsBinaryHeap( new DAryHeapQueue( ItemConflictResolver.INSTANCE ) );
+    }
+
+    @Test
+    public void testTernaryHeapOrder() {
+        assertSameOrderAsBinaryHeap( new DAryHeapQueue( ItemConflictResolver.INSTANCE, 3 ) );
+    }
+
+    @Test
+    public void testSalienceBucketOrder() {
+        assertSameOrderAsBinaryHeap( new SalienceBucketQueue( ItemConflictResolver.INSTANCE ) );
+    }
+
+    @Test
+    public void testFifoBuckets() {
+        Queue queue = new SalienceBucketQueue( ItemConflictResolver.INSTANCE, BucketOrder.FIFO );
+        Item a = new Item( null, 1 );
+        Item b = new Item( null, 5 );
+        Item c = new Item( null, 1 );
+        Item d = new Item( null, 5 );
+        queue.enqueue( a );
+        queue.enqueue( b );
+        queue.enqueue( c );
+        queue.enqueue( d );
+
+        assertSame( b, queue.peek() );
+        assertSame( b, queue.dequeue() );
+        assertSame( d, queue.dequeue() );
+        assertSame( a, queue.dequeue() );
+        assertSame( c, queue.dequeue() );
+        assertNull( queue.dequeue() );
+        assertTrue( queue.isEmpty() );
+    }
+
+    @Test
+    public void testLifoBuckets() {
+        Queue queue = new SalienceBucketQueue( ItemConflictResolver.INSTANCE, BucketOrder.LIFO );
+        Item a = new Item( null, 1 );
+        Item b = new Item( null, 5 );
+        Item c = new Item( null, 1 );
+        Item d = new Item( null, 5 );
+        queue.enqueue( a );
+        queue.enqueue( b );
+        queue.enqueue( c );
+        queue.enqueue( d );
+
+        assertSame( d, queue.dequeue() );
+        assertSame( b, queue.dequeue() );
+        assertSame( c, queue.dequeue() );
+        assertSame( a, queue.dequeue() );
+        assertNull( queue.dequeue() );
+    }
+
+    @Test
+    public void testFifoBucketRemoveAndCompact() {
+        Queue queue = new SalienceBucketQueue( ItemConflictResolver.INSTANCE, BucketOrder.FIFO );
+        List<Item> expected = new ArrayList<Item>();
+        for ( int i = 0; i < 100; i++ ) {
+            Item item = new Item( null, 0 );
+            queue.enqueue( item );
+            if ( i % 3 == 0 ) {
+                assertSame( item, queue.dequeue( item ) );
+            } else {
+                expected.add( item );
+            }
+        }
+        assertEquals( expected.size(), queue.size() );
+        assertEquals( expected.size(), queue.toArray( new Activation[0] ).length );
+        for ( Item item : expected ) {
+            assertSame( item, queue.dequeue() );
+        }
+        assertTrue( queue.isEmpty() );
+    }
+
+    @Test
+    public void testEmptyBucketsAreDropped() {
+        for ( BucketOrder order : BucketOrder.values() ) {
+            SalienceBucketQueue queue = new SalienceBucketQueue( ItemConflictResolver.INSTANCE, order );
+            // a dynamic salience never repeating itself
+            for ( int i = 0; i < 1000; i++ ) {
+                Item item = new Item( null, i );
+                queue.enqueue( item );
+                if ( i % 2 == 0 ) {
+                    assertSame( item, queue.dequeue() );
+                } else {
+                    assertSame( item, queue.dequeue( item ) );
+                }
+                assertEquals( 0, queue.getBucketCount() );
+            }
+
+            Item a = new Item( null, 1 );
+            Item b = new Item( null, 2 );
+            Item c = new Item( null, 3 );
+            queue.enqueue( a );
+            queue.enqueue( b );
+            queue.enqueue( c );
+            assertEquals( 3, queue.getBucketCount() );
+            assertSame( b, queue.dequeue( b ) );
+            assertEquals( 2, queue.getBucketCount() );
+            assertSame( c, queue.dequeue() );
+            assertSame( a, queue.peek() );
+            queue.clear();
+            assertEquals( 0, queue.getBucketCount() );
+            assertNull( queue.peek() );
+        }
+    }
+
+    private void assertSameOrderAsBinaryHeap(Queue queue) {
+        BinaryHeapQueue reference = new BinaryHeapQueue( ItemConflictResolver.INSTANCE );
+        Random random = new Random( 0 );
+        List<Item> queued = new ArrayList<Item>();
+        List<Item> referenceQueued = new ArrayList<Item>();
+        for ( int i = 0; i < 500; i++ ) {
+            int salience = random.nextInt( 5 );
+            Item item = new Item( null, salience );
+            Item referenceItem = new Item( null, salience );
+            queue.enqueue( item );
+            reference.enqueue( referenceItem );
+            queued.add( item );
+            referenceQueued.add( referenceItem );
+
+            if ( i % 7 == 0 ) {
+                // remove a random item from the middle
+                int pos = random.nextInt( queued.size() );
+                Item removed = queued.remove( pos );
+                Item referenceRemoved = referenceQueued.remove( pos );
+                assertSame( removed, queue.dequeue( removed ) );
+                assertSame( referenceRemoved, reference.dequeue( referenceRemoved ) );
+            }
+        }
+        assertEquals( reference.size(), queue.size() );
+        while ( !reference.isEmpty() ) {
+            Activation expected = reference.dequeue();
+            Activation actual = queue.dequeue();
+            assertEquals( expected.getSalience(), actual.getSalience() );
+            assertEquals( queued.indexOf( actual ), referenceQueued.indexOf( expected ) );
+        }
+        assertTrue( queue.isEmpty() );
+    }
+}
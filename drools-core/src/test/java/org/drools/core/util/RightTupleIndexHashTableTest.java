@@ -589,6 +589,117 @@ public class RightTupleIndexHashTableTest {
         return (Entry[]) list.toArray( new Entry[list.size()] );
     }
 
+    @Test
+    public void testPrimitiveIntIndex() throws Exception {
+        final InternalReadAccessor extractor = store.getReader( Cheese.class,
+                                                                "price" );
+
+        final Pattern pattern = new Pattern( 0,
+                                             new ClassObjectType( Cheese.class ) );
+
+        final Declaration declaration = new Declaration( "priceOfCheese",
+                                                         extractor,
+                                                         pattern );
+
+        final FieldIndex fieldIndex = new FieldIndex( extractor,
+                                                      declaration,
+                                                      MvelConstraint.INDEX_EVALUATOR );
+
+        final TupleIndexHashTable map = new TupleIndexHashTable( new FieldIndex[]{fieldIndex}, false );
+        assertTrue( map.getIndex() instanceof AbstractHashTable.SingleLongIndex );
+
+        final RightTuple stilton = new RightTupleImpl( new DefaultFactHandle( 1,
+                                                                          new Cheese( "stilton", 35 ) ),
+                                                   null );
+        final RightTuple cheddar = new RightTupleImpl( new DefaultFactHandle( 2,
+                                                                          new Cheese( "cheddar", 35 ) ),
+                                                   null );
+        final RightTuple brie = new RightTupleImpl( new DefaultFactHandle( 3,
+                                                                       new Cheese( "brie", 10 ) ),
+                                                null );
+        map.add( stilton );
+        map.add( cheddar );
+        map.add( brie );
+
+        assertEquals( 3,
+                      map.size() );
+        assertEquals( 2,
+                      tablePopulationSize( map ) );
+
+        final Tuple tuple = map.getFirst( new LeftTupleImpl( new DefaultFactHandle( 4,
+                                                                                    new Cheese( "gouda", 35 ) ),
+                                                             null,
+                                                             true ) );
+        assertSame( stilton.getFactHandle(),
+                    tuple.getFactHandle() );
+        assertSame( cheddar.getFactHandle(),
+                    tuple.getNext().getFactHandle() );
+        assertNull( tuple.getNext().getNext() );
+
+        assertNull( map.getFirst( new LeftTupleImpl( new DefaultFactHandle( 5,
+                                                                            new Cheese( "gouda", 20 ) ),
+                                                     null,
+                                                     true ) ) );
+
+        map.remove( brie );
+        assertEquals( 1,
+                      tablePopulationSize( map ) );
+    }
+
+    @Test
+    public void testMultiCompositeIndex() throws Exception {
+        final String[] fields = new String[]{ "type", "price", "charType", "charObjectType" };
+        final FieldIndex[] fieldIndexes = new FieldIndex[fields.length];
+        for ( int i = 0; i < fields.length; i++ ) {
+            final InternalReadAccessor extractor = store.getReader( Cheese.class,
+                                                                    fields[i] );
+            final Declaration declaration = new Declaration( fields[i] + "OfCheese",
+                                                             extractor,
+                                                             new Pattern( 0,
+                                                                          new ClassObjectType( Cheese.class ) ) );
+            fieldIndexes[i] = new FieldIndex( extractor,
+                                              declaration,
+                                              MvelConstraint.INDEX_EVALUATOR );
+        }
+
+        final TupleIndexHashTable map = new TupleIndexHashTable( fieldIndexes, false );
+        assertTrue( map.getIndex() instanceof AbstractHashTable.MultiCompositeIndex );
+
+        final RightTuple stilton = new RightTupleImpl( new DefaultFactHandle( 1,
+                                                                          newCheese( "stilton", 35, 'a' ) ),
+                                                   null );
+        final RightTuple otherStilton = new RightTupleImpl( new DefaultFactHandle( 2,
+                                                                               newCheese( "stilton", 35, 'b' ) ),
+                                                        null );
+        map.add( stilton );
+        map.add( otherStilton );
+
+        assertEquals( 2,
+                      map.size() );
+        assertEquals( 2,
+                      tablePopulationSize( map ) );
+
+        final Tuple tuple = map.getFirst( new LeftTupleImpl( new DefaultFactHandle( 3,
+                                                                                    newCheese( "stilton", 35, 'b' ) ),
+                                                             null,
+                                                             true ) );
+        assertSame( otherStilton.getFactHandle(),
+                    tuple.getFactHandle() );
+        assertNull( tuple.getNext() );
+
+        assertNull( map.getFirst( new LeftTupleImpl( new DefaultFactHandle( 4,
+                                                                            newCheese( "stilton", 36, 'b' ) ),
+                                                     null,
+                                                     true ) ) );
+    }
+
+    private Cheese newCheese( String type, int price, char charType ) {
+        Cheese cheese = new Cheese( type, price );
+        cheese.setCharType( charType );
+        cheese.setCharObjectType( charType );
+        return cheese;
+    }
+
     @Test
     public void testEmptyIterator() {
         final InternalReadAccessor extractor = store.getReader( Cheese.class,
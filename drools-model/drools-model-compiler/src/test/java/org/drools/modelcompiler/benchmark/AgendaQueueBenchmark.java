@@ -0,0 +1,108 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.modelcompiler.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.core.common.AgendaItemImpl;
+import org.drools.core.conflict.DepthConflictResolver;
+import org.drools.core.spi.Activation;
+import org.drools.core.util.BinaryHeapQueue;
+import org.drools.core.util.DAryHeapQueue;
+import org.drools.core.util.Queue;
+import org.drools.core.util.SalienceBucketQueue;
+import org.drools.core.util.SalienceBucketQueue.BucketOrder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the agenda queue structures when many activations share a few salience
+ * values: all the activations are queued and then fired one by one, as the agenda does.
+ * The reported time is per activation.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AgendaQueueBenchmark {
+
+    private static final int ACTIVATIONS = 100000;
+
+    public enum QueueType {
+
+        BINARY_HEAP, DARY_HEAP, SALIENCE_BUCKETS, SALIENCE_BUCKETS_FIFO, SALIENCE_BUCKETS_LIFO;
+
+        Queue create() {
+            switch (this) {
+                case BINARY_HEAP:
+                    return new BinaryHeapQueue( DepthConflictResolver.INSTANCE );
+                case DARY_HEAP:
+                    return new DAryHeapQueue( DepthConflictResolver.INSTANCE );
+                case SALIENCE_BUCKETS:
+                    return new SalienceBucketQueue( DepthConflictResolver.INSTANCE );
+                case SALIENCE_BUCKETS_FIFO:
+                    return new SalienceBucketQueue( DepthConflictResolver.INSTANCE, BucketOrder.FIFO );
+                default:
+                    return new SalienceBucketQueue( DepthConflictResolver.INSTANCE, BucketOrder.LIFO );
+            }
+        }
+    }
+
+    @Param({"BINARY_HEAP", "DARY_HEAP", "SALIENCE_BUCKETS", "SALIENCE_BUCKETS_FIFO", "SALIENCE_BUCKETS_LIFO"})
+    private QueueType type;
+
+    @Param({"1", "4", "16"})
+    private int distinctSaliences;
+
+    private Activation[] activations;
+
+    @Setup
+    public void setUpActivations() {
+        Random random = new Random( 0 );
+        activations = new Activation[ACTIVATIONS];
+        for ( int i = 0; i < ACTIVATIONS; i++ ) {
+            activations[i] = new AgendaItemImpl( i, null, random.nextInt( distinctSaliences ), null, null, null );
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ACTIVATIONS)
+    public int fill() {
+        Queue queue = type.create();
+        for ( Activation activation : activations ) {
+            queue.enqueue( activation );
+        }
+        int fired = 0;
+        while ( queue.dequeue() != null ) {
+            fired++;
+        }
+        return fired;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.modelcompiler.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.drools.core.WorkingMemoryEntryPoint;
+import org.drools.core.common.DefaultFactHandle;
+import org.drools.core.common.DisconnectedWorkingMemoryEntryPoint;
+import org.drools.core.common.EventFactHandle;
+import org.drools.core.impl.KnowledgeBaseFactory;
+import org.kie.api.KieBase;
+import org.kie.api.runtime.KieSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost per fact of the fact and event handles, and of a session without rules,
+ * which adds the object store on top of the handles.
+ * Run it with the gc profiler (-prof gc): the gc.alloc.rate.norm metric is the number of bytes
+ * allocated per fact, the facts themselves being allocated once in the setup and not counted.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FactHandleMemoryBenchmark {
+
+    private static final int FACTS = 10000;
+
+    private final Object fact = new Object();
+    private final WorkingMemoryEntryPoint entryPoint = new DisconnectedWorkingMemoryEntryPoint( "DEFAULT" );
+
+    @Benchmark
+    public Object factHandle() {
+        return new DefaultFactHandle( 1, fact, 1, entryPoint );
+    }
+
+    @Benchmark
+    public Object eventFactHandle() {
+        return new EventFactHandle( 1, fact, 1, 1, 0, entryPoint );
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FACTS)
+    public long insertIntoSession( SessionState state ) {
+        KieSession ksession = state.ksession;
+        for ( Object f : state.facts ) {
+            ksession.insert( f );
+        }
+        return ksession.getFactCount();
+    }
+
+    /**
+     * A new session for each invocation, so the object store grows from empty to FACTS facts.
+     * The allocations of the empty session are spread over the facts inserted into it.
+     */
+    @State(Scope.Thread)
+    public static class SessionState {
+
+        private Object[] facts;
+        private KieBase kieBase;
+        private KieSession ksession;
+
+        @Setup(Level.Trial)
+        public void setUpFacts() {
+            facts = new Object[FACTS];
+            for ( int i = 0; i < FACTS; i++ ) {
+                facts[i] = new Object();
+            }
+            kieBase = KnowledgeBaseFactory.newKnowledgeBase();
+        }
+
+        @Setup(Level.Invocation)
+        public void setUpSession() {
+            ksession = kieBase.newKieSession();
+        }
+
+        @TearDown(Level.Invocation)
+        public void tearDownSession() {
+            ksession.dispose();
+        }
+    }
+}
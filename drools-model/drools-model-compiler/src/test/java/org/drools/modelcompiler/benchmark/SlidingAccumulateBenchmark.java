@@ -0,0 +1,115 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.modelcompiler.benchmark;
+
+import java.io.Serializable;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.core.base.accumulators.AverageAccumulateFunction;
+import org.drools.core.base.accumulators.NumericMaxAccumulateFunction;
+import org.drools.core.base.accumulators.NumericMinAccumulateFunction;
+import org.drools.core.base.accumulators.StandardDeviationAccumulateFunction;
+import org.drools.core.base.accumulators.SumAccumulateFunction;
+import org.drools.core.base.accumulators.VarianceAccumulateFunction;
+import org.kie.api.runtime.rule.AccumulateFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the per event cost of the reversible accumulate functions when used over a
+ * sliding window: every event is accumulated and the one falling out of the window is
+ * reversed, as the accumulate node does when the window expires it.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SlidingAccumulateBenchmark {
+
+    public enum FunctionType {
+
+        AVERAGE, SUM, VARIANCE, STANDARD_DEVIATION, MIN, MAX;
+
+        AccumulateFunction<?> create() {
+            switch (this) {
+                case AVERAGE:
+                    return new AverageAccumulateFunction();
+                case SUM:
+                    return new SumAccumulateFunction();
+                case VARIANCE:
+                    return new VarianceAccumulateFunction();
+                case STANDARD_DEVIATION:
+                    return new StandardDeviationAccumulateFunction();
+                case MIN:
+                    return new NumericMinAccumulateFunction();
+                default:
+                    return new NumericMaxAccumulateFunction();
+            }
+        }
+    }
+
+    @Param({"AVERAGE", "SUM", "VARIANCE", "STANDARD_DEVIATION", "MIN", "MAX"})
+    private FunctionType function;
+
+    @Param({"100", "10000", "1000000"})
+    private int windowSize;
+
+    private AccumulateFunction<Serializable> accumulateFunction;
+    private Serializable context;
+    private Double[] values;
+    private int next;
+
+    @Setup(Level.Iteration)
+    public void setUpWindow() throws Exception {
+        accumulateFunction = (AccumulateFunction<Serializable>) function.create();
+        context = accumulateFunction.createContext();
+        accumulateFunction.init( context );
+
+        Random random = new Random( 0 );
+        // more values than the window, so the window content changes while sliding
+        values = new Double[windowSize * 2 + 1];
+        for ( int i = 0; i < values.length; i++ ) {
+            values[i] = random.nextDouble() * 1000;
+        }
+
+        // fill the window, so every measured event also expires the oldest one
+        for ( next = 0; next < windowSize; next++ ) {
+            accumulateFunction.accumulate( context, values[next] );
+        }
+    }
+
+    @Benchmark
+    public Object slide() throws Exception {
+        accumulateFunction.accumulate( context, values[next % values.length] );
+        accumulateFunction.reverse( context, values[(next - windowSize) % values.length] );
+        next++;
+        return accumulateFunction.getResult( context );
+    }
+}
@@ -72,6 +72,10 @@ public class SessionMarshallingHelper {
                           (InternalMarshaller) MarshallerFactory.newMarshaller( kbase ) ;
     }
 
+    /**
+     * Marshals the whole session. A snapshot is always complete: the unmarshaller rebuilds tuples,
+     * activations and timers by resolving ids across the entire session, so it can't apply a partial one.
+     */
     public byte[] getSnapshot() {
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
         try {
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.persistence;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.drools.core.command.impl.NotTransactionalCommand;
+import org.kie.api.command.BatchExecutionCommand;
+import org.kie.api.command.Command;
+import org.kie.api.command.ExecutableCommand;
+import org.kie.api.runtime.Context;
+import org.kie.api.runtime.KieSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes the commands submitted concurrently for a persistent session in batches, so that the
+ * commands queued while a transaction is running are all executed by the next one, paying a single
+ * transaction and a single snapshot of the session for the whole batch.
+ * <p>
+ * The future returned for each command is completed only once the transaction executing it has
+ * been committed. When a batch fails, its transaction has been rolled back and none of its commands
+ * took effect, so they are executed again one by one and only the failing ones complete exceptionally.
+ * Commands which can't be run in a transaction with others, like the dispose or the batch execution
+ * commands, are always executed alone, in the order they have been submitted.
+ * <p>
+ * Since this executor is the only one executing commands on the session, it should be the only user
+ * of the session: a command executed directly on it would still be serialized by the
+ * {@link PersistableRunner}, but wouldn't be coalesced.
+ */
+public class CommandCoalescingExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger( CommandCoalescingExecutor.class );
+
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+
+    private final KieSession ksession;
+    private final Executor executor;
+    private final int maxBatchSize;
+
+    private final Queue<PendingCommand<?>> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong commands = new AtomicLong();
+
+    /**
+     * Creates an executor draining the queued commands in the thread submitting them, when no other
+     * thread is already doing it, so that {@link #submit(Command)} may block while executing the commands
+     * of other callers.
+     */
+    public CommandCoalescingExecutor( KieSession ksession ) {
+        this( ksession, Runnable::run, DEFAULT_MAX_BATCH_SIZE );
+    }
+
+    /**
+     * @param executor     the executor draining the queued commands, it is never asked to run more than
+     *                     one drain at a time
+     * @param maxBatchSize the maximum number of commands executed in the same transaction
+     */
+    public CommandCoalescingExecutor( KieSession ksession, Executor executor, int maxBatchSize ) {
+        if ( maxBatchSize < 1 ) {
+            throw new IllegalArgumentException( "The max batch size must be positive: " + maxBatchSize );
+        }
+        this.ksession = ksession;
+        this.executor = executor;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public <T> CompletableFuture<T> submit( Command<T> command ) {
+        PendingCommand<T> pending = new PendingCommand<>( command );
+        queue.add( pending );
+        if ( draining.compareAndSet( false, true ) ) {
+            executor.execute( this::drain );
+        }
+        return pending.future;
+    }
+
+    /**
+     * @return the number of transactions executed so far
+     */
+    public long getBatches() {
+        return batches.get();
+    }
+
+    /**
+     * @return the number of commands executed so far, including the ones executed again after a failed batch
+     */
+    public long getCommands() {
+        return commands.get();
+    }
+
+    private void drain() {
+        do {
+            try {
+                for ( List<PendingCommand<?>> batch = nextBatch(); !batch.isEmpty(); batch = nextBatch() ) {
+                    execute( batch );
+                }
+            } finally {
+                draining.set( false );
+            }
+            // a command queued after the last poll, but before the flag was cleared, would be left behind
+        } while ( !queue.isEmpty() && draining.compareAndSet( false, true ) );
+    }
+
+    private List<PendingCommand<?>> nextBatch() {
+        List<PendingCommand<?>> batch = new ArrayList<>();
+        // only the draining thread removes from the queue, so the peeked command is the polled one
+        for ( PendingCommand<?> next = queue.peek(); next != null && batch.size() < maxBatchSize; next = queue.peek() ) {
+            if ( !next.canBeCoalesced() ) {
+                if ( batch.isEmpty() ) {
+                    batch.add( queue.poll() );
+                }
+                break;
+            }
+            batch.add( queue.poll() );
+        }
+        return batch;
+    }
+
+    private void execute( List<PendingCommand<?>> batch ) {
+        if ( batch.size() == 1 ) {
+            batch.get( 0 ).executeAlone();
+            return;
+        }
+
+        List<Object> results;
+        try {
+            batches.incrementAndGet();
+            commands.addAndGet( batch.size() );
+            results = ksession.execute( new CoalescedCommand( batch ) );
+        } catch ( RuntimeException e ) {
+            logger.debug( "Batch of {} commands failed, executing them one by one", batch.size(), e );
+            for ( PendingCommand<?> pending : batch ) {
+                pending.executeAlone();
+            }
+            return;
+        }
+
+        for ( int i = 0; i < batch.size(); i++ ) {
+            batch.get( i ).complete( results.get( i ) );
+        }
+    }
+
+    private class PendingCommand<T> {
+        private final Command<T> command;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        private PendingCommand( Command<T> command ) {
+            this.command = command;
+        }
+
+        private boolean canBeCoalesced() {
+            return command instanceof ExecutableCommand &&
+                   !( command instanceof NotTransactionalCommand ) &&
+                   !( command instanceof BatchExecutionCommand );
+        }
+
+        private void executeAlone() {
+            T result;
+            try {
+                batches.incrementAndGet();
+                commands.incrementAndGet();
+                result = ksession.execute( command );
+            } catch ( RuntimeException e ) {
+                future.completeExceptionally( e );
+                return;
+            }
+            future.complete( result );
+        }
+
+        private void complete( Object result ) {
+            future.complete( (T) result );
+        }
+    }
+
+    private static class CoalescedCommand implements ExecutableCommand<List<Object>> {
+        private final List<PendingCommand<?>> batch;
+
+        private CoalescedCommand( List<PendingCommand<?>> batch ) {
+            this.batch = batch;
+        }
+
+        @Override
+        public List<Object> execute( Context context ) {
+            List<Object> results = new ArrayList<>( batch.size() );
+            for ( PendingCommand<?> pending : batch ) {
+                results.add( ( (ExecutableCommand<?>) pending.command ).execute( context ) );
+            }
+            return results;
+        }
+
+        @Override
+        public String toString() {
+            return "CoalescedCommand{" + batch.size() + " commands}";
+        }
+    }
+}
@@ -75,6 +75,19 @@ public class WorkItemInfo implements PersistentWorkItem {
     protected WorkItemInfo() {
     }
 
+    /**
+     * Restores a work item stored outside of JPA, the work item itself is
+     * unmarshalled lazily from the given data.
+     */
+    public WorkItemInfo(Long workItemId, String name, Date creationDate, long processInstanceId, long state, byte[] workItemByteArray) {
+        this.workItemId = workItemId;
+        this.name = name;
+        this.creationDate = creationDate;
+        this.processInstanceId = processInstanceId;
+        this.state = state;
+        this.workItemByteArray = workItemByteArray;
+    }
+
     public WorkItemInfo(WorkItem workItem, Environment env) {
         this.workItem = workItem;
         this.name = workItem.getName();
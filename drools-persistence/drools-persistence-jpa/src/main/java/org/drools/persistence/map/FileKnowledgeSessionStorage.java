@@ -0,0 +1,235 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.persistence.map;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.drools.persistence.api.PersistentSession;
+import org.drools.persistence.api.PersistentWorkItem;
+import org.drools.persistence.info.SessionInfo;
+import org.drools.persistence.info.WorkItemInfo;
+
+/**
+ * A storage keeping the sessions and the work items in a local directory, one file each, so that they
+ * survive a restart without requiring a database. Use it through a {@link KnowledgeSessionStorageEnvironmentBuilder}.
+ * <p>
+ * Every save writes the whole content to a temporary file, forces it to the disk, atomically replaces the
+ * previous file and then forces the directory, so a crash leaves either the former or the new checkpoint,
+ * never a partial one.
+ * The ids are generated from the highest id found in the directory when the storage is created, so a
+ * directory must not be shared by storages used at the same time.
+ */
+public class FileKnowledgeSessionStorage
+    implements
+    KnowledgeSessionStorage {
+
+    private static final String SESSION_PREFIX   = "session-";
+    private static final String WORK_ITEM_PREFIX = "workitem-";
+    private static final String SUFFIX           = ".bin";
+    private static final String TMP_SUFFIX       = ".tmp";
+
+    private final Path       directory;
+    private final boolean    sync;
+
+    private final AtomicLong sessionIds;
+    private final AtomicLong workItemIds;
+
+    public FileKnowledgeSessionStorage(File directory) {
+        this( directory, true );
+    }
+
+    /**
+     * @param sync when false the files are not forced to the disk on every save, trading the durability
+     *             of the last checkpoints in case of a system crash for a faster commit
+     */
+    public FileKnowledgeSessionStorage(File directory, boolean sync) {
+        this.directory = directory.toPath();
+        this.sync = sync;
+        try {
+            Files.createDirectories( this.directory );
+        } catch ( IOException e ) {
+            throw new RuntimeException( "Unable to create the storage directory " + directory, e );
+        }
+        this.sessionIds = new AtomicLong( findMaxId( SESSION_PREFIX ) );
+        this.workItemIds = new AtomicLong( findMaxId( WORK_ITEM_PREFIX ) );
+    }
+
+    public PersistentSession findSessionInfo(Long sessionId) {
+        byte[] data = read( getPath( SESSION_PREFIX, sessionId ) );
+        if ( data == null ) {
+            return null;
+        }
+        SessionInfo sessionInfo = new SessionInfo();
+        sessionInfo.setId( sessionId );
+        sessionInfo.setData( data );
+        return sessionInfo;
+    }
+
+    public void saveOrUpdate(PersistentSession storedObject) {
+        write( getPath( SESSION_PREFIX, storedObject.getId() ), storedObject.getData() );
+    }
+
+    public void lock(PersistentSession session) {
+        throw new UnsupportedOperationException("File based persistence does not support locking.");
+    }
+
+    public void saveOrUpdate(PersistentWorkItem workItem) {
+        if ( !(workItem instanceof WorkItemInfo) ) {
+            throw new IllegalArgumentException( "Unable to store work item of type " + workItem.getClass().getName() );
+        }
+        WorkItemInfo workItemInfo = (WorkItemInfo) workItem;
+        if ( workItemInfo.getWorkItemByteArray() == null ) {
+            // merged before the commit of the transaction creating it, so it has never been transformed
+            workItemInfo.transform();
+        }
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try ( DataOutputStream out = new DataOutputStream( baos ) ) {
+            out.writeUTF( workItemInfo.getName() );
+            out.writeLong( workItemInfo.getCreationDate().getTime() );
+            out.writeLong( workItemInfo.getProcessInstanceId() );
+            out.writeLong( workItemInfo.getState() );
+            byte[] data = workItemInfo.getWorkItemByteArray();
+            out.writeInt( data.length );
+            out.write( data );
+        } catch ( IOException e ) {
+            throw new RuntimeException( "Unable to store work item " + workItem.getId(), e );
+        }
+        write( getPath( WORK_ITEM_PREFIX, workItem.getId() ), baos.toByteArray() );
+    }
+
+    public Long getNextWorkItemId() {
+        return workItemIds.incrementAndGet();
+    }
+
+    public PersistentWorkItem findWorkItemInfo(Long id) {
+        byte[] stored = read( getPath( WORK_ITEM_PREFIX, id ) );
+        if ( stored == null ) {
+            return null;
+        }
+        try ( DataInputStream in = new DataInputStream( new ByteArrayInputStream( stored ) ) ) {
+            String name = in.readUTF();
+            Date creationDate = new Date( in.readLong() );
+            long processInstanceId = in.readLong();
+            long state = in.readLong();
+            byte[] data = new byte[in.readInt()];
+            in.readFully( data );
+            return new WorkItemInfo( id, name, creationDate, processInstanceId, state, data );
+        } catch ( IOException e ) {
+            throw new RuntimeException( "Unable to read work item " + id, e );
+        }
+    }
+
+    public void remove(PersistentWorkItem workItem) {
+        try {
+            Files.deleteIfExists( getPath( WORK_ITEM_PREFIX, workItem.getId() ) );
+        } catch ( IOException e ) {
+            throw new RuntimeException( "Unable to remove work item " + workItem.getId(), e );
+        }
+    }
+
+    public void lock(PersistentWorkItem workItem) {
+        throw new UnsupportedOperationException("File based persistence does not support locking.");
+    }
+
+    public Long getNextStatefulKnowledgeSessionId() {
+        return sessionIds.incrementAndGet();
+    }
+
+    private Path getPath(String prefix, Long id) {
+        return directory.resolve( prefix + id + SUFFIX );
+    }
+
+    private long findMaxId(String prefix) {
+        long max = 0;
+        File[] files = directory.toFile().listFiles();
+        if ( files != null ) {
+            for ( File file : files ) {
+                String name = file.getName();
+                if ( name.startsWith( prefix ) && name.endsWith( SUFFIX ) ) {
+                    try {
+                        max = Math.max( max, Long.parseLong( name.substring( prefix.length(), name.length() - SUFFIX.length() ) ) );
+                    } catch ( NumberFormatException e ) {
+                        // not a file of this storage
+                    }
+                }
+            }
+        }
+        return max;
+    }
+
+    private byte[] read(Path path) {
+        if ( !Files.exists( path ) ) {
+            return null;
+        }
+        try {
+            return Files.readAllBytes( path );
+        } catch ( IOException e ) {
+            throw new RuntimeException( "Unable to read " + path, e );
+        }
+    }
+
+    private void write(Path path, byte[] data) {
+        Path tmp = path.resolveSibling( path.getFileName() + TMP_SUFFIX );
+        try {
+            try ( FileChannel channel = FileChannel.open( tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING ) ) {
+                ByteBuffer buffer = ByteBuffer.wrap( data );
+                while ( buffer.hasRemaining() ) {
+                    channel.write( buffer );
+                }
+                if ( sync ) {
+                    channel.force( true );
+                }
+            }
+            try {
+                Files.move( tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+            } catch ( AtomicMoveNotSupportedException e ) {
+                Files.move( tmp, path, StandardCopyOption.REPLACE_EXISTING );
+            }
+        } catch ( IOException e ) {
+            throw new RuntimeException( "Unable to write " + path, e );
+        }
+        if ( sync ) {
+            syncDirectory();
+        }
+    }
+
+    /**
+     * Forces the directory entries to the disk, otherwise the rename of the temporary file could still be
+     * lost in a system crash even if the content of the file itself has been forced.
+     */
+    private void syncDirectory() {
+        try ( FileChannel channel = FileChannel.open( directory, StandardOpenOption.READ ) ) {
+            channel.force( true );
+        } catch ( IOException e ) {
+            // some platforms, like Windows, can't open a directory as a channel, there is nothing more to force there
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.persistence;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.drools.core.impl.KnowledgeBaseFactory;
+import org.drools.persistence.util.DroolsPersistenceUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.api.KieBase;
+import org.kie.api.command.ExecutableCommand;
+import org.kie.api.runtime.Context;
+import org.kie.api.runtime.Environment;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.rule.FactHandle;
+import org.kie.internal.command.CommandFactory;
+import org.kie.internal.persistence.jpa.JPAKnowledgeService;
+
+import static org.drools.persistence.util.DroolsPersistenceUtil.DROOLS_PERSISTENCE_UNIT_NAME;
+import static org.drools.persistence.util.DroolsPersistenceUtil.createEnvironment;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CommandCoalescingExecutorTest {
+
+    private Map<String, Object> context;
+    private Environment env;
+
+    private final List<Runnable> drains = new ArrayList<>();
+
+    @Before
+    public void setUp() throws Exception {
+        context = DroolsPersistenceUtil.setupWithPoolingDataSource( DROOLS_PERSISTENCE_UNIT_NAME );
+        env = createEnvironment( context );
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        DroolsPersistenceUtil.cleanUp( context );
+    }
+
+    @Test
+    public void testQueuedCommandsAreExecutedInOneTransaction() throws Exception {
+        KieBase kbase = KnowledgeBaseFactory.newKnowledgeBase();
+        KieSession ksession = JPAKnowledgeService.newStatefulKnowledgeSession( kbase, null, env );
+        CommandCoalescingExecutor executor = new CommandCoalescingExecutor( ksession, drains::add, 100 );
+
+        List<CompletableFuture<FactHandle>> futures = new ArrayList<>();
+        for ( int i = 0; i < 10; i++ ) {
+            futures.add( executor.submit( CommandFactory.newInsert( i ) ) );
+        }
+        // a single drain is scheduled, until it runs nothing is executed
+        assertEquals( 1, drains.size() );
+        assertEquals( 0, executor.getBatches() );
+
+        runDrains();
+        for ( CompletableFuture<FactHandle> future : futures ) {
+            assertNotNull( future.get() );
+        }
+        assertEquals( 1, executor.getBatches() );
+        assertEquals( 10, executor.getCommands() );
+
+        long sessionId = ksession.getIdentifier();
+        ksession.dispose();
+        ksession = JPAKnowledgeService.loadStatefulKnowledgeSession( sessionId, kbase, null, createEnvironment( context ) );
+        assertEquals( 10, ksession.getFactCount() );
+        ksession.dispose();
+    }
+
+    @Test
+    public void testFailingCommandOnlyFailsItsOwnFuture() throws Exception {
+        KieBase kbase = KnowledgeBaseFactory.newKnowledgeBase();
+        KieSession ksession = JPAKnowledgeService.newStatefulKnowledgeSession( kbase, null, env );
+        CommandCoalescingExecutor executor = new CommandCoalescingExecutor( ksession, drains::add, 100 );
+
+        CompletableFuture<FactHandle> first = executor.submit( CommandFactory.newInsert( 1 ) );
+        CompletableFuture<Void> failing = executor.submit( new FailingCommand() );
+        CompletableFuture<FactHandle> last = executor.submit( CommandFactory.newInsert( 2 ) );
+        runDrains();
+
+        assertNotNull( first.get() );
+        assertNotNull( last.get() );
+        try {
+            failing.get();
+            fail( "The command should have failed" );
+        } catch ( ExecutionException e ) {
+            assertTrue( e.getCause() instanceof IllegalStateException );
+        }
+        // the batch, then each command again on its own
+        assertEquals( 4, executor.getBatches() );
+
+        long sessionId = ksession.getIdentifier();
+        ksession.dispose();
+        ksession = JPAKnowledgeService.loadStatefulKnowledgeSession( sessionId, kbase, null, createEnvironment( context ) );
+        assertEquals( 2, ksession.getFactCount() );
+        ksession.dispose();
+    }
+
+    @Test
+    public void testBatchesAreLimitedInSize() throws Exception {
+        KieBase kbase = KnowledgeBaseFactory.newKnowledgeBase();
+        KieSession ksession = JPAKnowledgeService.newStatefulKnowledgeSession( kbase, null, env );
+        CommandCoalescingExecutor executor = new CommandCoalescingExecutor( ksession, drains::add, 4 );
+
+        List<CompletableFuture<FactHandle>> futures = new ArrayList<>();
+        for ( int i = 0; i < 10; i++ ) {
+            futures.add( executor.submit( CommandFactory.newInsert( i ) ) );
+        }
+        runDrains();
+        for ( CompletableFuture<FactHandle> future : futures ) {
+            assertNotNull( future.get() );
+        }
+        assertEquals( 3, executor.getBatches() );
+        assertEquals( 10, ksession.getFactCount() );
+        ksession.dispose();
+    }
+
+    private void runDrains() {
+        while ( !drains.isEmpty() ) {
+            drains.remove( 0 ).run();
+        }
+    }
+
+    public static class FailingCommand implements ExecutableCommand<Void> {
+
+        @Override
+        public Void execute( Context context ) {
+            throw new IllegalStateException( "failing on purpose" );
+        }
+    }
+}
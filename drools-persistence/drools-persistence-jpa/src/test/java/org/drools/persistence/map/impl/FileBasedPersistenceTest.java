@@ -0,0 +1,151 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.persistence.map.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Date;
+
+import org.drools.core.impl.KnowledgeBaseFactory;
+import org.drools.persistence.info.SessionInfo;
+import org.drools.persistence.info.WorkItemInfo;
+import org.drools.persistence.map.EnvironmentBuilder;
+import org.drools.persistence.map.FileKnowledgeSessionStorage;
+import org.drools.persistence.map.KnowledgeSessionStorageEnvironmentBuilder;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.kie.api.KieBase;
+import org.kie.api.KieServices;
+import org.kie.api.runtime.Environment;
+import org.kie.api.runtime.EnvironmentName;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.process.WorkItem;
+import org.kie.internal.persistence.jpa.JPAKnowledgeService;
+
+public class FileBasedPersistenceTest extends MapPersistenceTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File directory;
+
+    @Before
+    public void createDirectory() throws IOException {
+        directory = folder.newFolder( "ksessions" );
+    }
+
+    @Override
+    protected KieSession createSession(KieBase kbase) {
+        return JPAKnowledgeService.newStatefulKnowledgeSession( kbase,
+                                                                null,
+                                                                createEnvironment() );
+    }
+
+    @Override
+    protected KieSession disposeAndReloadSession(KieSession ksession, KieBase kbase) {
+        long sessionId = ksession.getIdentifier();
+        ksession.dispose();
+        // a new storage on the same directory, as after a restart
+        return JPAKnowledgeService.loadStatefulKnowledgeSession( sessionId, kbase, null, createEnvironment() );
+    }
+
+    @Override
+    protected long getSavedSessionsCount() {
+        return directory.list( (dir, name) -> name.startsWith( "session-" ) && name.endsWith( ".bin" ) ).length;
+    }
+
+    @Test
+    public void testSessionIdsAreNotReusedAfterRestart() {
+        FileKnowledgeSessionStorage storage = new FileKnowledgeSessionStorage( directory );
+        Assert.assertEquals( 1L, (long) storage.getNextStatefulKnowledgeSessionId() );
+
+        KieSession ksession = createSession( KnowledgeBaseFactory.newKnowledgeBase() );
+        long sessionId = ksession.getIdentifier();
+        ksession.dispose();
+
+        storage = new FileKnowledgeSessionStorage( directory );
+        Assert.assertEquals( sessionId + 1, (long) storage.getNextStatefulKnowledgeSessionId() );
+        Assert.assertNull( storage.findSessionInfo( sessionId + 1 ) );
+        Assert.assertNotNull( storage.findSessionInfo( sessionId ) );
+    }
+
+    @Test
+    public void testSaveReplacesTheFileAtomically() {
+        FileKnowledgeSessionStorage storage = new FileKnowledgeSessionStorage( directory );
+        SessionInfo sessionInfo = new SessionInfo();
+        sessionInfo.setId( storage.getNextStatefulKnowledgeSessionId() );
+        sessionInfo.setData( new byte[]{ 1, 2, 3 } );
+        storage.saveOrUpdate( sessionInfo );
+        sessionInfo.setData( new byte[]{ 4, 5 } );
+        storage.saveOrUpdate( sessionInfo );
+
+        // the directory has been forced along with the file, and no temporary file is left behind
+        Assert.assertArrayEquals( new String[]{ "session-" + sessionInfo.getId() + ".bin" }, directory.list() );
+        Assert.assertArrayEquals( new byte[]{ 4, 5 }, storage.findSessionInfo( sessionInfo.getId() ).getData() );
+    }
+
+    @Test
+    public void testSaveWorkItemNotTransformedYet() {
+        FileKnowledgeSessionStorage storage = new FileKnowledgeSessionStorage( directory );
+        NotTransformedWorkItemInfo workItemInfo = new NotTransformedWorkItemInfo( storage.getNextWorkItemId() );
+
+        // as merged by the JPAWorkItemManager when a handler completes a work item synchronously,
+        // within the transaction creating it and then before the commit transforms it
+        storage.saveOrUpdate( workItemInfo );
+
+        Assert.assertTrue( workItemInfo.transformed );
+        Assert.assertArrayEquals( new byte[]{ 1, 2, 3 }, ( (WorkItemInfo) storage.findWorkItemInfo( workItemInfo.getId() ) ).getWorkItemByteArray() );
+    }
+
+    private Environment createEnvironment() {
+        EnvironmentBuilder envBuilder = new KnowledgeSessionStorageEnvironmentBuilder( new FileKnowledgeSessionStorage( directory ) );
+        Environment env = KieServices.Factory.get().newEnvironment();
+        env.set( EnvironmentName.TRANSACTION_MANAGER,
+                 envBuilder.getTransactionManager() );
+        env.set( EnvironmentName.PERSISTENCE_CONTEXT_MANAGER,
+                 envBuilder.getPersistenceContextManager() );
+        return env;
+    }
+
+    /**
+     * Serializing a real work item requires the ProcessMarshaller of jBPM,
+     * so the transformation only produces some fixed bytes.
+     */
+    private static class NotTransformedWorkItemInfo extends WorkItemInfo {
+
+        private byte[] data;
+        private boolean transformed;
+
+        private NotTransformedWorkItemInfo( Long id ) {
+            super( id, "Sync", new Date(), 1, WorkItem.ACTIVE, null );
+        }
+
+        @Override
+        public void transform() {
+            data = new byte[]{ 1, 2, 3 };
+            transformed = true;
+        }
+
+        @Override
+        public byte[] getWorkItemByteArray() {
+            return data;
+        }
+    }
+}